@@ -0,0 +1,72 @@
+package org.fortishop.notificationservice.global;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.fortishop.notificationservice.global.config.SequenceProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+/**
+ * 알림 ID 발급 비용 비교: Mongo 시퀀스 (블록 크기 1 = 기존 방식, 200 = hi/lo) vs Snowflake.
+ * 시퀀스 벤치마크는 Mongo 가 필요하다. (-Djmh.mongo.uri=mongodb://localhost:27017)
+ * <pre>./gradlew jmh -Pjmh.includes=IdGeneratorBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+@Threads(8)
+public class IdGeneratorBenchmark {
+
+    @Param({"1", "200"})
+    public int blockSize;
+
+    private MongoClient mongoClient;
+    private SequenceGenerator sequenceGenerator;
+    private SnowflakeIdGenerator snowflakeIdGenerator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mongoClient = MongoClients.create(System.getProperty("jmh.mongo.uri", "mongodb://localhost:27017"));
+        MongoTemplate mongoTemplate = new MongoTemplate(mongoClient, "fortishop_bench");
+
+        SequenceProperties sequenceProperties = new SequenceProperties();
+        sequenceProperties.setBlockSizes(Map.of("bench_sequence", blockSize));
+        sequenceGenerator = new SequenceGenerator(mongoTemplate, sequenceProperties);
+
+        snowflakeIdGenerator = new SnowflakeIdGenerator(1, 1704067200000L, 10, System::currentTimeMillis);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sequenceGenerator.shutdown();
+        mongoClient.close();
+    }
+
+    @Benchmark
+    public long sequence() {
+        return sequenceGenerator.generateSequence("bench_sequence");
+    }
+
+    @Benchmark
+    public long snowflake() {
+        return snowflakeIdGenerator.nextId();
+    }
+}
@@ -0,0 +1,151 @@
+package org.fortishop.notificationservice.sse;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringSerializer;
+import reactor.core.Disposable;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * SSE 부하 측정 (서블릿 SseEmitter vs reactive-sse WebFlux). JMH 벤치마크가 아니라 실행 중인 서버에 붙는 드라이버다.
+ * <ol>
+ *     <li>서버 힙 사용량(actuator jvm.memory.used, area=heap)을 읽고 connections 개의 스트림을 연다.</li>
+ *     <li>다시 힙 사용량을 읽어 연결당 힙 사용량과 1GB 당 연결 수를 계산한다. (서버는 -Xms=-Xmx 로 띄우고, 측정 전후 jcmd GC.run 권장)</li>
+ *     <li>point.changed 이벤트를 pushes 개 발행하고, 금액을 일련번호로 써서 수신까지의 지연 p50/p95/p99 를 출력한다.</li>
+ * </ol>
+ * <pre>
+ * java -cp build/libs/notification-service-jmh.jar org.fortishop.notificationservice.sse.SseLoadHarness \
+ *   -Dsse.url=http://localhost:8089/api/notifications/stream -Dsse.connections=20000 -Dsse.pushes=2000
+ * </pre>
+ */
+public class SseLoadHarness {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        String streamUrl = System.getProperty("sse.url", "http://localhost:8080/api/notifications/stream");
+        String metricsUrl = System.getProperty("sse.metrics-url", "http://localhost:8080/actuator/metrics/jvm.memory.used?tag=area:heap");
+        int connections = Integer.getInteger("sse.connections", 10_000);
+        int members = Integer.getInteger("sse.members", connections);
+        int pushes = Integer.getInteger("sse.pushes", 1_000);
+        String bootstrapServers = System.getProperty("kafka.bootstrap", "localhost:9092");
+
+        Map<Long, Long> sentAt = new ConcurrentHashMap<>();
+        ConcurrentLinkedQueue<Long> latenciesMicros = new ConcurrentLinkedQueue<>();
+        AtomicInteger connected = new AtomicInteger();
+        CountDownLatch received = new CountDownLatch(pushes);
+
+        double heapBefore = heapUsed(metricsUrl);
+
+        ConnectionProvider provider = ConnectionProvider.builder("sse-load").maxConnections(connections).build();
+        reactor.netty.http.client.HttpClient client = reactor.netty.http.client.HttpClient.create(provider)
+                .responseTimeout(Duration.ofHours(1));
+        Disposable[] streams = new Disposable[connections];
+        for (int i = 0; i < connections; i++) {
+            long memberId = 1_000_000L + (i % members);
+            streams[i] = client.headers(headers -> headers.add("x-member-id", memberId))
+                    .get()
+                    .uri(streamUrl)
+                    .response((response, body) -> {
+                        connected.incrementAndGet();
+                        return body.asString();
+                    })
+                    .subscribe(chunk -> recordLatency(chunk, sentAt, latenciesMicros, received));
+        }
+        waitUntil(() -> connected.get() >= connections, Duration.ofMinutes(5));
+        Thread.sleep(2_000);
+
+        double heapAfter = heapUsed(metricsUrl);
+        double bytesPerConnection = (heapAfter - heapBefore) / connected.get();
+        System.out.printf("connections=%d heapDelta=%.1fMB bytes/connection=%.0f connections/GB=%.0f%n",
+                connected.get(), (heapAfter - heapBefore) / (1 << 20), bytesPerConnection, (1L << 30) / bytesPerConnection);
+
+        Properties producerProperties = new Properties();
+        producerProperties.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        producerProperties.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        producerProperties.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        try (KafkaProducer<String, String> producer = new KafkaProducer<>(producerProperties)) {
+            for (long sequence = 1; sequence <= pushes; sequence++) {
+                long memberId = 1_000_000L + ThreadLocalRandom.current().nextInt(Math.min(members, connections));
+                // 금액을 일련번호로 써서 수신한 메시지와 짝을 맞춘다 ("포인트가 {amount}원 적립되었습니다.")
+                String event = OBJECT_MAPPER.writeValueAsString(Map.of(
+                        "memberId", memberId,
+                        "changeType", "SAVE",
+                        "amount", sequence,
+                        "timestamp", LocalDateTime.now().toString(),
+                        "traceId", "sse-load-" + sequence));
+                sentAt.put(sequence, System.nanoTime());
+                producer.send(new ProducerRecord<>("point.changed", String.valueOf(memberId), event));
+                Thread.sleep(1);
+            }
+        }
+
+        received.await(60, TimeUnit.SECONDS);
+        long[] sorted = latenciesMicros.stream().mapToLong(Long::longValue).sorted().toArray();
+        System.out.printf("delivered=%d/%d p50=%.1fms p95=%.1fms p99=%.1fms%n", sorted.length, pushes,
+                percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99));
+
+        Arrays.stream(streams).forEach(Disposable::dispose);
+        provider.disposeLater().block();
+    }
+
+    private static void recordLatency(String chunk, Map<Long, Long> sentAt, ConcurrentLinkedQueue<Long> latenciesMicros,
+                                      CountDownLatch received) {
+        long now = System.nanoTime();
+        for (String line : chunk.split("\n")) {
+            if (!line.startsWith("data:")) {
+                continue;
+            }
+            String digits = line.replaceAll("[^0-9]", "");
+            if (digits.isEmpty()) {
+                continue;
+            }
+            Long sent = sentAt.remove(Long.parseLong(digits));
+            if (sent != null) {
+                latenciesMicros.add(TimeUnit.NANOSECONDS.toMicros(now - sent));
+                received.countDown();
+            }
+        }
+    }
+
+    private static double heapUsed(String metricsUrl) throws Exception {
+        HttpResponse<String> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create(metricsUrl)).GET().build(), HttpResponse.BodyHandlers.ofString());
+        JsonNode measurements = OBJECT_MAPPER.readTree(response.body()).path("measurements");
+        return measurements.path(0).path("value").asDouble();
+    }
+
+    private static double percentile(long[] sortedMicros, double percentile) {
+        if (sortedMicros.length == 0) {
+            return Double.NaN;
+        }
+        int index = (int) Math.min(sortedMicros.length - 1, Math.ceil(percentile * sortedMicros.length) - 1);
+        return sortedMicros[Math.max(0, index)] / 1000.0;
+    }
+
+    private static void waitUntil(BooleanSupplier condition, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+    }
+}
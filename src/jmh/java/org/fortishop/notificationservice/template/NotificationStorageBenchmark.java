@@ -0,0 +1,97 @@
+package org.fortishop.notificationservice.template;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.bson.Document;
+import org.fortishop.notificationservice.domain.Notification;
+import org.fortishop.notificationservice.domain.NotificationType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+/**
+ * 알림 저장 방식 비교: 렌더링된 메시지 저장 vs 템플릿 ID/버전 + 변수 맵 저장 (render-on-read).
+ * 합성 결제 완료 알림을 batchSize 개씩 insertMany 하고, 끝나면 collStats (문서 평균 크기, 저장 크기)를 출력한다.
+ * Mongo 가 필요하다. (-Djmh.mongo.uri=mongodb://localhost:27017)
+ * <pre>./gradlew jmh -Pjmh.includes=NotificationStorageBenchmark</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class NotificationStorageBenchmark {
+
+    private static final int BATCH_SIZE = 500;
+    private static final String TEMPLATE = "{orderId}번 주문이 결제되었습니다. 결제 금액: {amount}원입니다. 빠르게 준비해 보내드릴게요.";
+
+    @Param({"rendered", "templated"})
+    public String storage;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private MongoClient mongoClient;
+    private MongoTemplate mongoTemplate;
+    private CompiledTemplate template;
+    private String collection;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mongoClient = MongoClients.create(System.getProperty("jmh.mongo.uri", "mongodb://localhost:27017"));
+        mongoTemplate = new MongoTemplate(mongoClient, "fortishop_bench");
+        template = CompiledTemplate.compile(1L, 1, TEMPLATE);
+        collection = "notifications_" + storage;
+        mongoTemplate.dropCollection(collection);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Document stats = mongoTemplate.executeCommand(new Document("collStats", collection));
+        System.out.printf("%n[%s] count=%s avgObjSize=%s size=%s storageSize=%s%n", storage,
+                stats.get("count"), stats.get("avgObjSize"), stats.get("size"), stats.get("storageSize"));
+        mongoClient.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void insertBatch() {
+        List<Notification> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(next());
+        }
+        mongoTemplate.insert(batch, collection);
+    }
+
+    private Notification next() {
+        long id = sequence.incrementAndGet();
+        TemplateValues values = TemplateValues.create()
+                .with(TemplateVariable.ORDER_ID, 100_000 + id)
+                .with(TemplateVariable.AMOUNT, 10_000 + id % 90_000);
+        long memberId = id % 10_000;
+        String traceId = Long.toHexString(id * 0x9E3779B97F4A7C15L);
+
+        if ("templated".equals(storage)) {
+            Map<String, String> variables = template.variablesOf(values);
+            return new Notification(id, memberId, NotificationType.ORDER, template.getTemplateId(),
+                    template.getVersion(), variables, traceId);
+        }
+        return new Notification(id, memberId, NotificationType.ORDER, template.render(values), traceId);
+    }
+}
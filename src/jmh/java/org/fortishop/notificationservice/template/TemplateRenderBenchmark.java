@@ -0,0 +1,65 @@
+package org.fortishop.notificationservice.template;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 템플릿 렌더링 비용 비교: 기존 String.replace 체인 vs 컴파일된 템플릿 (서식 없음 / 금액 서식 지시자).
+ * 할당량은 GC 프로파일러로 함께 본다.
+ * <pre>./gradlew jmh -Pjmh.includes=TemplateRenderBenchmark -Pjmh.profilers=gc</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+@Threads(4)
+public class TemplateRenderBenchmark {
+
+    private static final String SOURCE = "{orderId}번 주문이 결제되었습니다. 결제 금액: {amount}원입니다.";
+    private static final String FORMATTED_SOURCE = "{orderId}번 주문이 결제되었습니다. 결제 금액: {amount:number}원입니다.";
+
+    private final Long orderId = 1_234_567L;
+    private final Long paidAmount = 129_000L;
+
+    private CompiledTemplate compiled;
+    private CompiledTemplate compiledFormatted;
+
+    @Setup
+    public void setUp() {
+        compiled = CompiledTemplate.compile(SOURCE);
+        compiledFormatted = CompiledTemplate.compile(FORMATTED_SOURCE);
+    }
+
+    @Benchmark
+    public String stringReplace() {
+        return SOURCE
+                .replace("{orderId}", String.valueOf(orderId))
+                .replace("{amount}", String.valueOf(paidAmount));
+    }
+
+    @Benchmark
+    public String compiled() {
+        return compiled.render(TemplateValues.create()
+                .with(TemplateVariable.ORDER_ID, orderId)
+                .with(TemplateVariable.AMOUNT, paidAmount));
+    }
+
+    @Benchmark
+    public String compiledWithNumberFormat() {
+        return compiledFormatted.render(TemplateValues.create()
+                .with(TemplateVariable.ORDER_ID, orderId)
+                .with(TemplateVariable.AMOUNT, paidAmount));
+    }
+}
@@ -0,0 +1,9 @@
+package org.fortishop.notificationservice.bus;
+
+import org.springframework.cloud.bus.jackson.RemoteApplicationEventScan;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@RemoteApplicationEventScan(basePackageClasses = BusEventConfig.class)
+public class BusEventConfig {
+}
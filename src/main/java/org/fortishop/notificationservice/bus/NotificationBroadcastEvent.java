@@ -0,0 +1,26 @@
+package org.fortishop.notificationservice.bus;
+
+import lombok.Getter;
+import org.springframework.cloud.bus.event.PathDestinationFactory;
+import org.springframework.cloud.bus.event.RemoteApplicationEvent;
+
+/**
+ * 전체 공지 전송. Spring Cloud Bus 로 모든 인스턴스에 전달되어 각 노드가 자기 SSE 연결로 보낸다.
+ */
+@Getter
+public class NotificationBroadcastEvent extends RemoteApplicationEvent {
+
+    private Long broadcastId;
+    private String message;
+
+    // 역직렬화용
+    @SuppressWarnings("unused")
+    public NotificationBroadcastEvent() {
+    }
+
+    public NotificationBroadcastEvent(Object source, String originService, Long broadcastId, String message) {
+        super(source, originService, new PathDestinationFactory().getDestination(null));
+        this.broadcastId = broadcastId;
+        this.message = message;
+    }
+}
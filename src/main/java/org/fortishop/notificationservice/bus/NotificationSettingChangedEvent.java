@@ -0,0 +1,27 @@
+package org.fortishop.notificationservice.bus;
+
+import lombok.Getter;
+import org.springframework.cloud.bus.event.PathDestinationFactory;
+import org.springframework.cloud.bus.event.RemoteApplicationEvent;
+
+/**
+ * 회원 알림 설정 변경 알림. Spring Cloud Bus 로 모든 인스턴스에 전달되어 설정 캐시를 무효화하고 수신 비트마스크를 갱신한다.
+ */
+@Getter
+public class NotificationSettingChangedEvent extends RemoteApplicationEvent {
+
+    private Long memberId;
+    // 변경 후 수신 비트마스크, 없으면 캐시 무효화만 한다
+    private Byte enabledMask;
+
+    // 역직렬화용
+    @SuppressWarnings("unused")
+    public NotificationSettingChangedEvent() {
+    }
+
+    public NotificationSettingChangedEvent(Object source, String originService, Long memberId, Byte enabledMask) {
+        super(source, originService, new PathDestinationFactory().getDestination(null));
+        this.memberId = memberId;
+        this.enabledMask = enabledMask;
+    }
+}
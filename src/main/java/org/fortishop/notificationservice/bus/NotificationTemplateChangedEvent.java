@@ -0,0 +1,25 @@
+package org.fortishop.notificationservice.bus;
+
+import lombok.Getter;
+import org.fortishop.notificationservice.domain.NotificationType;
+import org.springframework.cloud.bus.event.PathDestinationFactory;
+import org.springframework.cloud.bus.event.RemoteApplicationEvent;
+
+/**
+ * 알림 템플릿 변경 알림. Spring Cloud Bus 로 모든 인스턴스에 전달되어 컴파일된 템플릿 캐시를 무효화한다.
+ */
+@Getter
+public class NotificationTemplateChangedEvent extends RemoteApplicationEvent {
+
+    private NotificationType type;
+
+    // 역직렬화용
+    @SuppressWarnings("unused")
+    public NotificationTemplateChangedEvent() {
+    }
+
+    public NotificationTemplateChangedEvent(Object source, String originService, NotificationType type) {
+        super(source, originService, new PathDestinationFactory().getDestination(null));
+        this.type = type;
+    }
+}
@@ -0,0 +1,112 @@
+package org.fortishop.notificationservice.cache;
+
+/**
+ * long -> byte 오픈 어드레싱(선형 탐사) 해시맵. 슬롯당 9바이트(키 8 + 값 1)를 쓰며 부하율은 0.375 ~ 0.75 사이다.
+ * 키/값 배열은 한 객체({@link Table})로 묶어 교체하므로 낙관적 읽기 중 배열이 바뀌어도 인덱스가 어긋나지 않는다.
+ * 키 0 은 빈 슬롯 표시로 쓰므로 저장할 수 없다. 동기화는 호출 측이 맡는다.
+ */
+class LongByteHashMap {
+
+    private static final long EMPTY = 0L;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private Table table;
+    private int size;
+
+    LongByteHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        this.table = new Table(capacity);
+    }
+
+    byte get(long key, byte missingValue) {
+        Table tab = table;
+        int mask = tab.keys.length - 1;
+        for (int slot = mix(key) & mask; ; slot = (slot + 1) & mask) {
+            long current = tab.keys[slot];
+            if (current == key) {
+                return tab.values[slot];
+            }
+            if (current == EMPTY) {
+                return missingValue;
+            }
+        }
+    }
+
+    boolean containsKey(long key) {
+        Table tab = table;
+        int mask = tab.keys.length - 1;
+        for (int slot = mix(key) & mask; ; slot = (slot + 1) & mask) {
+            long current = tab.keys[slot];
+            if (current == key) {
+                return true;
+            }
+            if (current == EMPTY) {
+                return false;
+            }
+        }
+    }
+
+    void put(long key, byte value) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("키 0 은 저장할 수 없습니다.");
+        }
+        if (insert(table, key, value) && ++size >= table.resizeAt) {
+            resize();
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return table.keys.length;
+    }
+
+    /**
+     * @return 새 키를 추가했으면 true, 기존 키의 값을 바꿨으면 false
+     */
+    private static boolean insert(Table tab, long key, byte value) {
+        int mask = tab.keys.length - 1;
+        for (int slot = mix(key) & mask; ; slot = (slot + 1) & mask) {
+            long current = tab.keys[slot];
+            if (current == key) {
+                tab.values[slot] = value;
+                return false;
+            }
+            if (current == EMPTY) {
+                tab.values[slot] = value;
+                tab.keys[slot] = key;
+                return true;
+            }
+        }
+    }
+
+    private void resize() {
+        Table old = table;
+        Table resized = new Table(old.keys.length * 2);
+        for (int i = 0; i < old.keys.length; i++) {
+            if (old.keys[i] != EMPTY) {
+                insert(resized, old.keys[i], old.values[i]);
+            }
+        }
+        table = resized;
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static final class Table {
+        private final long[] keys;
+        private final byte[] values;
+        private final int resizeAt;
+
+        private Table(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new byte[capacity];
+            this.resizeAt = (int) (capacity * LOAD_FACTOR);
+        }
+    }
+}
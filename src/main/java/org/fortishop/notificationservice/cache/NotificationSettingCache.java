@@ -0,0 +1,64 @@
+package org.fortishop.notificationservice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.notificationservice.bus.NotificationSettingChangedEvent;
+import org.fortishop.notificationservice.domain.NotificationSetting;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 회원별 알림 설정 near-cache. 설정 문서가 없는 회원은 기본값(모두 수신)을 캐시한다.
+ * 설정이 바뀌면 {@link NotificationSettingChangedEvent} 를 Spring Cloud Bus 로 보내 모든 인스턴스에서 무효화한다.
+ * 캐시된 설정은 공유되므로 읽기 전용으로만 쓴다.
+ */
+@Slf4j
+@Component
+public class NotificationSettingCache {
+
+    private final Cache<Long, NotificationSetting> cache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String busId;
+
+    public NotificationSettingCache(SettingCacheProperties properties,
+                                    MeterRegistry meterRegistry,
+                                    ApplicationEventPublisher eventPublisher,
+                                    @Value("${spring.cloud.bus.id:${spring.application.name:notification-service}}") String busId) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        this.eventPublisher = eventPublisher;
+        this.busId = busId;
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "notification_setting");
+    }
+
+    public NotificationSetting get(Long memberId, Function<Long, NotificationSetting> loader) {
+        return cache.get(memberId, loader);
+    }
+
+    /**
+     * 모든 인스턴스의 캐시에서 회원 설정을 무효화하고, 변경 후 수신 비트마스크를 함께 전달한다.
+     */
+    public void evictEverywhere(Long memberId, byte enabledMask) {
+        cache.invalidate(memberId);
+        eventPublisher.publishEvent(new NotificationSettingChangedEvent(this, busId, memberId, enabledMask));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @EventListener
+    public void onSettingChanged(NotificationSettingChangedEvent event) {
+        log.debug("알림 설정 캐시 무효화 - memberId={}, origin={}", event.getMemberId(), event.getOriginService());
+        cache.invalidate(event.getMemberId());
+    }
+}
@@ -0,0 +1,17 @@
+package org.fortishop.notificationservice.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "notification.preference-store")
+@Getter
+@Setter
+public class PreferenceStoreProperties {
+
+    // 시작 시 notification_settings 전체를 메모리에 올린다 (회원 100만 명당 약 12~24MB)
+    private boolean enabled = false;
+    private int fetchBatchSize = 5_000;
+}
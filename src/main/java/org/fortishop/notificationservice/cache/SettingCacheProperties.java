@@ -0,0 +1,19 @@
+package org.fortishop.notificationservice.cache;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "notification.setting-cache")
+@Getter
+@Setter
+public class SettingCacheProperties {
+
+    // 항목당 약 150~180바이트 (설정 문서 + 캐시 노드)
+    private long maximumSize = 500_000;
+    // 버스 메시지가 유실되어도 이 시간이 지나면 다시 읽는다
+    private Duration ttl = Duration.ofMinutes(10);
+}
@@ -0,0 +1,24 @@
+package org.fortishop.notificationservice.cache;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "notification.unread-counter")
+@Getter
+@Setter
+public class UnreadCounterProperties {
+
+    private long maximumSize = 500_000;
+    // 다른 인스턴스의 갱신은 이 시간 안에 보인다 (자기 인스턴스의 갱신은 바로 반영)
+    private Duration ttl = Duration.ofSeconds(5);
+    // 보정 주기, 0 이면 보정하지 않는다
+    private Duration reconcileInterval = Duration.ofMinutes(5);
+    // 이 시간 안에 갱신된 카운터만 다시 센다. reconcileInterval 보다 길어야 한 번 이상 검사된다
+    private Duration reconcileWindow = Duration.ofMinutes(15);
+    // 보정은 임대를 가진 인스턴스 하나만 한다. reconcileInterval 보다 길어야 그 인스턴스가 매 주기 임대를 이어간다
+    private Duration reconcileLeaseTtl = Duration.ofMinutes(12);
+}
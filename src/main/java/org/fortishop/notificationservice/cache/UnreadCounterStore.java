@@ -0,0 +1,285 @@
+package org.fortishop.notificationservice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.notificationservice.domain.JobLease;
+import org.fortishop.notificationservice.domain.NotificationStatus;
+import org.fortishop.notificationservice.domain.UnreadCounter;
+import org.fortishop.notificationservice.repository.NotificationRepository;
+import org.fortishop.notificationservice.repository.UnreadCounterRepository;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * 회원별 미읽음 수. 카운터 문서(_id 조회 한 번)와 near-cache 로 알림 수와 관계없이 응답한다.
+ * <ul>
+ *     <li>갱신: 알림 생성/읽음/삭제 시 원자적 $inc, 이 인스턴스의 캐시 값도 같이 더한다.
+ *     $inc 는 알림 저장 뒤에 하는 부가 작업이라 실패해도 예외를 던지지 않는다. (던지면 이미 저장된 알림까지 재처리된다)
+ *     실패한 회원은 기억해 두었다가 다음 보정 주기에 다시 센다.</li>
+ *     <li>카운터가 없는 회원(도입 전 알림)은 처음 조회하거나 처음 갱신할 때 한 번 센다.</li>
+ *     <li>보정: reconcileInterval 마다 최근 갱신된 카운터를 다시 세어, 그 사이 카운터가 바뀌지 않았을 때만 고친다.
+ *     (동시 읽음/삭제로 중복 차감되거나 $inc 가 실패한 경우)
+ *     전체 카운터를 훑는 작업이라 job_leases 의 임대를 가진 인스턴스 하나만 하고, 그 인스턴스가 멈추면 임대가 끝난 뒤 다른 인스턴스가 넘겨받는다.</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class UnreadCounterStore {
+
+    private static final String RECONCILE_LEASE = "unread-counter-reconcile";
+
+    private final UnreadCounterRepository counterRepository;
+    private final NotificationRepository notificationRepository;
+    private final UnreadCounterProperties properties;
+    private final MongoOperations mongoOperations;
+    private final String owner = UUID.randomUUID().toString();
+    private final Cache<Long, Long> cache;
+    private final Counter corrected;
+    private final Counter incrementFailed;
+    // $inc 가 실패해 다시 세야 하는 회원, updatedAt 이 바뀌지 않아 보정 대상 조회에 잡히지 않는다
+    private final Set<Long> failedMembers = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService reconcileScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "unread-counter-reconcile");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public UnreadCounterStore(UnreadCounterRepository counterRepository,
+                              NotificationRepository notificationRepository,
+                              UnreadCounterProperties properties,
+                              MongoOperations mongoOperations,
+                              MeterRegistry meterRegistry) {
+        this.counterRepository = counterRepository;
+        this.notificationRepository = notificationRepository;
+        this.properties = properties;
+        this.mongoOperations = mongoOperations;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        this.corrected = Counter.builder("notification_unread_corrected")
+                .description("보정 작업이 고친 미읽음 카운터 수")
+                .register(meterRegistry);
+        this.incrementFailed = Counter.builder("notification_unread_increment_failed")
+                .description("실패해 보정에 맡긴 미읽음 카운터 갱신 수")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "notification_unread");
+
+        long interval = properties.getReconcileInterval().toMillis();
+        if (interval > 0) {
+            reconcileScheduler.scheduleWithFixedDelay(this::reconcileQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reconcileScheduler.shutdownNow();
+        try {
+            mongoOperations.remove(ownedLeaseQuery(), JobLease.class);
+        } catch (Exception e) {
+            log.warn("미읽음 카운터 보정 임대 반납 실패 - error={}", e.getMessage());
+        }
+    }
+
+    public long get(Long memberId) {
+        return cache.get(memberId, this::load);
+    }
+
+    public void increment(Long memberId, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        try {
+            if (!counterRepository.increment(memberId, delta)) {
+                seed(memberId);
+                return;
+            }
+        } catch (Exception e) {
+            markFailed(List.of(memberId), e);
+            return;
+        }
+        adjustCached(memberId, delta);
+    }
+
+    public void incrementAll(Map<Long, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        Set<Long> missing;
+        try {
+            missing = counterRepository.incrementAll(deltas);
+        } catch (Exception e) {
+            // 일부만 반영됐을 수 있으므로 전부 다시 센다
+            markFailed(deltas.keySet(), e);
+            return;
+        }
+        for (Map.Entry<Long, Long> entry : deltas.entrySet()) {
+            if (!missing.contains(entry.getKey())) {
+                adjustCached(entry.getKey(), entry.getValue());
+                continue;
+            }
+            try {
+                seed(entry.getKey());
+            } catch (Exception e) {
+                markFailed(List.of(entry.getKey()), e);
+            }
+        }
+    }
+
+    /**
+     * reconcileWindow 안에 갱신된 카운터를 실제 미읽음 수와 맞춘다.
+     *
+     * @return 고친 카운터 수
+     */
+    public int reconcile() {
+        Date since = new Date(System.currentTimeMillis() - properties.getReconcileWindow().toMillis());
+        int checked = 0;
+        int fixed = 0;
+        try (Stream<UnreadCounter> counters = counterRepository.streamUpdatedSince(since)) {
+            Iterator<UnreadCounter> iterator = counters.iterator();
+            while (iterator.hasNext()) {
+                UnreadCounter counter = iterator.next();
+                checked++;
+                long actual = countUnread(counter.getMemberId());
+                // version 이 바뀌었으면 센 뒤에 갱신된 것이므로 다음 보정에 맡긴다
+                if (actual != counter.getUnread()
+                        && counterRepository.correct(counter.getMemberId(), counter.getVersion(), actual)) {
+                    cache.invalidate(counter.getMemberId());
+                    fixed++;
+                    log.info("미읽음 카운터 보정 - memberId={}, counter={}, actual={}",
+                            counter.getMemberId(), counter.getUnread(), actual);
+                }
+            }
+        }
+        corrected.increment(fixed);
+        log.debug("미읽음 카운터 보정 완료 - checked={}, fixed={}", checked, fixed);
+        return fixed;
+    }
+
+    private void adjustCached(Long memberId, long delta) {
+        cache.asMap().computeIfPresent(memberId, (id, unread) -> Math.max(0, unread + delta));
+    }
+
+    // 카운터가 없는 회원(도입 전 알림이 있을 수 있다)은 delta 로 만들지 않고 센 값으로 만든다.
+    // 이번 변경은 이미 알림 컬렉션에 저장된 뒤라 센 값에 들어 있다. 동시에 만든 카운터의 차이는 보정이 맞춘다
+    private void seed(Long memberId) {
+        counterRepository.initialize(memberId, countUnread(memberId));
+        cache.invalidate(memberId);
+    }
+
+    /**
+     * $inc 가 실패했던 회원의 카운터를 다시 센다. 다시 실패한 회원은 다음 주기에 또 시도한다.
+     *
+     * @return 다시 센 회원 수
+     */
+    public int repairFailed() {
+        int repaired = 0;
+        for (Long memberId : List.copyOf(failedMembers)) {
+            failedMembers.remove(memberId);
+            try {
+                repair(memberId);
+                repaired++;
+            } catch (Exception e) {
+                failedMembers.add(memberId);
+                log.warn("미읽음 카운터 재계산 실패 - memberId={}, error={}", memberId, e.getMessage());
+            }
+        }
+        return repaired;
+    }
+
+    private void repair(Long memberId) {
+        Optional<UnreadCounter> counter = counterRepository.findById(memberId);
+        long actual = countUnread(memberId);
+        if (counter.isEmpty()) {
+            counterRepository.initialize(memberId, actual);
+        } else if (actual != counter.get().getUnread()
+                && counterRepository.correct(memberId, counter.get().getVersion(), actual)) {
+            corrected.increment();
+            log.info("미읽음 카운터 재계산 - memberId={}, counter={}, actual={}", memberId, counter.get().getUnread(), actual);
+        }
+        // version 이 바뀌어 고치지 못했으면 그 갱신이 updatedAt 을 올렸으므로 정기 보정이 다시 본다
+        cache.invalidate(memberId);
+    }
+
+    private void markFailed(Collection<Long> memberIds, Exception e) {
+        incrementFailed.increment(memberIds.size());
+        log.warn("미읽음 카운터 갱신 실패, 보정에 맡김 - members={}, error={}", memberIds.size(), e.getMessage());
+        for (Long memberId : memberIds) {
+            cache.invalidate(memberId);
+            if (failedMembers.size() < properties.getMaximumSize()) {
+                failedMembers.add(memberId);
+            }
+        }
+    }
+
+    private void reconcileQuietly() {
+        repairFailed();
+        try {
+            if (acquireReconcileLease()) {
+                reconcile();
+            }
+        } catch (Exception e) {
+            log.warn("미읽음 카운터 보정 실패 - error={}", e.getMessage());
+        }
+    }
+
+    /**
+     * 보정 임대를 얻거나 이어간다. 만료됐거나 이미 자기 것인 임대만 가져오고, 다른 인스턴스가 가진 임대면 upsert 가 중복 키로 실패한다.
+     */
+    boolean acquireReconcileLease() {
+        long now = System.currentTimeMillis();
+        Query query = new Query(Criteria.where("_id").is(RECONCILE_LEASE)
+                .orOperator(Criteria.where("expiresAt").lt(now), Criteria.where("owner").is(owner)));
+        Update update = new Update().set("owner", owner).set("expiresAt", now + properties.getReconcileLeaseTtl().toMillis());
+        try {
+            return mongoOperations.findAndModify(query, update,
+                    new FindAndModifyOptions().returnNew(true).upsert(true), JobLease.class) != null;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    private Query ownedLeaseQuery() {
+        return new Query(Criteria.where("_id").is(RECONCILE_LEASE).and("owner").is(owner));
+    }
+
+    private Long load(Long memberId) {
+        return counterRepository.findById(memberId)
+                .map(counter -> Math.max(0, counter.getUnread()))
+                .orElseGet(() -> {
+                    // 그 사이 $inc 로 먼저 생긴 카운터는 덮지 않는다 (보정이 맞춘다)
+                    long unread = countUnread(memberId);
+                    counterRepository.initialize(memberId, unread);
+                    return unread;
+                });
+    }
+
+    private long countUnread(Long memberId) {
+        Long unread = notificationRepository.countByMemberIdAndStatus(memberId, NotificationStatus.UNREAD);
+        return unread != null ? unread : 0;
+    }
+}
@@ -3,22 +3,27 @@ package org.fortishop.notificationservice.controller;
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.fortishop.notificationservice.dto.request.NotificationBroadcastRequest;
+import org.fortishop.notificationservice.dto.request.NotificationSearchRequest;
 import org.fortishop.notificationservice.dto.request.NotificationTemplateRequest;
+import org.fortishop.notificationservice.dto.response.BroadcastResponse;
+import org.fortishop.notificationservice.dto.response.NotificationPageResponse;
 import org.fortishop.notificationservice.dto.response.NotificationResponse;
 import org.fortishop.notificationservice.dto.response.NotificationTemplateResponse;
 import org.fortishop.notificationservice.global.Responder;
 import org.fortishop.notificationservice.service.AdminNotificationService;
+import org.fortishop.notificationservice.service.BroadcastService;
 import org.fortishop.notificationservice.service.NotificationTemplateService;
 import org.fortishop.notificationservice.utils.AuthHeaderUtils;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -28,6 +33,7 @@ public class NotificationAdminController {
 
     private final NotificationTemplateService templateService;
     private final AdminNotificationService adminService;
+    private final BroadcastService broadcastService;
 
     /**
      * 템플릿 등록
@@ -84,15 +90,24 @@ public class NotificationAdminController {
     }
 
     /**
-     * 알림 조건 검색 (memberId, type, status)
+     * 전체 공지 전송 (SYSTEM)
+     */
+    @PostMapping("/broadcasts")
+    public ResponseEntity<?> broadcast(HttpServletRequest httpServletRequest,
+                                       @RequestBody NotificationBroadcastRequest request) {
+        AuthHeaderUtils.validateAdmin(httpServletRequest);
+        BroadcastResponse result = broadcastService.broadcast(request.getMessage());
+        return Responder.success(result);
+    }
+
+    /**
+     * 알림 조건 검색 (memberId, type, status, from ~ to, page, size)
      */
     @GetMapping("/search")
     public ResponseEntity<?> search(HttpServletRequest httpServletRequest,
-                                    @RequestParam(name = "memberId", required = false) Long memberId,
-                                    @RequestParam(name = "type", required = false) String type,
-                                    @RequestParam(name = "status", required = false) String status) {
+                                    @ModelAttribute NotificationSearchRequest request) {
         AuthHeaderUtils.validateAdmin(httpServletRequest);
-        List<NotificationResponse> results = adminService.search(memberId, type, status);
+        NotificationPageResponse results = adminService.search(request);
         return Responder.success(results);
     }
 }
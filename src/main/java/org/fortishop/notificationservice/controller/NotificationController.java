@@ -3,11 +3,16 @@ package org.fortishop.notificationservice.controller;
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.fortishop.notificationservice.domain.NotificationStatus;
+import org.fortishop.notificationservice.domain.NotificationType;
 import org.fortishop.notificationservice.dto.request.NotificationReadRequest;
 import org.fortishop.notificationservice.dto.request.NotificationSettingRequest;
+import org.fortishop.notificationservice.dto.response.BroadcastResponse;
+import org.fortishop.notificationservice.dto.response.NotificationFeedResponse;
 import org.fortishop.notificationservice.dto.response.NotificationResponse;
 import org.fortishop.notificationservice.dto.response.NotificationSettingResponse;
 import org.fortishop.notificationservice.global.Responder;
+import org.fortishop.notificationservice.service.BroadcastService;
 import org.fortishop.notificationservice.service.NotificationService;
 import org.fortishop.notificationservice.service.NotificationSettingService;
 import org.fortishop.notificationservice.utils.AuthHeaderUtils;
@@ -19,6 +24,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -28,6 +34,7 @@ public class NotificationController {
 
     private final NotificationService notificationService;
     private final NotificationSettingService settingService;
+    private final BroadcastService broadcastService;
 
     /**
      * 최근 알림 20개 조회
@@ -39,6 +46,20 @@ public class NotificationController {
         return Responder.success(notifications);
     }
 
+    /**
+     * 알림 피드 조회 (커서 기반, 응답의 nextCursor 로 다음 페이지 요청)
+     */
+    @GetMapping("/feed")
+    public ResponseEntity<?> getFeed(HttpServletRequest request,
+                                     @RequestParam(name = "cursor", required = false) String cursor,
+                                     @RequestParam(name = "size", required = false) Integer size,
+                                     @RequestParam(name = "type", required = false) NotificationType type,
+                                     @RequestParam(name = "status", required = false) NotificationStatus status) {
+        Long memberId = AuthHeaderUtils.extractMemberId(request);
+        NotificationFeedResponse feed = notificationService.getFeed(memberId, cursor, size, type, status);
+        return Responder.success(feed);
+    }
+
     /**
      * 미읽음 알림 수 조회
      */
@@ -49,6 +70,36 @@ public class NotificationController {
         return Responder.success(count);
     }
 
+    /**
+     * 최근 전체 공지 20개 조회
+     */
+    @GetMapping("/broadcasts")
+    public ResponseEntity<?> getBroadcasts(HttpServletRequest request) {
+        Long memberId = AuthHeaderUtils.extractMemberId(request);
+        List<BroadcastResponse> broadcasts = broadcastService.getRecent(memberId);
+        return Responder.success(broadcasts);
+    }
+
+    /**
+     * 미읽음 전체 공지 수 조회
+     */
+    @GetMapping("/broadcasts/unread-count")
+    public ResponseEntity<?> getBroadcastUnreadCount(HttpServletRequest request) {
+        Long memberId = AuthHeaderUtils.extractMemberId(request);
+        Long count = broadcastService.getUnreadCount(memberId);
+        return Responder.success(count);
+    }
+
+    /**
+     * 전체 공지 모두 읽음 처리
+     */
+    @PostMapping("/broadcasts/read")
+    public ResponseEntity<?> markBroadcastsAsRead(HttpServletRequest request) {
+        Long memberId = AuthHeaderUtils.extractMemberId(request);
+        broadcastService.markAllAsRead(memberId);
+        return Responder.success("공지 읽음 처리 완료");
+    }
+
     /**
      * 알림 단건 조회
      */
@@ -71,6 +122,16 @@ public class NotificationController {
         return Responder.success("읽음 처리 완료");
     }
 
+    /**
+     * 알림 모두 읽음 처리
+     */
+    @PostMapping("/read-all")
+    public ResponseEntity<?> markAllAsRead(HttpServletRequest request) {
+        Long memberId = AuthHeaderUtils.extractMemberId(request);
+        notificationService.markAllAsRead(memberId);
+        return Responder.success("모두 읽음 처리 완료");
+    }
+
     /**
      * 알림 단건 삭제
      */
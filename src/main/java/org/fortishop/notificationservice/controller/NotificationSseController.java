@@ -6,6 +6,7 @@ import org.fortishop.notificationservice.sse.SseEmitterManager;
 import org.fortishop.notificationservice.utils.AuthHeaderUtils;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
@@ -18,8 +19,9 @@ public class NotificationSseController {
     private final SseEmitterManager sseEmitterManager;
 
     @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public SseEmitter connect(HttpServletRequest request) {
+    public SseEmitter connect(HttpServletRequest request,
+                              @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
         Long memberId = AuthHeaderUtils.extractMemberId(request);
-        return sseEmitterManager.connect(memberId);
+        return sseEmitterManager.connect(memberId, lastEventId);
     }
 }
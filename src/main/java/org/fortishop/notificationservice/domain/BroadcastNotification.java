@@ -0,0 +1,37 @@
+package org.fortishop.notificationservice.domain;
+
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * 전체 회원 공지 (SYSTEM). 회원별 알림 문서를 만들지 않고 공지 하나만 저장한다.
+ * 읽음 여부는 {@link BroadcastReadMarker} 의 회원별 읽음 기준 ID 로 판단한다.
+ */
+@Document(collection = "notification_broadcasts")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class BroadcastNotification {
+
+    @Id
+    private Long id;
+
+    @Field("type")
+    private NotificationType type;
+
+    @Field("message")
+    private String message;
+
+    @Field("createdAt")
+    private LocalDateTime createdAt;
+
+    public BroadcastNotification(Long newId, String message) {
+        this(newId, NotificationType.SYSTEM, message, LocalDateTime.now());
+    }
+}
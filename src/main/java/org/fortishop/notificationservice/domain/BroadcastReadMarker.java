@@ -0,0 +1,31 @@
+package org.fortishop.notificationservice.domain;
+
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * 회원별 공지 읽음 기준. lastReadId 이하의 공지는 읽은 것으로 본다.
+ * 회원이 처음 읽을 때 생기므로 공지를 보낼 때 회원 수만큼 쓰지 않는다.
+ */
+@Document(collection = "broadcast_read_markers")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class BroadcastReadMarker {
+
+    // 회원 ID
+    @Id
+    private Long memberId;
+
+    @Field("lastReadId")
+    private Long lastReadId;
+
+    @Field("updatedAt")
+    private LocalDateTime updatedAt;
+}
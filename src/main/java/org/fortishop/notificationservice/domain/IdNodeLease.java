@@ -0,0 +1,23 @@
+package org.fortishop.notificationservice.domain;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Document(collection = "id_node_leases")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class IdNodeLease {
+
+    @Id
+    private Integer nodeId;
+
+    private String owner;
+
+    // epoch millis, 이 시각 이후에는 다른 인스턴스가 노드 ID 를 가져갈 수 있다
+    private long expiresAt;
+}
@@ -0,0 +1,27 @@
+package org.fortishop.notificationservice.domain;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * 한 인스턴스만 돌려야 하는 주기 작업의 임대. 작업 이름마다 문서 하나를 두고 owner 인 인스턴스만 작업을 실행한다.
+ */
+@Document(collection = "job_leases")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class JobLease {
+
+    // 작업 이름
+    @Id
+    private String name;
+
+    private String owner;
+
+    // epoch millis, 이 시각 이후에는 다른 인스턴스가 가져갈 수 있다
+    private long expiresAt;
+}
@@ -1,15 +1,34 @@
 package org.fortishop.notificationservice.domain;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
+/**
+ * 회원 알림. 조회는 모두 memberId 로 시작하므로 인덱스도 memberId 가 맨 앞이다.
+ * 생성 시각 정렬 인덱스는 모두 (createdAt, _id) 로 끝나 피드 커서 범위 스캔을 정렬 없이 처리한다.
+ * <ul>
+ *     <li>member_createdAt: 최근 알림, 생성 시각 기준 재전송, 조건 없는 피드</li>
+ *     <li>member_id: 시간순 ID 일 때 최근 알림, ID 기준 재전송</li>
+ *     <li>member_status_createdAt: 미읽음 수, 읽음 처리, 상태 조건 피드</li>
+ *     <li>member_type_createdAt: 유형 조건 피드</li>
+ *     <li>createdAt_id: 회원 조건 없는 관리자 검색 (기간 범위, 최신순)</li>
+ * </ul>
+ * 인덱스는 {@link org.fortishop.notificationservice.global.MongoIndexProvisioner} 가 시작 시 맞춘다.
+ */
 @Document(collection = "notifications")
+@CompoundIndex(name = "member_createdAt", def = "{'memberId': 1, 'createdAt': -1, '_id': -1}")
+@CompoundIndex(name = "member_id", def = "{'memberId': 1, '_id': -1}")
+@CompoundIndex(name = "member_status_createdAt", def = "{'memberId': 1, 'status': 1, 'createdAt': -1, '_id': -1}")
+@CompoundIndex(name = "member_type_createdAt", def = "{'memberId': 1, 'type': 1, 'createdAt': -1, '_id': -1}")
+@CompoundIndex(name = "createdAt_id", def = "{'createdAt': -1, '_id': -1}")
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
@@ -24,9 +43,20 @@ public class Notification {
     @Field("type")
     private NotificationType type;
 
+    // 렌더링된 메시지, 템플릿 참조로 저장한 알림은 null
     @Field("message")
     private String message;
 
+    // 템플릿 참조 저장 (notification.storage.render-on-read), 조회 시 이 리비전으로 렌더링한다
+    @Field("templateId")
+    private Long templateId;
+
+    @Field("templateVersion")
+    private Integer templateVersion;
+
+    @Field("vars")
+    private Map<String, String> variables;
+
     @Field("status")
     private NotificationStatus status;
 
@@ -46,6 +76,18 @@ public class Notification {
         this.traceId = traceId;
     }
 
+    public Notification(Long newId, Long memberId, NotificationType type, Long templateId, Integer templateVersion,
+                        Map<String, String> variables, String traceId) {
+        this(newId, memberId, type, null, traceId);
+        this.templateId = templateId;
+        this.templateVersion = templateVersion;
+        this.variables = variables;
+    }
+
+    public boolean isTemplated() {
+        return message == null && templateId != null;
+    }
+
     public void markAsRead() {
         this.status = NotificationStatus.READ;
     }
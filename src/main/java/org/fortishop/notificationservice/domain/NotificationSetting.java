@@ -38,4 +38,21 @@ public class NotificationSetting {
             case SYSTEM -> systemEnabled;
         };
     }
+
+    /**
+     * NotificationType ordinal 위치의 비트가 수신 여부인 비트마스크
+     */
+    public byte enabledMask() {
+        byte mask = 0;
+        for (NotificationType type : NotificationType.values()) {
+            if (isEnabled(type)) {
+                mask |= maskOf(type);
+            }
+        }
+        return mask;
+    }
+
+    public static byte maskOf(NotificationType type) {
+        return (byte) (1 << type.ordinal());
+    }
 }
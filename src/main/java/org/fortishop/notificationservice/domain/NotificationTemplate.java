@@ -29,8 +29,17 @@ public class NotificationTemplate {
 
     private LocalDateTime createdAt = LocalDateTime.now();
 
+    // 메시지가 바뀔 때마다 증가, 리비전은 notification_template_revisions 에 남는다 (필드가 없는 기존 문서는 1)
+    @Field("version")
+    private int version = 1;
+
+    public NotificationTemplate(Long id, NotificationType type, String title, String message, LocalDateTime createdAt) {
+        this(id, type, title, message, createdAt, 1);
+    }
+
     public void update(String title, String message) {
         this.title = title;
         this.message = message;
+        this.version = Math.max(version, 1) + 1;
     }
 }
@@ -0,0 +1,40 @@
+package org.fortishop.notificationservice.domain;
+
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * 템플릿 메시지 리비전. 템플릿 참조로 저장한 알림은 저장 당시 리비전으로 렌더링한다.
+ */
+@Document(collection = "notification_template_revisions")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class NotificationTemplateRevision {
+
+    // "{templateId}:{version}"
+    @Id
+    private String id;
+
+    private Long templateId;
+
+    private int version;
+
+    private String message;
+
+    private LocalDateTime createdAt;
+
+    public static NotificationTemplateRevision of(NotificationTemplate template) {
+        return new NotificationTemplateRevision(idOf(template.getId(), template.getVersion()),
+                template.getId(), template.getVersion(), template.getMessage(), LocalDateTime.now());
+    }
+
+    public static String idOf(Long templateId, int version) {
+        return templateId + ":" + version;
+    }
+}
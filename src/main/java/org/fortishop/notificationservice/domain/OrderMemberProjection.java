@@ -0,0 +1,24 @@
+package org.fortishop.notificationservice.domain;
+
+import java.util.Date;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Document(collection = "order_member_projection")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class OrderMemberProjection {
+
+    @Id
+    private Long orderId;
+
+    private Long memberId;
+
+    // 주문 이벤트 시각, TTL 인덱스 기준 (retention 이 지나면 삭제된다)
+    private Date orderedAt;
+}
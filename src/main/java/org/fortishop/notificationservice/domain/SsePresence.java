@@ -0,0 +1,36 @@
+package org.fortishop.notificationservice.domain;
+
+import java.util.Date;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * 회원의 SSE 연결이 있는 노드. 회원-노드 쌍마다 문서 하나다.
+ */
+@Document(collection = "sse_presence")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class SsePresence {
+
+    // "{memberId}:{nodeId}"
+    @Id
+    private String id;
+
+    @Indexed
+    private Long memberId;
+
+    private String nodeId;
+
+    // 노드 하트비트 시각, TTL 인덱스 기준
+    private Date heartbeatAt;
+
+    public static String idOf(Long memberId, String nodeId) {
+        return memberId + ":" + nodeId;
+    }
+}
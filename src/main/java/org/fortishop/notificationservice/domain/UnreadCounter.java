@@ -0,0 +1,32 @@
+package org.fortishop.notificationservice.domain;
+
+import java.util.Date;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * 회원별 미읽음 알림 수. 알림 생성/읽음/삭제 시 $inc 로 갱신한다.
+ * version 은 갱신마다 1씩 올라 보정 작업이 그 사이 바뀐 카운터를 덮어쓰지 않게 한다.
+ */
+@Document(collection = "notification_unread_counters")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class UnreadCounter {
+
+    @Id
+    private Long memberId;
+
+    private long unread;
+
+    private long version;
+
+    // 마지막 $inc 시각, 보정 대상(최근 갱신된 카운터)을 고르는 기준
+    @Indexed(name = "updatedAt")
+    private Date updatedAt;
+}
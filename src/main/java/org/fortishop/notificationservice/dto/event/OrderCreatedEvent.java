@@ -0,0 +1,17 @@
+package org.fortishop.notificationservice.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderCreatedEvent {
+    private Long orderId;
+    private Long memberId;
+    private String createdAt;
+    private String traceId;
+}
@@ -0,0 +1,12 @@
+package org.fortishop.notificationservice.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class NotificationBroadcastRequest {
+    private String message;
+}
@@ -0,0 +1,44 @@
+package org.fortishop.notificationservice.dto.request;
+
+import java.util.Map;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.fortishop.notificationservice.domain.NotificationType;
+
+@Getter
+@NoArgsConstructor
+public class NotificationCreateRequest {
+    private Long memberId;
+    private NotificationType type;
+    // 실시간 전송용 렌더링 결과, 템플릿 참조가 있으면 저장 방식은 notification.storage.render-on-read 를 따른다
+    private String message;
+    private Long templateId;
+    private Integer templateVersion;
+    private Map<String, String> variables;
+    private String traceId;
+    // 저장 시 발급된 알림 ID, SSE 이벤트 ID 로 쓴다
+    private Long id;
+
+    public NotificationCreateRequest(Long memberId, NotificationType type, String message, String traceId) {
+        this(memberId, type, message, null, null, null, traceId);
+    }
+
+    public NotificationCreateRequest(Long memberId, NotificationType type, String message, Long templateId,
+                                     Integer templateVersion, Map<String, String> variables, String traceId) {
+        this.memberId = memberId;
+        this.type = type;
+        this.message = message;
+        this.templateId = templateId;
+        this.templateVersion = templateVersion;
+        this.variables = variables;
+        this.traceId = traceId;
+    }
+
+    public boolean hasTemplate() {
+        return templateId != null;
+    }
+
+    public void assignId(Long id) {
+        this.id = id;
+    }
+}
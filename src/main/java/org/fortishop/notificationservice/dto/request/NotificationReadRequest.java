@@ -9,5 +9,6 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 public class NotificationReadRequest {
+    // 응답의 idString 을 그대로 보내도 숫자로 변환된다
     private List<Long> ids;
 }
@@ -1,16 +1,37 @@
 package org.fortishop.notificationservice.dto.request;
 
+import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 import org.fortishop.notificationservice.domain.NotificationStatus;
 import org.fortishop.notificationservice.domain.NotificationType;
+import org.springframework.format.annotation.DateTimeFormat;
 
+/**
+ * 관리자 알림 검색 조건. 값이 없는 조건은 적용하지 않는다. (from 이상, to 미만)
+ */
 @Getter
+@Setter
 @AllArgsConstructor
 @NoArgsConstructor
 public class NotificationSearchRequest {
     private Long memberId;
     private NotificationType type;
     private NotificationStatus status;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+
+    // 0 부터 시작
+    private Integer page;
+    private Integer size;
+
+    public NotificationSearchRequest(Long memberId, NotificationType type, NotificationStatus status) {
+        this(memberId, type, status, null, null, null, null);
+    }
 }
@@ -0,0 +1,35 @@
+package org.fortishop.notificationservice.dto.response;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.fortishop.notificationservice.domain.BroadcastNotification;
+import org.fortishop.notificationservice.domain.NotificationStatus;
+
+@Getter
+@AllArgsConstructor
+public class BroadcastResponse {
+    private Long id;
+    private String type;
+    private String message;
+    private String status;
+    private LocalDateTime createdAt;
+
+    // 알림 응답과 같이 문자열로도 내보낸다 (시간순 ID 로 저장된 이전 공지는 2^53 을 넘을 수 있다)
+    public String getIdString() {
+        return id != null ? String.valueOf(id) : null;
+    }
+
+    /**
+     * lastReadId 이하의 공지는 읽음으로 표시한다.
+     */
+    public static BroadcastResponse of(BroadcastNotification b, long lastReadId) {
+        return new BroadcastResponse(
+                b.getId(),
+                b.getType().name(),
+                b.getMessage(),
+                (b.getId() <= lastReadId ? NotificationStatus.READ : NotificationStatus.UNREAD).name(),
+                b.getCreatedAt()
+        );
+    }
+}
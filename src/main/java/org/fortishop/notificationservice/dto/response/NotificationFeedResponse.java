@@ -0,0 +1,14 @@
+package org.fortishop.notificationservice.dto.response;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class NotificationFeedResponse {
+    private List<NotificationResponse> items;
+    // 다음 페이지 커서, 마지막 페이지면 null
+    private String nextCursor;
+    private boolean hasNext;
+}
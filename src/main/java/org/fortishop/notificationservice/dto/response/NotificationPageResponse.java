@@ -0,0 +1,15 @@
+package org.fortishop.notificationservice.dto.response;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class NotificationPageResponse {
+    private List<NotificationResponse> items;
+    private int page;
+    private int size;
+    // 전체 건수 대신 다음 페이지 여부만 준다 (조건이 넓으면 count 가 컬렉션 대부분을 읽는다)
+    private boolean hasNext;
+}
@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import org.fortishop.notificationservice.domain.Notification;
+import org.fortishop.notificationservice.template.NotificationMessageRenderer;
 
 @Getter
 @AllArgsConstructor
@@ -14,6 +15,14 @@ public class NotificationResponse {
     private String status;
     private LocalDateTime createdAt;
 
+    /**
+     * 시간순(Snowflake) ID 는 2^53 을 넘어 JS Number 로 정확히 읽을 수 없으므로 같은 값을 문자열로도 내보낸다.
+     * id 는 기존 클라이언트를 위해 숫자로 둔다.
+     */
+    public String getIdString() {
+        return id != null ? String.valueOf(id) : null;
+    }
+
     public static NotificationResponse of(Notification n) {
         return new NotificationResponse(
                 n.getId(),
@@ -23,4 +32,17 @@ public class NotificationResponse {
                 n.getCreatedAt()
         );
     }
+
+    /**
+     * 템플릿 참조로 저장한 알림은 조회 시점에 렌더링한다.
+     */
+    public static NotificationResponse of(Notification n, NotificationMessageRenderer renderer) {
+        return new NotificationResponse(
+                n.getId(),
+                n.getType().name(),
+                renderer.render(n),
+                n.getStatus().name(),
+                n.getCreatedAt()
+        );
+    }
 }
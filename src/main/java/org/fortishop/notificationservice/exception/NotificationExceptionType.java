@@ -9,7 +9,10 @@ public enum NotificationExceptionType implements BaseExceptionType {
     INVALID_REQUEST("N003", "잘못된 알림 생성 요청입니다.", HttpStatus.BAD_REQUEST),
     WRONG_ROLE("N004", "잘못된 권한입니다.", HttpStatus.BAD_REQUEST),
     TEMPLATE_NOT_FOUND("N005", "해당 알림 템플릿을  찾을 수 없습니다.", HttpStatus.NOT_FOUND),
-    TEMPLATE_ALREADY_EXIST("N006", "이미 등록된 타입의 템플릿 입니다. 삭제 후 진행해주세요.", HttpStatus.BAD_REQUEST);
+    TEMPLATE_ALREADY_EXIST("N006", "이미 등록된 타입의 템플릿 입니다. 삭제 후 진행해주세요.", HttpStatus.BAD_REQUEST),
+    NOTIFICATION_SAVE_FAILED("N007", "알림 저장에 실패했습니다.", HttpStatus.INTERNAL_SERVER_ERROR),
+    INVALID_CURSOR("N008", "잘못된 페이지 커서입니다.", HttpStatus.BAD_REQUEST),
+    ORDER_LOOKUP_FAILED("N009", "주문 정보 조회에 실패했습니다.", HttpStatus.SERVICE_UNAVAILABLE);
 
     private final String errorCode;
     private final String errorMessage;
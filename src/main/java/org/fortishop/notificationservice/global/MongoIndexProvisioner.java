@@ -0,0 +1,204 @@
+package org.fortishop.notificationservice.global;
+
+import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.fortishop.notificationservice.global.config.MongoIndexProperties;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.index.CompoundIndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * 선언 인덱스 동기화. 시작 시 @Document 엔티티의 @Indexed/@CompoundIndex 를 실제 컬렉션 인덱스와 비교한다.
+ * <ul>
+ *     <li>없는 인덱스는 만든다.</li>
+ *     <li>같은 이름인데 키/옵션이 다르거나, 같은 키가 다른 이름으로 있으면 rebuildChanged 일 때만 다시 만든다. 꺼져 있으면 로그만 남긴다.</li>
+ *     <li>선언에 없는 인덱스는 dropUndeclared 일 때만 지운다. (retain 제외)</li>
+ * </ul>
+ * 다시 만들 때는 기존 인덱스를 지우기 전에 대체 인덱스(선언 키 + {@value #STAND_IN_FIELD})를 먼저 빌드한다.
+ * 같은 이름이나 같은 키 패턴의 인덱스는 동시에 둘 수 없어 선언 인덱스를 바로 먼저 만들 수는 없기 때문이다.
+ * 대체 인덱스는 선언 키를 접두로 가지므로 교체하는 동안 같은 조회를 받는다. 선언 인덱스 빌드가 실패하면 대체 인덱스가 남고 다음 시작 때 다시 시도한다.
+ * spring.data.mongodb.auto-index-creation 은 켜지 않는다. (만들기만 하고 다른 정의는 맞추지 않는다)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MongoIndexProvisioner {
+
+    private static final String ID_INDEX = "_id_";
+    private static final String STAND_IN_FIELD = "_reindex";
+    private static final String STAND_IN_SUFFIX = "_reindex";
+    private static final List<String> COMPARED_OPTIONS = List.of("unique", "sparse", "expireAfterSeconds", "partialFilterExpression");
+
+    private final MongoOperations mongoOperations;
+    private final MongoMappingContext mappingContext;
+    private final MongoIndexProperties properties;
+
+    @PostConstruct
+    public void provision() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+            if (!entity.isAnnotationPresent(org.springframework.data.mongodb.core.mapping.Document.class)) {
+                continue;
+            }
+            try {
+                reconcile(entity.getType());
+            } catch (Exception e) {
+                log.error("인덱스 동기화 실패 - collection={}, error={}", entity.getCollection(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 엔티티 컬렉션의 인덱스를 선언과 맞춘다.
+     */
+    public void reconcile(Class<?> entityType) {
+        String collection = mongoOperations.getCollectionName(entityType);
+        List<IndexDefinition> declared = declaredIndexes(entityType);
+        Map<String, Document> live = liveIndexes(collection);
+        IndexOperations indexOps = mongoOperations.indexOps(entityType);
+
+        Set<String> declaredNames = new HashSet<>();
+        for (IndexDefinition definition : declared) {
+            Document keys = definition.getIndexKeys();
+            Document options = definition.getIndexOptions();
+            String name = options.getString("name");
+            declaredNames.add(name);
+
+            Document sameName = live.get(name);
+            if (sameName != null && matches(sameName, keys, options)) {
+                continue;
+            }
+            // 같은 이름이거나 같은 키 패턴이면 선언 인덱스를 만들 수 없다
+            List<String> conflicting = new ArrayList<>();
+            if (sameName != null) {
+                conflicting.add(name);
+            }
+            for (Document existing : live.values()) {
+                String existingName = existing.getString("name");
+                if (!existingName.equals(name) && !ID_INDEX.equals(existingName) && sameKeys(existing.get("key", Document.class), keys)) {
+                    conflicting.add(existingName);
+                }
+            }
+
+            if (conflicting.isEmpty()) {
+                String created = indexOps.ensureIndex(definition);
+                log.info("인덱스 생성 - collection={}, index={}, keys={}", collection, created, keys.toJson());
+            } else if (properties.isRebuildChanged()) {
+                rebuild(indexOps, collection, definition, conflicting);
+            } else {
+                log.warn("선언과 다른 인덱스, rebuild-changed 가 꺼져 있어 그대로 둔다 - collection={}, index={}, existing={}",
+                        collection, name, conflicting);
+            }
+        }
+
+        for (String name : liveIndexes(collection).keySet()) {
+            if (ID_INDEX.equals(name) || declaredNames.contains(name) || properties.getRetain().contains(name)) {
+                continue;
+            }
+            if (properties.isDropUndeclared()) {
+                log.warn("선언에 없는 인덱스 삭제 - collection={}, index={}", collection, name);
+                indexOps.dropIndex(name);
+            } else {
+                log.info("선언에 없는 인덱스 - collection={}, index={}", collection, name);
+            }
+        }
+    }
+
+    /**
+     * 대체 인덱스를 먼저 빌드한 뒤 기존 인덱스를 지우고 선언 인덱스를 만든다.
+     * 어느 단계에서 실패하든 조회를 받는 인덱스가 하나는 남는다.
+     */
+    private void rebuild(IndexOperations indexOps, String collection, IndexDefinition definition, List<String> conflicting) {
+        Document keys = definition.getIndexKeys();
+        String name = definition.getIndexOptions().getString("name");
+        String standIn = name + STAND_IN_SUFFIX;
+
+        indexOps.ensureIndex(new CompoundIndexDefinition(new Document(keys).append(STAND_IN_FIELD, 1)).named(standIn));
+        log.info("대체 인덱스 생성 - collection={}, index={}", collection, standIn);
+
+        for (String existing : conflicting) {
+            log.warn("선언과 다른 인덱스 삭제 - collection={}, index={}", collection, existing);
+            indexOps.dropIndex(existing);
+        }
+        String created = indexOps.ensureIndex(definition);
+        log.info("인덱스 다시 생성 - collection={}, index={}, keys={}", collection, created, keys.toJson());
+
+        indexOps.dropIndex(standIn);
+    }
+
+    private List<IndexDefinition> declaredIndexes(Class<?> entityType) {
+        List<IndexDefinition> declared = new ArrayList<>();
+        new MongoPersistentEntityIndexResolver(mappingContext).resolveIndexFor(entityType).forEach(declared::add);
+        return declared;
+    }
+
+    private Map<String, Document> liveIndexes(String collection) {
+        Map<String, Document> live = new HashMap<>();
+        if (!mongoOperations.collectionExists(collection)) {
+            return live;
+        }
+        for (Document index : mongoOperations.getCollection(collection).listIndexes()) {
+            live.put(index.getString("name"), index);
+        }
+        return live;
+    }
+
+    private static boolean matches(Document live, Document keys, Document options) {
+        if (!sameKeys(live.get("key", Document.class), keys)) {
+            return false;
+        }
+        for (String option : COMPARED_OPTIONS) {
+            if (!sameValue(normalize(option, live.get(option)), normalize(option, options.get(option)))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 복합 인덱스는 키 순서도 같아야 한다
+    private static boolean sameKeys(Document live, Document declared) {
+        if (live == null || live.size() != declared.size()) {
+            return false;
+        }
+        List<Map.Entry<String, Object>> liveEntries = new ArrayList<>(live.entrySet());
+        List<Map.Entry<String, Object>> declaredEntries = new ArrayList<>(declared.entrySet());
+        for (int i = 0; i < liveEntries.size(); i++) {
+            if (!liveEntries.get(i).getKey().equals(declaredEntries.get(i).getKey())
+                    || !sameValue(liveEntries.get(i).getValue(), declaredEntries.get(i).getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 서버는 1 을 1.0 으로, false 옵션을 생략해 돌려줄 수 있다
+    private static Object normalize(String option, Object value) {
+        if (value == null && ("unique".equals(option) || "sparse".equals(option))) {
+            return Boolean.FALSE;
+        }
+        return value;
+    }
+
+    private static boolean sameValue(Object live, Object declared) {
+        if (live instanceof Number l && declared instanceof Number d) {
+            return l.longValue() == d.longValue();
+        }
+        return Objects.equals(live, declared);
+    }
+}
@@ -0,0 +1,9 @@
+package org.fortishop.notificationservice.global;
+
+public interface NotificationIdGenerator {
+
+    long nextId();
+
+    // ID 정렬 순서가 생성 시각 순서와 같은지 여부
+    boolean isTimeOrdered();
+}
@@ -1,7 +1,18 @@
 package org.fortishop.notificationservice.global;
 
+import jakarta.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.fortishop.notificationservice.domain.DatabaseSequence;
+import org.fortishop.notificationservice.global.config.SequenceProperties;
 import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoOperations;
 import org.springframework.data.mongodb.core.query.Criteria;
@@ -9,19 +20,142 @@ import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Component;
 
+/**
+ * hi/lo 방식 시퀀스 발급기.
+ * findAndModify($inc: blockSize) 한 번으로 ID 구간을 예약하고, 구간 내 ID 는 로컬 AtomicLong 으로 발급한다.
+ * 구간 예약은 sequences 문서에 대한 원자적 $inc 이므로 여러 노드가 동시에 예약해도 구간이 겹치지 않는다.
+ * 노드 재시작 등으로 사용하지 못한 구간은 버려지므로 ID 사이에 빈 값이 생길 수 있다.
+ */
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class SequenceGenerator {
 
     private final MongoOperations mongoOperations;
+    private final SequenceProperties sequenceProperties;
+    private final Map<String, BlockAllocator> allocators = new ConcurrentHashMap<>();
+    private final ExecutorService refillExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sequence-refill");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     public long generateSequence(String sequenceName) {
+        return allocators.computeIfAbsent(sequenceName, this::createAllocator).next();
+    }
+
+    /**
+     * 시퀀스를 최소 value 까지 올린다. ($max 라 이미 더 크면 그대로 둔다)
+     * 로컬에 예약해 둔 구간은 바꾸지 않으므로 블록 크기가 1 인 시퀀스에만 쓴다.
+     */
+    public void advanceTo(String sequenceName, long value) {
+        mongoOperations.upsert(new Query(Criteria.where("_id").is(sequenceName)),
+                new Update().max("seq", value),
+                DatabaseSequence.class);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refillExecutor.shutdownNow();
+    }
+
+    private BlockAllocator createAllocator(String sequenceName) {
+        int blockSize = sequenceProperties.blockSizeOf(sequenceName);
+        long refillAt = (long) Math.floor(blockSize * sequenceProperties.getRefillThreshold());
+        return new BlockAllocator(sequenceName, blockSize, refillAt);
+    }
+
+    /**
+     * [start, end] 구간을 예약한다. $inc 후의 값이 구간의 끝이다.
+     */
+    private Block reserve(String sequenceName, int blockSize) {
         Query query = new Query(Criteria.where("_id").is(sequenceName));
-        Update update = new Update().inc("seq", 1);
+        Update update = new Update().inc("seq", blockSize);
         FindAndModifyOptions options = new FindAndModifyOptions().returnNew(true).upsert(true);
 
         DatabaseSequence sequence = mongoOperations.findAndModify(query, update, options, DatabaseSequence.class);
-        return sequence != null ? sequence.getSeq() : 1L;
+        long end = sequence != null ? sequence.getSeq() : blockSize;
+        return new Block(end - blockSize + 1, end);
     }
-}
 
+    private final class BlockAllocator {
+        private final String sequenceName;
+        private final int blockSize;
+        private final long refillAt;
+        // 첫 next() 에서 바로 구간을 예약하도록 빈 구간으로 시작한다
+        private final AtomicReference<Block> current = new AtomicReference<>(Block.exhausted());
+        private final AtomicReference<CompletableFuture<Block>> prefetched = new AtomicReference<>();
+
+        private BlockAllocator(String sequenceName, int blockSize, long refillAt) {
+            this.sequenceName = sequenceName;
+            this.blockSize = blockSize;
+            this.refillAt = refillAt;
+        }
+
+        private long next() {
+            while (true) {
+                Block block = current.get();
+                long id = block.cursor.getAndIncrement();
+                if (id <= block.end) {
+                    // 구간당 한 스레드만 정확히 이 지점을 지나므로 미리 예약은 한 번만 요청된다
+                    if (block.end - id == refillAt) {
+                        prefetch();
+                    }
+                    return id;
+                }
+                swap(block);
+            }
+        }
+
+        private synchronized void swap(Block exhausted) {
+            if (current.get() != exhausted) {
+                return;
+            }
+            current.set(takePrefetchedOrReserve());
+        }
+
+        private void prefetch() {
+            if (blockSize == 1 || prefetched.get() != null) {
+                return;
+            }
+            CompletableFuture<Block> future = new CompletableFuture<>();
+            if (!prefetched.compareAndSet(null, future)) {
+                return;
+            }
+            refillExecutor.execute(() -> {
+                try {
+                    future.complete(reserve(sequenceName, blockSize));
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        }
+
+        private Block takePrefetchedOrReserve() {
+            CompletableFuture<Block> future = prefetched.getAndSet(null);
+            if (future != null) {
+                try {
+                    return future.join();
+                } catch (CompletionException e) {
+                    log.warn("시퀀스 구간 미리 예약 실패, 동기 예약으로 전환 - sequence={}, error={}", sequenceName, e.getMessage());
+                }
+            }
+            return reserve(sequenceName, blockSize);
+        }
+    }
+
+    private static final class Block {
+        private final AtomicLong cursor;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.cursor = new AtomicLong(start);
+            this.end = end;
+        }
+
+        // 커서가 변하는 객체라 공유하지 않고 allocator 마다 따로 만든다
+        private static Block exhausted() {
+            return new Block(1, 0);
+        }
+    }
+}
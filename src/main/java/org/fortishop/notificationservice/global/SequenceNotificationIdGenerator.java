@@ -0,0 +1,26 @@
+package org.fortishop.notificationservice.global;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mongo 시퀀스(블록 할당) 기반 알림 ID. 노드마다 다른 블록을 쓰므로 ID 순서가 생성 시각 순서와 같지 않다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "notification.id", name = "strategy", havingValue = "sequence", matchIfMissing = true)
+public class SequenceNotificationIdGenerator implements NotificationIdGenerator {
+
+    private final SequenceGenerator sequenceGenerator;
+
+    @Override
+    public long nextId() {
+        return sequenceGenerator.generateSequence("notifications_sequence");
+    }
+
+    @Override
+    public boolean isTimeOrdered() {
+        return false;
+    }
+}
@@ -0,0 +1,99 @@
+package org.fortishop.notificationservice.global;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 64비트 시간순 ID 생성기.
+ * <pre>
+ * | 0 | 41비트 epoch 기준 밀리초 | 10비트 노드 ID | 12비트 밀리초 내 순번 |
+ * </pre>
+ * 노드당 밀리초에 4096개, 약 69년간 발급할 수 있다.
+ * 시계가 maxBackwardMillis 이내로 역행하면 따라잡을 때까지 대기하고, 그 이상이면 발급을 거부한다.
+ * 노드 ID 임대가 끝나는 시각(fence) 이후에는 다른 노드와 ID 가 겹칠 수 있으므로 발급하지 않는다.
+ */
+public class SnowflakeIdGenerator {
+
+    public static final int NODE_ID_BITS = 10;
+    public static final int SEQUENCE_BITS = 12;
+    public static final long MAX_NODE_ID = (1L << NODE_ID_BITS) - 1;
+    private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+    private static final int TIMESTAMP_SHIFT = NODE_ID_BITS + SEQUENCE_BITS;
+
+    private final long nodeId;
+    private final long epochMillis;
+    private final long maxBackwardMillis;
+    private final LongSupplier clock;
+
+    private long lastTimestamp = -1L;
+    private long sequence = 0L;
+    private volatile long validUntil = Long.MAX_VALUE;
+
+    public SnowflakeIdGenerator(long nodeId, long epochMillis, long maxBackwardMillis, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("nodeId 는 0 ~ " + MAX_NODE_ID + " 범위여야 합니다: " + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.epochMillis = epochMillis;
+        this.maxBackwardMillis = maxBackwardMillis;
+        this.clock = clock;
+    }
+
+    public synchronized long nextId() {
+        long now = clock.getAsLong();
+
+        if (now < lastTimestamp) {
+            long backward = lastTimestamp - now;
+            if (backward > maxBackwardMillis) {
+                throw new IllegalStateException("시계가 " + backward + "ms 역행하여 ID 를 발급할 수 없습니다.");
+            }
+            now = waitUntil(lastTimestamp);
+        }
+
+        if (now == lastTimestamp) {
+            sequence = (sequence + 1) & MAX_SEQUENCE;
+            if (sequence == 0) {
+                now = waitUntil(lastTimestamp + 1);
+            }
+        } else {
+            sequence = 0L;
+        }
+
+        if (now >= validUntil) {
+            throw new IllegalStateException("노드 ID 임대가 만료되어 ID 를 발급할 수 없습니다. nodeId=" + nodeId);
+        }
+
+        lastTimestamp = now;
+        return ((now - epochMillis) << TIMESTAMP_SHIFT) | (nodeId << SEQUENCE_BITS) | sequence;
+    }
+
+    /**
+     * 이 시각 이후로는 발급하지 않는다. (노드 ID 임대 만료 시각)
+     */
+    public void fence(long validUntil) {
+        this.validUntil = validUntil;
+    }
+
+    /**
+     * 이전 소유자가 발급했을 수 있는 시각 이후부터 발급하도록 기준 시각을 올린다.
+     */
+    public synchronized void advanceTo(long timestamp) {
+        lastTimestamp = Math.max(lastTimestamp, timestamp);
+    }
+
+    public long getNodeId() {
+        return nodeId;
+    }
+
+    public static long timestampOf(long id, long epochMillis) {
+        return (id >>> TIMESTAMP_SHIFT) + epochMillis;
+    }
+
+    private long waitUntil(long target) {
+        long now = clock.getAsLong();
+        while (now < target) {
+            Thread.onSpinWait();
+            now = clock.getAsLong();
+        }
+        return now;
+    }
+}
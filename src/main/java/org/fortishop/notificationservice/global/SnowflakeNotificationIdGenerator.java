@@ -0,0 +1,140 @@
+package org.fortishop.notificationservice.global;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.notificationservice.domain.IdNodeLease;
+import org.fortishop.notificationservice.global.config.IdGeneratorProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * Snowflake 방식 알림 ID (notification.id.strategy=snowflake).
+ * 노드 ID(0~1023)는 id_node_leases 컬렉션의 임대 문서로 레플리카 간에 겹치지 않게 배정하고,
+ * leaseTtl 의 1/3 주기로 갱신한다. 갱신에 실패한 채 임대가 끝나면 발급을 멈추고 새 노드 ID 를 다시 임대한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "notification.id", name = "strategy", havingValue = "snowflake")
+public class SnowflakeNotificationIdGenerator implements NotificationIdGenerator {
+
+    private final MongoOperations mongoOperations;
+    private final IdGeneratorProperties properties;
+    private final String owner = UUID.randomUUID().toString();
+    private final ScheduledExecutorService leaseScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "id-node-lease");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile SnowflakeIdGenerator generator;
+
+    @PostConstruct
+    public void init() {
+        generator = acquire();
+        long renewInterval = Math.max(1, properties.getLeaseTtl().toMillis() / 3);
+        leaseScheduler.scheduleWithFixedDelay(this::renew, renewInterval, renewInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        leaseScheduler.shutdownNow();
+        SnowflakeIdGenerator current = generator;
+        if (current != null) {
+            mongoOperations.remove(ownedLeaseQuery(current.getNodeId()), IdNodeLease.class);
+        }
+    }
+
+    @Override
+    public long nextId() {
+        return generator.nextId();
+    }
+
+    @Override
+    public boolean isTimeOrdered() {
+        return true;
+    }
+
+    private SnowflakeIdGenerator acquire() {
+        long nodeCount = SnowflakeIdGenerator.MAX_NODE_ID + 1;
+        long offset = ThreadLocalRandom.current().nextLong(nodeCount);
+
+        for (long i = 0; i < nodeCount; i++) {
+            int nodeId = (int) ((offset + i) % nodeCount);
+            long now = System.currentTimeMillis();
+            long expiresAt = now + properties.getLeaseTtl().toMillis();
+
+            try {
+                mongoOperations.insert(new IdNodeLease(nodeId, owner, expiresAt));
+                return createGenerator(nodeId, expiresAt, -1L);
+            } catch (DuplicateKeyException e) {
+                // 이미 임대된 노드 ID, 만료된 임대면 가져온다
+            }
+
+            Query expired = new Query(Criteria.where("_id").is(nodeId).and("expiresAt").lt(now));
+            Update takeOver = new Update().set("owner", owner).set("expiresAt", expiresAt);
+            IdNodeLease previous = mongoOperations.findAndModify(expired, takeOver,
+                    new FindAndModifyOptions().returnNew(false), IdNodeLease.class);
+            if (previous != null) {
+                return createGenerator(nodeId, expiresAt, previous.getExpiresAt());
+            }
+        }
+
+        throw new IllegalStateException("사용 가능한 Snowflake 노드 ID 가 없습니다.");
+    }
+
+    private SnowflakeIdGenerator createGenerator(int nodeId, long expiresAt, long previousExpiresAt) {
+        SnowflakeIdGenerator created = new SnowflakeIdGenerator(
+                nodeId,
+                properties.getEpochMillis(),
+                properties.getMaxClockBackward().toMillis(),
+                System::currentTimeMillis
+        );
+        // 이전 소유자는 임대 만료 시각까지만 발급했으므로 그 이후부터 발급한다
+        created.advanceTo(previousExpiresAt);
+        created.fence(expiresAt);
+        log.info("Snowflake 노드 ID 임대 - nodeId={}, owner={}", nodeId, owner);
+        return created;
+    }
+
+    private void renew() {
+        SnowflakeIdGenerator current = generator;
+        try {
+            long expiresAt = System.currentTimeMillis() + properties.getLeaseTtl().toMillis();
+            IdNodeLease renewed = mongoOperations.findAndModify(
+                    ownedLeaseQuery(current.getNodeId()),
+                    new Update().set("expiresAt", expiresAt),
+                    new FindAndModifyOptions().returnNew(true),
+                    IdNodeLease.class);
+
+            if (renewed != null) {
+                current.fence(expiresAt);
+                return;
+            }
+
+            log.error("Snowflake 노드 ID 임대를 잃어 재임대합니다 - nodeId={}", current.getNodeId());
+            current.fence(0L);
+            generator = acquire();
+        } catch (Exception e) {
+            // 갱신 실패 시 기존 임대 만료 시각까지는 계속 발급하고 다음 주기에 다시 시도한다
+            log.warn("Snowflake 노드 ID 임대 갱신 실패 - nodeId={}, error={}", current.getNodeId(), e.getMessage());
+        }
+    }
+
+    private Query ownedLeaseQuery(long nodeId) {
+        return new Query(Criteria.where("_id").is((int) nodeId).and("owner").is(owner));
+    }
+}
@@ -0,0 +1,19 @@
+package org.fortishop.notificationservice.global.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "notification.feed")
+@Getter
+@Setter
+public class FeedProperties {
+
+    // size 를 주지 않았을 때 페이지 크기
+    private int defaultSize = 20;
+
+    // 요청한 size 는 이 값으로 자른다
+    private int maxSize = 100;
+}
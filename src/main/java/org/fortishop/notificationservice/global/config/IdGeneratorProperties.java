@@ -0,0 +1,26 @@
+package org.fortishop.notificationservice.global.config;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "notification.id")
+@Getter
+@Setter
+public class IdGeneratorProperties {
+
+    // sequence: Mongo 시퀀스 블록 할당, snowflake: DB 없이 로컬에서 시간순 ID 생성
+    private String strategy = "sequence";
+
+    // snowflake 타임스탬프 기준 시각 (2024-01-01T00:00:00Z)
+    private long epochMillis = 1704067200000L;
+
+    // 노드 ID 임대 유효 시간, 1/3 주기로 갱신한다
+    private Duration leaseTtl = Duration.ofSeconds(30);
+
+    // 이 범위 이내의 시계 역행은 대기로 흡수하고, 넘어서면 발급을 거부한다
+    private Duration maxClockBackward = Duration.ofMillis(10);
+}
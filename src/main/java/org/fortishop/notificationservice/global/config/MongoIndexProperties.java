@@ -0,0 +1,27 @@
+package org.fortishop.notificationservice.global.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "notification.mongo.indexes")
+@Getter
+@Setter
+public class MongoIndexProperties {
+
+    // 시작 시 @Document 의 선언 인덱스(@Indexed, @CompoundIndex)를 실제 인덱스와 맞춘다
+    private boolean enabled = true;
+
+    // 선언과 정의/이름이 다른 인덱스를 다시 만든다. 꺼져 있으면 로그만 남긴다
+    private boolean rebuildChanged = false;
+
+    // 선언에 없는 인덱스를 지운다. 꺼져 있으면 로그만 남긴다
+    private boolean dropUndeclared = false;
+
+    // 코드에서 직접 만드는 인덱스(TTL 등), 선언에 없어도 지우지 않는다
+    private List<String> retain = new ArrayList<>(List.of("heartbeatAt_ttl", "orderedAt_ttl"));
+}
@@ -0,0 +1,29 @@
+package org.fortishop.notificationservice.global.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "notification.sequence")
+@Getter
+@Setter
+public class SequenceProperties {
+
+    // 한 번의 findAndModify 로 예약할 ID 개수 (기본값)
+    private int defaultBlockSize = 1;
+
+    // 시퀀스 이름별 블록 크기 (예: notifications_sequence: 200)
+    // notification_broadcasts_sequence 는 ID 순서로 읽음을 판단하므로 1 로 둔다
+    private Map<String, Integer> blockSizes = new HashMap<>(Map.of("notifications_sequence", 200));
+
+    // 남은 ID 비율이 이 값 이하가 되면 다음 블록을 비동기로 미리 예약한다
+    private double refillThreshold = 0.25;
+
+    public int blockSizeOf(String sequenceName) {
+        return Math.max(1, blockSizes.getOrDefault(sequenceName, defaultBlockSize));
+    }
+}
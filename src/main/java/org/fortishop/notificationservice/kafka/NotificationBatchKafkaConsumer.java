@@ -0,0 +1,184 @@
+package org.fortishop.notificationservice.kafka;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.fortishop.notificationservice.dto.event.DeliveryCompletedEvent;
+import org.fortishop.notificationservice.dto.event.DeliveryStartedEvent;
+import org.fortishop.notificationservice.dto.event.PaymentCompletedEvent;
+import org.fortishop.notificationservice.dto.event.PaymentFailedEvent;
+import org.fortishop.notificationservice.dto.event.PointChangedEvent;
+import org.fortishop.notificationservice.dto.request.NotificationCreateRequest;
+import org.fortishop.notificationservice.exception.NotificationException;
+import org.fortishop.notificationservice.exception.NotificationExceptionType;
+import org.fortishop.notificationservice.global.NotificationIdGenerator;
+import org.fortishop.notificationservice.service.NotificationService;
+import org.fortishop.notificationservice.sse.route.SseRouter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+/**
+ * 배치 리스너 (spring.kafka.consumer.batch-enabled=true).
+ * poll 단위로 이벤트를 변환한 뒤 한 번의 unordered insertMany 로 저장한다.
+ * <ul>
+ *     <li>이벤트 변환 실패: 앞선 레코드를 저장한 뒤 {@link BatchListenerFailedException} 으로 실패 인덱스를 알린다.
+ *     DefaultErrorHandler 가 앞선 오프셋을 커밋하고 실패 레코드만 재시도 후 DLQ 로 보낸다.</li>
+ *     <li>insert 실패 (_id 외 중복 키 등 재시도로 해결되지 않는 쓰기 오류): 해당 레코드만 DLQ 로 보낸다.</li>
+ * </ul>
+ * 변환 전에 배치에 포함된 주문들의 회원 ID 를 동시에 미리 조회해 두므로, 레코드별로 주문 서비스를 기다리지 않는다.
+ * <p>
+ * 알림 ID 는 레코드 (topic, partition, offset) 별로 한 번만 발급해 저장이 확인될 때까지 기억한다.
+ * 결과를 알 수 없는 저장 실패 뒤 같은 레코드가 다시 오면 같은 ID 로 저장하므로, 이미 저장된 문서는 중복 키로 걸러지고 성공으로 처리된다.
+ * 재처리 사이에 파티션이 다른 인스턴스로 넘어가면 기억한 ID 가 없으므로 이 경우의 중복은 막지 못한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "spring.kafka.consumer", name = "batch-enabled", havingValue = "true")
+public class NotificationBatchKafkaConsumer {
+
+    // 저장이 확인되지 않은 레코드의 알림 ID, 재처리는 보통 수 초 안에 끝나므로 넉넉히 잡는다
+    private static final Duration ASSIGNED_ID_TTL = Duration.ofMinutes(10);
+    private static final long ASSIGNED_ID_MAX_SIZE = 100_000;
+
+    private final Cache<String, Long> assignedIds = Caffeine.newBuilder()
+            .maximumSize(ASSIGNED_ID_MAX_SIZE)
+            .expireAfterWrite(ASSIGNED_ID_TTL)
+            .build();
+
+    private final NotificationService notificationService;
+    private final NotificationIdGenerator idGenerator;
+    private final NotificationEventResolver eventResolver;
+    private final SseRouter sseRouter;
+    private final DeadLetterPublishingRecoverer deadLetterPublishingRecoverer;
+
+    @KafkaListener(topics = "payment.completed", groupId = "notification-group", containerFactory = "paymentCompletedListenerContainerFactory")
+    public void consumePaymentCompleted(List<ConsumerRecord<String, PaymentCompletedEvent>> records, Acknowledgment ack) {
+        prefetchMemberIds(records, PaymentCompletedEvent::getOrderId);
+        consumeBatch(records, eventResolver::resolve, ack);
+    }
+
+    @KafkaListener(topics = "payment.failed", groupId = "notification-group", containerFactory = "paymentFailedListenerContainerFactory")
+    public void consumePaymentFailed(List<ConsumerRecord<String, PaymentFailedEvent>> records, Acknowledgment ack) {
+        prefetchMemberIds(records, PaymentFailedEvent::getOrderId);
+        consumeBatch(records, eventResolver::resolve, ack);
+    }
+
+    @KafkaListener(topics = "point.changed", groupId = "notification-group", containerFactory = "pointChangedListenerContainerFactory")
+    public void consumePointChanged(List<ConsumerRecord<String, PointChangedEvent>> records, Acknowledgment ack) {
+        consumeBatch(records, eventResolver::resolve, ack);
+    }
+
+    @KafkaListener(topics = "delivery.started", groupId = "notification-group", containerFactory = "deliveryStartedListenerContainerFactory")
+    public void consumeDeliveryStarted(List<ConsumerRecord<String, DeliveryStartedEvent>> records, Acknowledgment ack) {
+        prefetchMemberIds(records, DeliveryStartedEvent::getOrderId);
+        consumeBatch(records, eventResolver::resolve, ack);
+    }
+
+    @KafkaListener(topics = "delivery.completed", groupId = "notification-group", containerFactory = "deliveryCompletedListenerContainerFactory")
+    public void consumeDeliveryCompleted(List<ConsumerRecord<String, DeliveryCompletedEvent>> records, Acknowledgment ack) {
+        prefetchMemberIds(records, DeliveryCompletedEvent::getOrderId);
+        consumeBatch(records, eventResolver::resolve, ack);
+    }
+
+    private <T> void consumeBatch(List<ConsumerRecord<String, T>> records,
+                                  Function<T, Optional<NotificationCreateRequest>> resolver,
+                                  Acknowledgment ack) {
+        PendingBatch<T> batch = new PendingBatch<>(records.size());
+
+        for (int i = 0; i < records.size(); i++) {
+            ConsumerRecord<String, T> record = records.get(i);
+            try {
+                Optional<NotificationCreateRequest> request = resolver.apply(record.value());
+                if (request.isPresent()) {
+                    request.get().assignId(assignedIds.get(recordKey(record), key -> idGenerator.nextId()));
+                    batch.add(i, record, request.get());
+                }
+            } catch (Exception e) {
+                log.error("배치 이벤트 처리 실패 - topic={}, partition={}, offset={}", record.topic(), record.partition(), record.offset(), e);
+                persist(batch);
+                throw new BatchListenerFailedException("배치 이벤트 처리 실패", e, i);
+            }
+        }
+
+        persist(batch);
+        ack.acknowledge();
+    }
+
+    private <T> void prefetchMemberIds(List<ConsumerRecord<String, T>> records, Function<T, Long> orderIdExtractor) {
+        eventResolver.prefetchMemberIds(records.stream()
+                .map(ConsumerRecord::value)
+                .filter(Objects::nonNull)
+                .map(orderIdExtractor)
+                .filter(Objects::nonNull)
+                .toList());
+    }
+
+    private <T> void persist(PendingBatch<T> batch) {
+        if (batch.requests.isEmpty()) {
+            return;
+        }
+
+        List<Integer> failedIndexes;
+        try {
+            failedIndexes = notificationService.createNotifications(batch.requests);
+        } catch (DataAccessException e) {
+            // 저장 결과를 알 수 없으므로 첫 번째 대기 레코드부터 같은 ID 로 다시 처리한다
+            throw new BatchListenerFailedException("알림 일괄 저장 실패", e, batch.recordIndexes.get(0));
+        }
+
+        assignedIds.invalidateAll(batch.records.stream().map(NotificationBatchKafkaConsumer::recordKey).toList());
+
+        Set<Integer> failed = new HashSet<>(failedIndexes);
+        for (int i = 0; i < batch.requests.size(); i++) {
+            ConsumerRecord<String, T> record = batch.records.get(i);
+            if (failed.contains(i)) {
+                log.error("알림 저장 실패, DLQ 전송 - topic={}, partition={}, offset={}", record.topic(), record.partition(), record.offset());
+                deadLetterPublishingRecoverer.accept(record, new NotificationException(NotificationExceptionType.NOTIFICATION_SAVE_FAILED));
+                continue;
+            }
+            NotificationCreateRequest request = batch.requests.get(i);
+            sseRouter.send(request.getMemberId(), request.getId(), request.getMessage());
+        }
+
+        log.info("배치 알림 처리 완료 - topic={}, saved={}, failed={}",
+                batch.records.get(0).topic(), batch.requests.size() - failed.size(), failed.size());
+    }
+
+    private static String recordKey(ConsumerRecord<String, ?> record) {
+        return record.topic() + "-" + record.partition() + "@" + record.offset();
+    }
+
+    private static class PendingBatch<T> {
+        private final List<Integer> recordIndexes;
+        private final List<ConsumerRecord<String, T>> records;
+        private final List<NotificationCreateRequest> requests;
+
+        private PendingBatch(int capacity) {
+            this.recordIndexes = new ArrayList<>(capacity);
+            this.records = new ArrayList<>(capacity);
+            this.requests = new ArrayList<>(capacity);
+        }
+
+        private void add(int recordIndex, ConsumerRecord<String, T> record, NotificationCreateRequest request) {
+            recordIndexes.add(recordIndex);
+            records.add(record);
+            requests.add(request);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package org.fortishop.notificationservice.kafka;
+
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.notificationservice.dto.event.DeliveryCompletedEvent;
+import org.fortishop.notificationservice.dto.event.DeliveryStartedEvent;
+import org.fortishop.notificationservice.dto.event.PaymentCompletedEvent;
+import org.fortishop.notificationservice.dto.event.PaymentFailedEvent;
+import org.fortishop.notificationservice.dto.event.PointChangedEvent;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class NotificationDlqConsumer {
+
+    @KafkaListener(topics = "payment.completed.dlq", groupId = "notification-dlq-group")
+    public void handleDlq(PaymentCompletedEvent event) {
+        log.error("[DLQ 메시지 확인] payment.completed 처리 실패 : {}", event);
+        // slack 또는 이메일로 개발자, 관리자에게 알림
+    }
+
+    @KafkaListener(topics = "payment.failed.dlq", groupId = "notification-dlq-group")
+    public void handleDlq(PaymentFailedEvent event) {
+        log.error("[DLQ 메시지 확인] payment.failed 처리 실패 : {}", event);
+        // slack 또는 이메일로 개발자, 관리자에게 알림
+    }
+
+    @KafkaListener(topics = "point.changed.dlq", groupId = "notification-dlq-group")
+    public void handleDlq(PointChangedEvent event) {
+        log.error("[DLQ 메시지 확인] point.changed 처리 실패 : {}", event);
+        // slack 또는 이메일로 개발자, 관리자에게 알림
+    }
+
+    @KafkaListener(topics = "delivery.started.dlq", groupId = "notification-dlq-group")
+    public void handleDlq(DeliveryStartedEvent event) {
+        log.error("[DLQ 메시지 확인] delivery.started 처리 실패 : {}", event);
+        // slack 또는 이메일로 개발자, 관리자에게 알림
+    }
+
+    @KafkaListener(topics = "delivery.completed.dlq", groupId = "notification-dlq-group")
+    public void handleDlq(DeliveryCompletedEvent event) {
+        log.error("[DLQ 메시지 확인] delivery.completed 처리 실패 : {}", event);
+        // slack 또는 이메일로 개발자, 관리자에게 알림
+    }
+}
@@ -0,0 +1,147 @@
+package org.fortishop.notificationservice.kafka;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import lombok.RequiredArgsConstructor;
+import org.fortishop.notificationservice.domain.NotificationType;
+import org.fortishop.notificationservice.dto.event.DeliveryCompletedEvent;
+import org.fortishop.notificationservice.dto.event.DeliveryStartedEvent;
+import org.fortishop.notificationservice.dto.event.PaymentCompletedEvent;
+import org.fortishop.notificationservice.dto.event.PaymentFailedEvent;
+import org.fortishop.notificationservice.dto.event.PointChangedEvent;
+import org.fortishop.notificationservice.dto.request.NotificationCreateRequest;
+import org.fortishop.notificationservice.exception.NotificationException;
+import org.fortishop.notificationservice.exception.NotificationExceptionType;
+import org.fortishop.notificationservice.projection.OrderMemberProjectionStore;
+import org.fortishop.notificationservice.service.NotificationSettingService;
+import org.fortishop.notificationservice.template.NotificationTemplateEngine;
+import org.fortishop.notificationservice.template.TemplateValues;
+import org.fortishop.notificationservice.template.TemplateVariable;
+import org.fortishop.notificationservice.utils.NotificationOrderClient;
+import org.springframework.stereotype.Component;
+
+/**
+ * 이벤트를 수신 대상 회원과 알림 메시지로 변환한다. (단건/배치 리스너 공용)
+ * 수신 대상이 없거나 수신 거부 상태면 빈 값을 반환한다.
+ * 주문의 회원은 로컬 프로젝션(notification.order-projection.enabled)에서 먼저 찾고, 없을 때만 주문 서비스에 묻는다.
+ * <p>
+ * 주문 서비스 조회는 비동기지만 변환은 리스너 스레드에서 결과를 기다린다. 대기는 주문 클라이언트의 read-timeout 과
+ * circuit breaker 로 제한되고, 배치 모드에서는 prefetch 가 배치 전체를 한 번에 기다린 뒤 레코드별 조회는 캐시에서 끝난다.
+ * 조회가 실패하면 알림을 버리지 않고 예외를 던져 리스너의 재시도와 DLQ 로 넘긴다.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationEventResolver {
+
+    private final NotificationSettingService settingService;
+    private final NotificationTemplateEngine templateEngine;
+    private final NotificationOrderClient orderClient;
+    private final Optional<OrderMemberProjectionStore> projectionStore;
+
+    public Optional<NotificationCreateRequest> resolve(PaymentCompletedEvent event) {
+        Long memberId = findMemberId(event.getOrderId());
+        if (memberId == null || !settingService.isEnabled(memberId, NotificationType.ORDER)) {
+            return Optional.empty();
+        }
+
+        TemplateValues values = TemplateValues.create()
+                .with(TemplateVariable.ORDER_ID, event.getOrderId())
+                .with(TemplateVariable.AMOUNT, event.getPaidAmount())
+                .with(TemplateVariable.TIMESTAMP, event.getTimestamp());
+        String defaultMsg = "주문번호 " + event.getOrderId() + "에 대한 결제가 완료되었습니다. 금액: " + event.getPaidAmount() + "원";
+        return Optional.of(templated(memberId, NotificationType.ORDER, values, defaultMsg, event.getTraceId()));
+    }
+
+    public Optional<NotificationCreateRequest> resolve(PaymentFailedEvent event) {
+        Long memberId = findMemberId(event.getOrderId());
+        if (memberId == null || !settingService.isEnabled(memberId, NotificationType.ORDER)) {
+            return Optional.empty();
+        }
+
+        String message = "결제가 실패하였습니다: " + event.getReason();
+        return Optional.of(new NotificationCreateRequest(memberId, NotificationType.ORDER, message, event.getTraceId()));
+    }
+
+    public Optional<NotificationCreateRequest> resolve(PointChangedEvent event) {
+        if (!settingService.isEnabled(event.getMemberId(), NotificationType.POINT)) {
+            return Optional.empty();
+        }
+
+        String defaultMsg;
+        switch (event.getChangeType()) {
+            case "SAVE" -> defaultMsg = "포인트가 " + event.getAmount() + "원 적립되었습니다.";
+            case "USE" -> defaultMsg = "포인트가 " + event.getAmount() + "원 사용되었습니다.";
+            case "CANCEL" -> defaultMsg = "포인트가 " + event.getAmount() + "원 적립 취소되었습니다.";
+            default -> defaultMsg = "포인트 변경 알림 - " + event.getAmount() + "원";
+        }
+
+        // 포인트 템플릿은 변경 유형을 구분하지 못하고 orderId 가 없는 이벤트도 있으므로 유형별 문구를 그대로 쓴다
+        return Optional.of(new NotificationCreateRequest(event.getMemberId(), NotificationType.POINT, defaultMsg, event.getTraceId()));
+    }
+
+    public Optional<NotificationCreateRequest> resolve(DeliveryStartedEvent event) {
+        Long memberId = findMemberId(event.getOrderId());
+        if (memberId == null || !settingService.isEnabled(memberId, NotificationType.DELIVERY)) {
+            return Optional.empty();
+        }
+
+        TemplateValues values = TemplateValues.create()
+                .with(TemplateVariable.ORDER_ID, event.getOrderId())
+                .with(TemplateVariable.TRACKING_NUMBER, event.getTrackingNumber())
+                .with(TemplateVariable.TIMESTAMP, event.getStartedAt());
+        String defaultMsg = "배송이 시작되었습니다. 운송장: " + event.getTrackingNumber();
+        return Optional.of(templated(memberId, NotificationType.DELIVERY, values, defaultMsg, event.getTraceId()));
+    }
+
+    public Optional<NotificationCreateRequest> resolve(DeliveryCompletedEvent event) {
+        Long memberId = findMemberId(event.getOrderId());
+        if (memberId == null || !settingService.isEnabled(memberId, NotificationType.DELIVERY)) {
+            return Optional.empty();
+        }
+
+        TemplateValues values = TemplateValues.create().with(TemplateVariable.ORDER_ID, event.getOrderId());
+        String defaultMsg = "배송이 완료되었습니다. 감사합니다.";
+        return Optional.of(templated(memberId, NotificationType.DELIVERY, values, defaultMsg, event.getTraceId()));
+    }
+
+    // 템플릿이 있으면 렌더링 결과와 함께 템플릿 ID/버전, 사용한 변수를 넘긴다
+    private NotificationCreateRequest templated(Long memberId, NotificationType type, TemplateValues values,
+                                                String defaultMsg, String traceId) {
+        return templateEngine.find(type)
+                .map(template -> new NotificationCreateRequest(memberId, type, template.render(values),
+                        template.getTemplateId(), template.getVersion(), template.variablesOf(values), traceId))
+                .orElseGet(() -> new NotificationCreateRequest(memberId, type, defaultMsg, traceId));
+    }
+
+    /**
+     * 프로젝션에 없는 주문들의 회원 ID 를 주문 서비스에서 동시에 조회해 캐시를 채운다. 실패한 조회는 변환 단계에서 다시 시도된다.
+     */
+    public void prefetchMemberIds(Collection<Long> orderIds) {
+        CompletableFuture<?>[] lookups = orderIds.stream()
+                .distinct()
+                .filter(orderId -> findProjectedMemberId(orderId) == null)
+                .map(orderId -> orderClient.getMemberIdByOrderIdAsync(orderId).exceptionally(e -> null))
+                .toArray(CompletableFuture[]::new);
+
+        // 리스너 스레드에서 기다린다. 각 조회는 read-timeout 으로 끝나고, circuit breaker 가 열려 있으면 즉시 실패한다
+        CompletableFuture.allOf(lookups).join();
+    }
+
+    private Long findMemberId(Long orderId) {
+        Long memberId = findProjectedMemberId(orderId);
+        if (memberId != null) {
+            return memberId;
+        }
+        try {
+            return orderClient.getMemberIdByOrderIdAsync(orderId).join();
+        } catch (CompletionException e) {
+            throw new NotificationException(NotificationExceptionType.ORDER_LOOKUP_FAILED);
+        }
+    }
+
+    private Long findProjectedMemberId(Long orderId) {
+        return projectionStore.map(store -> store.findMemberId(orderId)).orElse(null);
+    }
+}
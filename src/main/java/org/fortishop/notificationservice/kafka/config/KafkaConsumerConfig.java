@@ -10,9 +10,11 @@ import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.fortishop.notificationservice.dto.event.DeliveryCompletedEvent;
 import org.fortishop.notificationservice.dto.event.DeliveryStartedEvent;
+import org.fortishop.notificationservice.dto.event.OrderCreatedEvent;
 import org.fortishop.notificationservice.dto.event.PaymentCompletedEvent;
 import org.fortishop.notificationservice.dto.event.PaymentFailedEvent;
 import org.fortishop.notificationservice.dto.event.PointChangedEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
@@ -51,51 +53,76 @@ public class KafkaConsumerConfig {
         return new DefaultKafkaProducerFactory<>(props);
     }
 
+    /**
+     * 처리 실패 레코드를 "{원본 토픽}.dlq" 의 같은 파티션으로 보낸다. (단건/배치 리스너 공용)
+     */
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, PaymentCompletedEvent> paymentCompletedListenerContainerFactory(KafkaTemplate<String, Object> kafkaTemplate) {
-        return createListenerContainerFactory(PaymentCompletedEvent.class, "payment.completed.dlq", kafkaTemplate);
+    public DeadLetterPublishingRecoverer deadLetterPublishingRecoverer(KafkaTemplate<String, Object> kafkaTemplate) {
+        return new DeadLetterPublishingRecoverer(
+                kafkaTemplate,
+                (record, ex) -> new TopicPartition(record.topic() + ".dlq", record.partition())
+        );
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, PaymentCompletedEvent> paymentCompletedListenerContainerFactory(DeadLetterPublishingRecoverer recoverer) {
+        return createListenerContainerFactory(PaymentCompletedEvent.class, recoverer);
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, PaymentFailedEvent> paymentFailedListenerContainerFactory(DeadLetterPublishingRecoverer recoverer) {
+        return createListenerContainerFactory(PaymentFailedEvent.class, recoverer);
     }
 
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, PaymentFailedEvent> paymentFailedListenerContainerFactory(KafkaTemplate<String, Object> kafkaTemplate) {
-        return createListenerContainerFactory(PaymentFailedEvent.class, "payment.failed.dlq", kafkaTemplate);
+    public ConcurrentKafkaListenerContainerFactory<String, PointChangedEvent> pointChangedListenerContainerFactory(DeadLetterPublishingRecoverer recoverer) {
+        return createListenerContainerFactory(PointChangedEvent.class, recoverer);
     }
 
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, PointChangedEvent> pointChangedListenerContainerFactory(KafkaTemplate<String, Object> kafkaTemplate) {
-        return createListenerContainerFactory(PointChangedEvent.class, "point.changed.dlq", kafkaTemplate);
+    public ConcurrentKafkaListenerContainerFactory<String, DeliveryStartedEvent> deliveryStartedListenerContainerFactory(DeadLetterPublishingRecoverer recoverer) {
+        return createListenerContainerFactory(DeliveryStartedEvent.class, recoverer);
     }
 
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, DeliveryStartedEvent> deliveryStartedListenerContainerFactory(KafkaTemplate<String, Object> kafkaTemplate) {
-        return createListenerContainerFactory(DeliveryStartedEvent.class, "delivery.started.dlq", kafkaTemplate);
+    public ConcurrentKafkaListenerContainerFactory<String, DeliveryCompletedEvent> deliveryCompletedListenerContainerFactory(DeadLetterPublishingRecoverer recoverer) {
+        return createListenerContainerFactory(DeliveryCompletedEvent.class, recoverer);
     }
 
+    /**
+     * 주문 -> 회원 프로젝션용, 알림 리스너의 batch-enabled 설정과 관계없이 항상 배치로 읽는다.
+     */
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, DeliveryCompletedEvent> deliveryCompletedListenerContainerFactory(KafkaTemplate<String, Object> kafkaTemplate) {
-        return createListenerContainerFactory(DeliveryCompletedEvent.class, "delivery.completed.dlq", kafkaTemplate);
+    @ConditionalOnProperty(prefix = "notification.order-projection", name = "enabled", havingValue = "true")
+    public ConcurrentKafkaListenerContainerFactory<String, OrderCreatedEvent> orderCreatedListenerContainerFactory(DeadLetterPublishingRecoverer recoverer) {
+        return createListenerContainerFactory(OrderCreatedEvent.class, recoverer, true);
+    }
+
+    private <T> ConcurrentKafkaListenerContainerFactory<String, T> createListenerContainerFactory(Class<T> valueType, DeadLetterPublishingRecoverer recoverer) {
+        return createListenerContainerFactory(valueType, recoverer, kafkaProperties.getConsumer().isBatchEnabled());
     }
 
-    private <T> ConcurrentKafkaListenerContainerFactory<String, T> createListenerContainerFactory(Class<T> valueType, String dlqTopic, KafkaTemplate<String, Object> kafkaTemplate) {
+    private <T> ConcurrentKafkaListenerContainerFactory<String, T> createListenerContainerFactory(Class<T> valueType, DeadLetterPublishingRecoverer recoverer, boolean batch) {
         var factory = new ConcurrentKafkaListenerContainerFactory<String, T>();
-        factory.setConsumerFactory(createConsumerFactory(valueType));
+        factory.setConsumerFactory(createConsumerFactory(valueType, batch));
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
 
-        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(
-                kafkaTemplate,
-                (record, ex) -> new TopicPartition(dlqTopic, record.partition())
-        );
+        // 배치 모드에서는 BatchListenerFailedException 의 인덱스 기준으로 실패 레코드만 재시도/DLQ 처리된다
+        factory.setBatchListener(batch);
         factory.setCommonErrorHandler(new DefaultErrorHandler(recoverer, new FixedBackOff(1000L, 3)));
 
         return factory;
     }
 
-    private <T> ConsumerFactory<String, T> createConsumerFactory(Class<T> valueType) {
+    private <T> ConsumerFactory<String, T> createConsumerFactory(Class<T> valueType, boolean batch) {
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaProperties.getBootstrapServers());
         props.put(ConsumerConfig.GROUP_ID_CONFIG, kafkaProperties.getConsumer().getGroupId());
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, kafkaProperties.getConsumer().getAutoOffsetReset());
         props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        if (batch) {
+            props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, kafkaProperties.getConsumer().getMaxPollRecords());
+        }
 
         JsonDeserializer<T> deserializer = new JsonDeserializer<>(valueType);
         deserializer.addTrustedPackages("*");
@@ -18,5 +18,7 @@ public class KafkaProperties {
     public static class Consumer {
         private String groupId;
         private String autoOffsetReset;
+        private boolean batchEnabled = false;
+        private int maxPollRecords = 500;
     }
 }
@@ -0,0 +1,87 @@
+package org.fortishop.notificationservice.projection;
+
+/**
+ * long -> long 오픈 어드레싱(선형 탐사) 해시맵. 박싱 없이 항목당 16바이트(부하율 0.75 기준 약 21바이트)를 쓴다.
+ * 키와 값을 한 배열에 번갈아 저장하므로 조회 중 배열이 교체되어도 인덱스가 어긋나지 않는다.
+ * 키 0 은 빈 슬롯 표시로 쓰므로 저장할 수 없다. 동기화는 호출 측이 맡는다.
+ */
+class LongLongHashMap {
+
+    private static final long EMPTY = 0L;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private long[] table;
+    private int size;
+    private int resizeAt;
+
+    LongLongHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        this.table = new long[capacity * 2];
+        this.resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    long get(long key, long missingValue) {
+        long[] tab = table;
+        int mask = (tab.length >> 1) - 1;
+        for (int slot = mix(key) & mask; ; slot = (slot + 1) & mask) {
+            long current = tab[slot << 1];
+            if (current == key) {
+                return tab[(slot << 1) + 1];
+            }
+            if (current == EMPTY) {
+                return missingValue;
+            }
+        }
+    }
+
+    void put(long key, long value) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("키 0 은 저장할 수 없습니다.");
+        }
+        if (insert(table, key, value)) {
+            if (++size >= resizeAt) {
+                resize();
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return 새 키를 추가했으면 true, 기존 키의 값을 바꿨으면 false
+     */
+    private static boolean insert(long[] tab, long key, long value) {
+        int mask = (tab.length >> 1) - 1;
+        for (int slot = mix(key) & mask; ; slot = (slot + 1) & mask) {
+            long current = tab[slot << 1];
+            if (current == key) {
+                tab[(slot << 1) + 1] = value;
+                return false;
+            }
+            if (current == EMPTY) {
+                tab[(slot << 1) + 1] = value;
+                tab[slot << 1] = key;
+                return true;
+            }
+        }
+    }
+
+    private void resize() {
+        long[] old = table;
+        long[] resized = new long[old.length * 2];
+        for (int i = 0; i < old.length; i += 2) {
+            if (old[i] != EMPTY) {
+                insert(resized, old[i], old[i + 1]);
+            }
+        }
+        table = resized;
+        resizeAt = (int) ((resized.length >> 1) * LOAD_FACTOR);
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
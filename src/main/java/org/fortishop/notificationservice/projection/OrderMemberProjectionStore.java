@@ -0,0 +1,140 @@
+package org.fortishop.notificationservice.projection;
+
+import jakarta.annotation.PostConstruct;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.StampedLock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.notificationservice.domain.OrderMemberProjection;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * 주문 -> 회원 로컬 프로젝션.
+ * <ul>
+ *     <li>Mongo order_member_projection: orderId 를 _id 로 저장하고, orderedAt TTL 인덱스로 retention 이 지나면 삭제한다.</li>
+ *     <li>메모리: 최근 주문을 {@link LongLongHashMap} 두 세대(current/previous)에 둔다. memoryRetention 마다
+ *     previous 를 버리고 current 를 previous 로 내리므로 메모리 사용량은 최근 2 주기의 주문 수로 제한된다.</li>
+ * </ul>
+ * 조회는 메모리 -> Mongo 순서로 하고, Mongo 에서 찾은 항목은 메모리에 올린다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "notification.order-projection", name = "enabled", havingValue = "true")
+public class OrderMemberProjectionStore {
+
+    private static final long MISSING = 0L;
+    private static final int INITIAL_CAPACITY = 1 << 16;
+
+    private final MongoOperations mongoOperations;
+    private final OrderProjectionProperties properties;
+    private final StampedLock lock = new StampedLock();
+
+    private LongLongHashMap current = new LongLongHashMap(INITIAL_CAPACITY);
+    private LongLongHashMap previous = new LongLongHashMap(16);
+    private long rotatedAt = System.currentTimeMillis();
+
+    @PostConstruct
+    public void ensureIndexes() {
+        mongoOperations.indexOps(OrderMemberProjection.class).ensureIndex(new Index()
+                .on("orderedAt", Sort.Direction.ASC)
+                .expire(properties.getRetention().toSeconds(), TimeUnit.SECONDS)
+                .named("orderedAt_ttl"));
+    }
+
+    /**
+     * @return 회원 ID, 프로젝션에 없으면 null
+     */
+    public Long findMemberId(long orderId) {
+        long memberId = findInMemory(orderId);
+        if (memberId != MISSING) {
+            return memberId;
+        }
+
+        OrderMemberProjection projection = mongoOperations.findById(orderId, OrderMemberProjection.class);
+        if (projection == null || projection.getMemberId() == null) {
+            return null;
+        }
+        putInMemory(orderId, projection.getMemberId());
+        return projection.getMemberId();
+    }
+
+    /**
+     * 주문 이벤트를 반영한다. 이미 있는 주문은 덮어쓰므로 토픽을 다시 읽어도 결과가 같다.
+     */
+    public void projectAll(List<OrderMemberProjection> projections) {
+        if (projections.isEmpty()) {
+            return;
+        }
+
+        BulkOperations bulk = mongoOperations.bulkOps(BulkOperations.BulkMode.UNORDERED, OrderMemberProjection.class);
+        for (OrderMemberProjection projection : projections) {
+            bulk.upsert(new Query(Criteria.where("_id").is(projection.getOrderId())),
+                    new Update().set("memberId", projection.getMemberId()).set("orderedAt", projection.getOrderedAt()));
+        }
+        bulk.execute();
+
+        long stamp = lock.writeLock();
+        try {
+            rotateIfExpired();
+            projections.forEach(projection -> current.put(projection.getOrderId(), projection.getMemberId()));
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public boolean isExpired(Date orderedAt) {
+        return orderedAt.getTime() < System.currentTimeMillis() - properties.getRetention().toMillis();
+    }
+
+    private long findInMemory(long orderId) {
+        long stamp = lock.tryOptimisticRead();
+        long memberId = lookup(orderId);
+        if (lock.validate(stamp)) {
+            return memberId;
+        }
+
+        stamp = lock.readLock();
+        try {
+            return lookup(orderId);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private long lookup(long orderId) {
+        long memberId = current.get(orderId, MISSING);
+        return memberId != MISSING ? memberId : previous.get(orderId, MISSING);
+    }
+
+    private void putInMemory(long orderId, long memberId) {
+        long stamp = lock.writeLock();
+        try {
+            rotateIfExpired();
+            current.put(orderId, memberId);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private void rotateIfExpired() {
+        long now = System.currentTimeMillis();
+        if (now - rotatedAt < properties.getMemoryRetention().toMillis()) {
+            return;
+        }
+        log.info("주문 프로젝션 메모리 세대 교체 - current={}, dropped={}", current.size(), previous.size());
+        previous = current;
+        current = new LongLongHashMap(Math.max(INITIAL_CAPACITY, previous.size()));
+        rotatedAt = now;
+    }
+}
@@ -0,0 +1,79 @@
+package org.fortishop.notificationservice.projection;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.fortishop.notificationservice.domain.OrderMemberProjection;
+import org.fortishop.notificationservice.dto.event.OrderCreatedEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+/**
+ * 주문 생성 토픽을 읽어 주문 -> 회원 프로젝션을 갱신한다. (notification.order-projection.enabled=true)
+ * 알림 처리와 별도의 컨슈머 그룹을 쓰며, rebuild-on-startup 이면 할당받은 파티션을 처음부터 다시 읽는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "notification.order-projection", name = "enabled", havingValue = "true")
+public class OrderProjectionKafkaConsumer implements ConsumerSeekAware {
+
+    private final OrderMemberProjectionStore projectionStore;
+    private final OrderProjectionProperties properties;
+    private final AtomicBoolean rebuilt = new AtomicBoolean();
+
+    @KafkaListener(
+            topics = "${notification.order-projection.topic:order.created}",
+            groupId = "${notification.order-projection.group-id:notification-order-projection}",
+            containerFactory = "orderCreatedListenerContainerFactory"
+    )
+    public void consumeOrderCreated(List<ConsumerRecord<String, OrderCreatedEvent>> records, Acknowledgment ack) {
+        List<OrderMemberProjection> projections = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, OrderCreatedEvent> record : records) {
+            OrderCreatedEvent event = record.value();
+            if (event == null || event.getOrderId() == null || event.getMemberId() == null) {
+                log.warn("주문 생성 이벤트 누락 필드 - partition={}, offset={}", record.partition(), record.offset());
+                continue;
+            }
+
+            Date orderedAt = orderedAt(event, record.timestamp());
+            if (projectionStore.isExpired(orderedAt)) {
+                continue;
+            }
+            projections.add(new OrderMemberProjection(event.getOrderId(), event.getMemberId(), orderedAt));
+        }
+
+        projectionStore.projectAll(projections);
+        ack.acknowledge();
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        if (properties.isRebuildOnStartup() && rebuilt.compareAndSet(false, true)) {
+            log.info("주문 프로젝션 재구성 - 파티션 처음부터 다시 읽음: {}", assignments.keySet());
+            callback.seekToBeginning(assignments.keySet());
+        }
+    }
+
+    private Date orderedAt(OrderCreatedEvent event, long recordTimestamp) {
+        if (event.getCreatedAt() != null) {
+            try {
+                return Date.from(Instant.parse(event.getCreatedAt()));
+            } catch (DateTimeParseException e) {
+                // 형식이 다르면 레코드 타임스탬프를 쓴다
+            }
+        }
+        return new Date(recordTimestamp);
+    }
+}
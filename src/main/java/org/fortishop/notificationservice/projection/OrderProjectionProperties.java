@@ -0,0 +1,24 @@
+package org.fortishop.notificationservice.projection;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "notification.order-projection")
+@Getter
+@Setter
+public class OrderProjectionProperties {
+
+    private boolean enabled = false;
+    private String topic = "order.created";
+    private String groupId = "notification-order-projection";
+    // Mongo 보관 기간, 이보다 오래된 주문 이벤트는 반영하지 않는다
+    private Duration retention = Duration.ofDays(90);
+    // 메모리 맵 세대 교체 주기, 메모리에는 최근 1~2 주기의 주문만 남는다
+    private Duration memoryRetention = Duration.ofDays(7);
+    // 시작 시 토픽을 처음부터 다시 읽어 프로젝션을 재구성한다
+    private boolean rebuildOnStartup = false;
+}
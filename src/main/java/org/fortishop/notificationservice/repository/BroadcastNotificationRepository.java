@@ -0,0 +1,15 @@
+package org.fortishop.notificationservice.repository;
+
+import java.util.List;
+import java.util.Optional;
+import org.fortishop.notificationservice.domain.BroadcastNotification;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BroadcastNotificationRepository extends MongoRepository<BroadcastNotification, Long> {
+
+    List<BroadcastNotification> findTop20ByOrderByIdDesc();
+
+    Optional<BroadcastNotification> findTopByOrderByIdDesc();
+}
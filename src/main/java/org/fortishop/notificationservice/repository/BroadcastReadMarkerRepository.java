@@ -0,0 +1,10 @@
+package org.fortishop.notificationservice.repository;
+
+import org.fortishop.notificationservice.domain.BroadcastReadMarker;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BroadcastReadMarkerRepository extends MongoRepository<BroadcastReadMarker, Long>,
+        BroadcastReadMarkerRepositoryCustom {
+}
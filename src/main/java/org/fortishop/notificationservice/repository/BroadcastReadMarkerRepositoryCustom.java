@@ -0,0 +1,7 @@
+package org.fortishop.notificationservice.repository;
+
+public interface BroadcastReadMarkerRepositoryCustom {
+
+    // 읽음 기준을 broadcastId 까지 올린다 (upsert, $max 라 이미 더 큰 값이면 그대로 둔다)
+    void advance(Long memberId, Long broadcastId);
+}
@@ -0,0 +1,23 @@
+package org.fortishop.notificationservice.repository;
+
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import org.fortishop.notificationservice.domain.BroadcastReadMarker;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+@RequiredArgsConstructor
+public class BroadcastReadMarkerRepositoryCustomImpl implements BroadcastReadMarkerRepositoryCustom {
+
+    private final MongoOperations mongoOperations;
+
+    @Override
+    public void advance(Long memberId, Long broadcastId) {
+        mongoOperations.upsert(
+                Query.query(Criteria.where("_id").is(memberId)),
+                new Update().max("lastReadId", broadcastId).set("updatedAt", LocalDateTime.now()),
+                BroadcastReadMarker.class);
+    }
+}
@@ -4,21 +4,28 @@ import java.util.List;
 import org.fortishop.notificationservice.domain.Notification;
 import org.fortishop.notificationservice.domain.NotificationStatus;
 import org.fortishop.notificationservice.domain.NotificationType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface NotificationRepository extends MongoRepository<Notification, Long> {
+public interface NotificationRepository extends MongoRepository<Notification, Long>, NotificationRepositoryCustom {
 
     // 최근 알림 20개 조회
     List<Notification> findTop20ByMemberIdOrderByCreatedAtDesc(Long memberId);
 
+    // 최근 알림 20개 조회 (시간순 ID 사용 시)
+    List<Notification> findTop20ByMemberIdOrderByIdDesc(Long memberId);
+
+    // SSE 재연결 시 놓친 알림 조회 (시간순 ID 사용 시)
+    List<Notification> findByMemberIdAndIdGreaterThanOrderByIdAsc(Long memberId, Long id, Pageable pageable);
+
     // 미읽음 알림 수
     Long countByMemberIdAndStatus(Long memberId, NotificationStatus status);
 
     // 읽음 처리용 (memberId 검증 포함)
     List<Notification> findByMemberIdAndIdIn(Long memberId, List<Long> ids);
 
-    // 관리자 검색 (동적 쿼리는 QueryDSL 또는 @Query로 추후 확장 가능)
+    // 유형/상태 조건 조회 (관리자 동적 검색은 NotificationRepositoryCustom.search)
     List<Notification> findByMemberIdAndTypeAndStatus(Long memberId, NotificationType type, NotificationStatus status);
 }
@@ -0,0 +1,34 @@
+package org.fortishop.notificationservice.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.fortishop.notificationservice.domain.Notification;
+import org.fortishop.notificationservice.domain.NotificationStatus;
+import org.fortishop.notificationservice.domain.NotificationType;
+import org.fortishop.notificationservice.dto.request.NotificationSearchRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+public interface NotificationRepositoryCustom {
+
+    // 순서 없는 일괄 저장 (insertMany ordered=false), 실패한 문서의 인덱스 목록 반환
+    // 같은 _id 가 이미 있는 문서 (재처리로 다시 들어온 문서) 는 저장된 것으로 본다
+    List<Integer> insertUnordered(List<Notification> notifications);
+
+    // 회원의 미읽음 알림 중 ids 만 읽음으로 바꾼다 (updateMany 한 번), 바뀐 문서 수 반환
+    long markAsRead(Long memberId, List<Long> ids);
+
+    // 회원의 미읽음 알림을 모두 읽음으로 바꾼다 (updateMany 한 번), 바뀐 문서 수 반환
+    long markAllAsRead(Long memberId);
+
+    // 피드 한 페이지, (createdAt, id) 가 커서보다 오래된 알림을 최신순으로 limit 개 (type, status, 커서는 null 이면 조건 없음)
+    List<Notification> findFeed(Long memberId, NotificationType type, NotificationStatus status,
+                                LocalDateTime cursorCreatedAt, Long cursorId, int limit);
+
+    // SSE 재연결 시 놓친 알림 조회, (createdAt, id) 가 기준 알림보다 뒤인 알림을 오래된 순으로 limit 개
+    // 일괄 저장은 같은 밀리초에 여러 건이 생기므로 createdAt 만으로 비교하지 않는다
+    List<Notification> findAfter(Long memberId, LocalDateTime createdAt, Long id, int limit);
+
+    // 관리자 검색, 값이 있는 조건만 쿼리에 넣고 최신순으로 한 페이지를 읽는다
+    Slice<Notification> search(NotificationSearchRequest condition, Pageable pageable);
+}
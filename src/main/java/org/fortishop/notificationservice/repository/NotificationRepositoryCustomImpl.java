@@ -0,0 +1,143 @@
+package org.fortishop.notificationservice.repository;
+
+import com.mongodb.bulk.BulkWriteError;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.fortishop.notificationservice.domain.Notification;
+import org.fortishop.notificationservice.domain.NotificationStatus;
+import org.fortishop.notificationservice.domain.NotificationType;
+import org.fortishop.notificationservice.dto.request.NotificationSearchRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+@RequiredArgsConstructor
+public class NotificationRepositoryCustomImpl implements NotificationRepositoryCustom {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    private static final Sort LATEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "_id"));
+    private static final Sort OLDEST_FIRST = Sort.by(Sort.Direction.ASC, "createdAt").and(Sort.by(Sort.Direction.ASC, "_id"));
+
+    private final MongoOperations mongoOperations;
+
+    @Override
+    public List<Integer> insertUnordered(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return List.of();
+        }
+
+        try {
+            mongoOperations.bulkOps(BulkOperations.BulkMode.UNORDERED, Notification.class)
+                    .insert(notifications)
+                    .execute();
+            return List.of();
+        } catch (BulkOperationException e) {
+            // unordered 모드에서는 실패한 문서만 제외하고 나머지는 모두 저장된다
+            return e.getErrors().stream()
+                    .filter(error -> !isDuplicateId(error))
+                    .map(BulkWriteError::getIndex)
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    @Override
+    public long markAsRead(Long memberId, List<Long> ids) {
+        // memberId 조건으로 다른 회원의 알림은 건드리지 않는다
+        Criteria unread = Criteria.where("_id").in(ids)
+                .and("memberId").is(memberId)
+                .and("status").is(NotificationStatus.UNREAD);
+        return markRead(unread);
+    }
+
+    @Override
+    public long markAllAsRead(Long memberId) {
+        return markRead(Criteria.where("memberId").is(memberId).and("status").is(NotificationStatus.UNREAD));
+    }
+
+    @Override
+    public List<Notification> findFeed(Long memberId, NotificationType type, NotificationStatus status,
+                                       LocalDateTime cursorCreatedAt, Long cursorId, int limit) {
+        Criteria criteria = Criteria.where("memberId").is(memberId);
+        if (type != null) {
+            criteria.and("type").is(type);
+        }
+        if (status != null) {
+            criteria.and("status").is(status);
+        }
+        if (cursorCreatedAt != null) {
+            // createdAt 상한은 인덱스 범위로, 같은 시각 안의 _id 비교는 범위 안 필터로 처리된다
+            criteria.and("createdAt").lte(cursorCreatedAt)
+                    .orOperator(Criteria.where("createdAt").lt(cursorCreatedAt), Criteria.where("_id").lt(cursorId));
+        }
+
+        Query query = new Query(criteria)
+                .with(LATEST_FIRST)
+                .limit(limit);
+        return mongoOperations.find(query, Notification.class);
+    }
+
+    @Override
+    public List<Notification> findAfter(Long memberId, LocalDateTime createdAt, Long id, int limit) {
+        // findFeed 커서와 같은 방식, 방향만 반대다
+        Criteria criteria = Criteria.where("memberId").is(memberId)
+                .and("createdAt").gte(createdAt)
+                .orOperator(Criteria.where("createdAt").gt(createdAt), Criteria.where("_id").gt(id));
+        Query query = new Query(criteria)
+                .with(OLDEST_FIRST)
+                .limit(limit);
+        return mongoOperations.find(query, Notification.class);
+    }
+
+    @Override
+    public Slice<Notification> search(NotificationSearchRequest condition, Pageable pageable) {
+        Query query = new Query();
+        if (condition.getMemberId() != null) {
+            query.addCriteria(Criteria.where("memberId").is(condition.getMemberId()));
+        }
+        if (condition.getType() != null) {
+            query.addCriteria(Criteria.where("type").is(condition.getType()));
+        }
+        if (condition.getStatus() != null) {
+            query.addCriteria(Criteria.where("status").is(condition.getStatus()));
+        }
+        if (condition.getFrom() != null || condition.getTo() != null) {
+            Criteria createdAt = Criteria.where("createdAt");
+            if (condition.getFrom() != null) {
+                createdAt.gte(condition.getFrom());
+            }
+            if (condition.getTo() != null) {
+                createdAt.lt(condition.getTo());
+            }
+            query.addCriteria(createdAt);
+        }
+
+        // 한 개 더 읽어 다음 페이지 여부를 판단한다
+        query.with(LATEST_FIRST)
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize() + 1);
+        List<Notification> found = mongoOperations.find(query, Notification.class);
+        boolean hasNext = found.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? found.subList(0, pageable.getPageSize()) : found, pageable, hasNext);
+    }
+
+    private long markRead(Criteria unread) {
+        return mongoOperations.updateMulti(new Query(unread),
+                        new Update().set("status", NotificationStatus.READ), Notification.class)
+                .getModifiedCount();
+    }
+
+    // _id 중복은 앞선 시도에서 이미 저장된 문서다, 다른 유니크 인덱스 중복은 실패로 남긴다
+    private static boolean isDuplicateId(BulkWriteError error) {
+        return error.getCode() == DUPLICATE_KEY && error.getMessage() != null && error.getMessage().contains("_id_");
+    }
+}
@@ -0,0 +1,9 @@
+package org.fortishop.notificationservice.repository;
+
+import org.fortishop.notificationservice.domain.UnreadCounter;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UnreadCounterRepository extends MongoRepository<UnreadCounter, Long>, UnreadCounterRepositoryCustom {
+}
@@ -0,0 +1,25 @@
+package org.fortishop.notificationservice.repository;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.fortishop.notificationservice.domain.UnreadCounter;
+
+public interface UnreadCounterRepositoryCustom {
+
+    // 카운터가 있으면 미읽음 수를 delta 만큼 더한다 ($inc), 카운터가 없으면 false
+    boolean increment(Long memberId, long delta);
+
+    // 카운터가 있는 회원의 delta 를 한 번에 더하고 (unordered bulk), 카운터가 없는 회원을 반환한다
+    Set<Long> incrementAll(Map<Long, Long> deltas);
+
+    // 카운터가 없을 때만 unread 로 만든다 ($setOnInsert)
+    void initialize(Long memberId, long unread);
+
+    // version 이 그대로일 때만 unread 를 바꾼다, 바꿨으면 true
+    boolean correct(Long memberId, long expectedVersion, long unread);
+
+    // since 이후 갱신된 카운터 (updatedAt 인덱스)
+    Stream<UnreadCounter> streamUpdatedSince(Date since);
+}
@@ -0,0 +1,78 @@
+package org.fortishop.notificationservice.repository;
+
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.fortishop.notificationservice.domain.UnreadCounter;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+@RequiredArgsConstructor
+public class UnreadCounterRepositoryCustomImpl implements UnreadCounterRepositoryCustom {
+
+    private final MongoOperations mongoOperations;
+
+    @Override
+    public boolean increment(Long memberId, long delta) {
+        return mongoOperations.updateFirst(byMember(memberId), incrementBy(delta), UnreadCounter.class)
+                .getMatchedCount() > 0;
+    }
+
+    @Override
+    public Set<Long> incrementAll(Map<Long, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return Set.of();
+        }
+        Set<Long> missing = new HashSet<>(deltas.keySet());
+        List<Long> existing = mongoOperations.findDistinct(new Query(Criteria.where("_id").in(deltas.keySet())),
+                "_id", UnreadCounter.class, Long.class);
+        existing.forEach(missing::remove);
+        if (missing.size() == deltas.size()) {
+            return missing;
+        }
+
+        BulkOperations bulk = mongoOperations.bulkOps(BulkOperations.BulkMode.UNORDERED, UnreadCounter.class);
+        deltas.forEach((memberId, delta) -> {
+            if (!missing.contains(memberId)) {
+                bulk.updateOne(byMember(memberId), incrementBy(delta));
+            }
+        });
+        bulk.execute();
+        return missing;
+    }
+
+    @Override
+    public void initialize(Long memberId, long unread) {
+        mongoOperations.upsert(byMember(memberId), new Update()
+                .setOnInsert("unread", unread)
+                .setOnInsert("version", 0L)
+                .setOnInsert("updatedAt", new Date()), UnreadCounter.class);
+    }
+
+    @Override
+    public boolean correct(Long memberId, long expectedVersion, long unread) {
+        Query query = new Query(Criteria.where("_id").is(memberId).and("version").is(expectedVersion));
+        return mongoOperations.updateFirst(query, new Update().set("unread", unread).inc("version", 1), UnreadCounter.class)
+                .getModifiedCount() > 0;
+    }
+
+    @Override
+    public Stream<UnreadCounter> streamUpdatedSince(Date since) {
+        return mongoOperations.stream(new Query(Criteria.where("updatedAt").gte(since)), UnreadCounter.class);
+    }
+
+    private static Query byMember(Long memberId) {
+        return new Query(Criteria.where("_id").is(memberId));
+    }
+
+    private static Update incrementBy(long delta) {
+        return new Update().inc("unread", delta).inc("version", 1).set("updatedAt", new Date());
+    }
+}
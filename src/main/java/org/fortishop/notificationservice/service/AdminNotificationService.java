@@ -1,11 +1,12 @@
 package org.fortishop.notificationservice.service;
 
-import java.util.List;
+import org.fortishop.notificationservice.dto.request.NotificationSearchRequest;
+import org.fortishop.notificationservice.dto.response.NotificationPageResponse;
 import org.fortishop.notificationservice.dto.response.NotificationResponse;
 
 public interface AdminNotificationService {
 
-    List<NotificationResponse> search(Long memberId, String type, String status);
+    NotificationPageResponse search(NotificationSearchRequest request);
 
     NotificationResponse resend(Long id);
 }
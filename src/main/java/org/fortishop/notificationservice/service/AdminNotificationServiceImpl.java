@@ -4,10 +4,15 @@ import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.fortishop.notificationservice.domain.Notification;
+import org.fortishop.notificationservice.dto.request.NotificationSearchRequest;
+import org.fortishop.notificationservice.dto.response.NotificationPageResponse;
 import org.fortishop.notificationservice.dto.response.NotificationResponse;
 import org.fortishop.notificationservice.exception.NotificationException;
 import org.fortishop.notificationservice.exception.NotificationExceptionType;
 import org.fortishop.notificationservice.repository.NotificationRepository;
+import org.fortishop.notificationservice.template.NotificationMessageRenderer;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,21 +20,31 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 @RequiredArgsConstructor
 public class AdminNotificationServiceImpl implements AdminNotificationService {
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final NotificationRepository notificationRepository;
+    private final NotificationMessageRenderer messageRenderer;
 
     /**
-     * 검색 조건에 따른 알림 조회
+     * 검색 조건에 따른 알림 조회 (조건은 모두 Mongo 쿼리로 보내고 한 페이지만 읽는다)
      */
     @Override
     @Transactional(readOnly = true)
-    public List<NotificationResponse> search(Long memberId, String type, String status) {
-        // QueryDSL로 대체 가능. 지금은 간단한 조합만 지원
-        return notificationRepository.findAll().stream()
-                .filter(n -> (memberId == null || n.getMemberId().equals(memberId)) &&
-                        (type == null || n.getType().name().equalsIgnoreCase(type)) &&
-                        (status == null || n.getStatus().name().equalsIgnoreCase(status)))
-                .map(NotificationResponse::of)
+    public NotificationPageResponse search(NotificationSearchRequest request) {
+        if (request.getFrom() != null && request.getTo() != null && !request.getFrom().isBefore(request.getTo())) {
+            throw new NotificationException(NotificationExceptionType.INVALID_REQUEST);
+        }
+        int page = request.getPage() == null || request.getPage() < 0 ? 0 : request.getPage();
+        int size = request.getSize() == null || request.getSize() <= 0
+                ? DEFAULT_PAGE_SIZE
+                : Math.min(request.getSize(), MAX_PAGE_SIZE);
+
+        Slice<Notification> found = notificationRepository.search(request, PageRequest.of(page, size));
+        List<NotificationResponse> items = found.getContent().stream()
+                .map(n -> NotificationResponse.of(n, messageRenderer))
                 .toList();
+        return new NotificationPageResponse(items, page, size, found.hasNext());
     }
 
     /**
@@ -40,8 +55,9 @@ public class AdminNotificationServiceImpl implements AdminNotificationService {
         Notification notification = notificationRepository.findById(id)
                 .orElseThrow(() -> new NotificationException(NotificationExceptionType.NOTIFICATION_NOT_FOUND));
 
-        log.info("[관리자] 알림 재전송: memberId={}, message={}", notification.getMemberId(), notification.getMessage());
+        NotificationResponse response = NotificationResponse.of(notification, messageRenderer);
+        log.info("[관리자] 알림 재전송: memberId={}, message={}", notification.getMemberId(), response.getMessage());
 
-        return NotificationResponse.of(notification);
+        return response;
     }
 }
@@ -0,0 +1,15 @@
+package org.fortishop.notificationservice.service;
+
+import java.util.List;
+import org.fortishop.notificationservice.dto.response.BroadcastResponse;
+
+public interface BroadcastService {
+
+    BroadcastResponse broadcast(String message);
+
+    List<BroadcastResponse> getRecent(Long memberId);
+
+    Long getUnreadCount(Long memberId);
+
+    void markAllAsRead(Long memberId);
+}
@@ -0,0 +1,118 @@
+package org.fortishop.notificationservice.service;
+
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.notificationservice.bus.NotificationBroadcastEvent;
+import org.fortishop.notificationservice.domain.BroadcastNotification;
+import org.fortishop.notificationservice.domain.BroadcastReadMarker;
+import org.fortishop.notificationservice.dto.response.BroadcastResponse;
+import org.fortishop.notificationservice.exception.NotificationException;
+import org.fortishop.notificationservice.exception.NotificationExceptionType;
+import org.fortishop.notificationservice.global.SequenceGenerator;
+import org.fortishop.notificationservice.repository.BroadcastNotificationRepository;
+import org.fortishop.notificationservice.repository.BroadcastReadMarkerRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 전체 공지. 공지 문서 하나와 회원별 읽음 기준({@link BroadcastReadMarker})으로 저장하고,
+ * 실시간 전송은 {@link NotificationBroadcastEvent} 로 모든 인스턴스가 자기 SSE 연결에 나눠 보낸다.
+ * <p>
+ * 읽음 여부를 ID 크기로 판단하므로 공지 ID 는 알림 ID 발급기(노드별 블록)가 아니라 블록 없는 전용 시퀀스에서 받는다.
+ * 발급마다 findAndModify 한 번이지만 관리자 공지라 빈도가 낮다. 시퀀스는 처음 발급할 때 기존 공지의 최대 ID 이상으로 올려
+ * 이전 ID 로 저장된 공지와 읽음 기준이 그대로 맞게 한다.
+ */
+@Slf4j
+@Service
+public class BroadcastServiceImpl implements BroadcastService {
+
+    private static final String SEQUENCE_NAME = "notification_broadcasts_sequence";
+
+    private final BroadcastNotificationRepository broadcastRepository;
+    private final BroadcastReadMarkerRepository markerRepository;
+    private final SequenceGenerator sequenceGenerator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String busId;
+    private volatile boolean sequenceSeeded;
+
+    public BroadcastServiceImpl(BroadcastNotificationRepository broadcastRepository,
+                                BroadcastReadMarkerRepository markerRepository,
+                                SequenceGenerator sequenceGenerator,
+                                ApplicationEventPublisher eventPublisher,
+                                @Value("${spring.cloud.bus.id:${spring.application.name:notification-service}}") String busId) {
+        this.broadcastRepository = broadcastRepository;
+        this.markerRepository = markerRepository;
+        this.sequenceGenerator = sequenceGenerator;
+        this.eventPublisher = eventPublisher;
+        this.busId = busId;
+    }
+
+    /**
+     * 공지 저장 후 모든 인스턴스의 SSE 연결로 전송
+     */
+    @Override
+    @Transactional
+    public BroadcastResponse broadcast(String message) {
+        if (message == null || message.isBlank()) {
+            throw new NotificationException(NotificationExceptionType.INVALID_REQUEST);
+        }
+
+        BroadcastNotification broadcast = broadcastRepository.save(new BroadcastNotification(nextBroadcastId(), message));
+        eventPublisher.publishEvent(new NotificationBroadcastEvent(this, busId, broadcast.getId(), message));
+        log.info("[관리자] 전체 공지 전송: broadcastId={}", broadcast.getId());
+
+        return BroadcastResponse.of(broadcast, 0L);
+    }
+
+    /**
+     * 최근 공지 20개 조회 (읽음 기준 이하는 READ)
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<BroadcastResponse> getRecent(Long memberId) {
+        long lastReadId = lastReadId(memberId);
+        return broadcastRepository.findTop20ByOrderByIdDesc().stream()
+                .map(b -> BroadcastResponse.of(b, lastReadId))
+                .toList();
+    }
+
+    /**
+     * 미읽음 공지 수 (최근 20개 기준, 읽음 기준이 없는 회원이 과거 공지 전체를 세지 않도록)
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Long getUnreadCount(Long memberId) {
+        long lastReadId = lastReadId(memberId);
+        return broadcastRepository.findTop20ByOrderByIdDesc().stream()
+                .filter(b -> b.getId() > lastReadId)
+                .count();
+    }
+
+    /**
+     * 공지 모두 읽음 처리 (가장 최근 공지까지 읽음 기준을 올린다)
+     */
+    @Override
+    @Transactional
+    public void markAllAsRead(Long memberId) {
+        broadcastRepository.findTopByOrderByIdDesc()
+                .ifPresent(latest -> markerRepository.advance(memberId, latest.getId()));
+    }
+
+    private long nextBroadcastId() {
+        if (!sequenceSeeded) {
+            // 여러 인스턴스가 동시에 올려도 $max 라 결과가 같다
+            broadcastRepository.findTopByOrderByIdDesc()
+                    .ifPresent(latest -> sequenceGenerator.advanceTo(SEQUENCE_NAME, latest.getId()));
+            sequenceSeeded = true;
+        }
+        return sequenceGenerator.generateSequence(SEQUENCE_NAME);
+    }
+
+    private long lastReadId(Long memberId) {
+        return markerRepository.findById(memberId)
+                .map(BroadcastReadMarker::getLastReadId)
+                .orElse(0L);
+    }
+}
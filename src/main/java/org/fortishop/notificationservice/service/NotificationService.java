@@ -1,20 +1,33 @@
 package org.fortishop.notificationservice.service;
 
 import java.util.List;
+import org.fortishop.notificationservice.domain.NotificationStatus;
 import org.fortishop.notificationservice.domain.NotificationType;
+import org.fortishop.notificationservice.dto.request.NotificationCreateRequest;
+import org.fortishop.notificationservice.dto.response.NotificationFeedResponse;
 import org.fortishop.notificationservice.dto.response.NotificationResponse;
 
 public interface NotificationService {
 
     void createNotification(Long memberId, NotificationType type, String message, String traceId);
 
+    void createNotification(NotificationCreateRequest request);
+
+    List<Integer> createNotifications(List<NotificationCreateRequest> requests);
+
     List<NotificationResponse> getRecent(Long memberId);
 
+    NotificationFeedResponse getFeed(Long memberId, String cursor, Integer size, NotificationType type, NotificationStatus status);
+
+    List<NotificationResponse> getAfter(Long memberId, Long lastId, int limit);
+
     Long getUnreadCount(Long memberId);
 
     NotificationResponse getById(Long memberId, Long id);
 
-    void markAsRead(Long memberId, List<Long> ids);
+    long markAsRead(Long memberId, List<Long> ids);
+
+    long markAllAsRead(Long memberId);
 
     void delete(Long memberId, Long id);
 }
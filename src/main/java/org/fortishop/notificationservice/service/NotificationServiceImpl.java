@@ -1,17 +1,29 @@
 package org.fortishop.notificationservice.service;
 
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.fortishop.notificationservice.cache.UnreadCounterStore;
 import org.fortishop.notificationservice.domain.Notification;
 import org.fortishop.notificationservice.domain.NotificationStatus;
 import org.fortishop.notificationservice.domain.NotificationType;
+import org.fortishop.notificationservice.dto.request.NotificationCreateRequest;
+import org.fortishop.notificationservice.dto.response.NotificationFeedResponse;
 import org.fortishop.notificationservice.dto.response.NotificationResponse;
 import org.fortishop.notificationservice.exception.NotificationException;
 import org.fortishop.notificationservice.exception.NotificationExceptionType;
-import org.fortishop.notificationservice.global.SequenceGenerator;
+import org.fortishop.notificationservice.global.NotificationIdGenerator;
+import org.fortishop.notificationservice.global.config.FeedProperties;
 import org.fortishop.notificationservice.repository.NotificationRepository;
+import org.fortishop.notificationservice.template.NotificationMessageRenderer;
+import org.fortishop.notificationservice.template.TemplateStorageProperties;
+import org.fortishop.notificationservice.utils.FeedCursor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,15 +32,40 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class NotificationServiceImpl implements NotificationService {
     private final NotificationRepository notificationRepository;
-    private final SequenceGenerator sequenceGenerator;
+    private final NotificationIdGenerator idGenerator;
+    private final TemplateStorageProperties storageProperties;
+    private final NotificationMessageRenderer messageRenderer;
+    private final UnreadCounterStore unreadCounter;
+    private final FeedProperties feedProperties;
 
     @Override
     @Transactional
     public void createNotification(Long memberId, NotificationType type, String message, String traceId) {
-        long newId = sequenceGenerator.generateSequence("notifications_sequence");
-        Notification notification = new Notification(newId, memberId, type, message, traceId);
-        notificationRepository.save(notification);
-        log.info("알림 생성 완료 - memberId={}, type={}, message={}, traceId={}", memberId, type, message, traceId);
+        createNotification(new NotificationCreateRequest(memberId, type, message, traceId));
+    }
+
+    @Override
+    @Transactional
+    public void createNotification(NotificationCreateRequest request) {
+        notificationRepository.save(toNotification(request));
+        unreadCounter.increment(request.getMemberId(), 1);
+        log.info("알림 생성 완료 - memberId={}, type={}, message={}, traceId={}",
+                request.getMemberId(), request.getType(), request.getMessage(), request.getTraceId());
+    }
+
+    /**
+     * 알림 일괄 생성 (unordered insertMany), 저장에 실패한 요청의 인덱스 목록 반환
+     */
+    @Override
+    public List<Integer> createNotifications(List<NotificationCreateRequest> requests) {
+        List<Notification> notifications = requests.stream()
+                .map(this::toNotification)
+                .toList();
+
+        List<Integer> failedIndexes = notificationRepository.insertUnordered(notifications);
+        unreadCounter.incrementAll(insertedPerMember(notifications, failedIndexes));
+        log.info("알림 일괄 생성 완료 - total={}, failed={}", notifications.size(), failedIndexes.size());
+        return failedIndexes;
     }
 
     /**
@@ -37,19 +74,75 @@ public class NotificationServiceImpl implements NotificationService {
     @Override
     @Transactional(readOnly = true)
     public List<NotificationResponse> getRecent(Long memberId) {
-        return notificationRepository.findTop20ByMemberIdOrderByCreatedAtDesc(memberId)
-                .stream()
-                .map(NotificationResponse::of)
+        // 시간순 ID 면 _id 역순이 곧 생성 시각 역순이다
+        List<Notification> recent = idGenerator.isTimeOrdered()
+                ? notificationRepository.findTop20ByMemberIdOrderByIdDesc(memberId)
+                : notificationRepository.findTop20ByMemberIdOrderByCreatedAtDesc(memberId);
+
+        return recent.stream()
+                .map(n -> NotificationResponse.of(n, messageRenderer))
+                .toList();
+    }
+
+    /**
+     * 알림 피드 (커서 기반), 커서 위치부터 인덱스 범위를 읽으므로 몇 페이지를 넘겨도 페이지당 비용이 같다
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public NotificationFeedResponse getFeed(Long memberId, String cursor, Integer size,
+                                            NotificationType type, NotificationStatus status) {
+        int pageSize = size == null || size <= 0
+                ? feedProperties.getDefaultSize()
+                : Math.min(size, feedProperties.getMaxSize());
+        FeedCursor after = FeedCursor.decode(cursor);
+
+        // 한 개 더 읽어 다음 페이지 여부를 판단한다
+        List<Notification> page = notificationRepository.findFeed(memberId, type, status,
+                after != null ? after.getCreatedAt() : null, after != null ? after.getId() : null, pageSize + 1);
+        boolean hasNext = page.size() > pageSize;
+        if (hasNext) {
+            page = page.subList(0, pageSize);
+        }
+
+        List<NotificationResponse> items = page.stream()
+                .map(n -> NotificationResponse.of(n, messageRenderer))
+                .toList();
+        String nextCursor = hasNext ? FeedCursor.of(page.get(page.size() - 1)).encode() : null;
+        return new NotificationFeedResponse(items, nextCursor, hasNext);
+    }
+
+    /**
+     * lastId 이후에 생성된 알림을 오래된 순으로 최대 limit 개 조회 (SSE 재연결 시 메모리 버퍼가 놓친 구간 복구용)
+     * 시간순 ID 가 아니면 lastId 알림의 (생성 시각, ID) 를 기준으로 찾는다
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<NotificationResponse> getAfter(Long memberId, Long lastId, int limit) {
+        List<Notification> missed;
+        if (idGenerator.isTimeOrdered()) {
+            missed = notificationRepository.findByMemberIdAndIdGreaterThanOrderByIdAsc(memberId, lastId, PageRequest.of(0, limit));
+        } else {
+            Notification last = notificationRepository.findById(lastId)
+                    .filter(n -> Objects.equals(n.getMemberId(), memberId))
+                    .orElse(null);
+            if (last == null) {
+                return List.of();
+            }
+            missed = notificationRepository.findAfter(memberId, last.getCreatedAt(), last.getId(), limit);
+        }
+
+        return missed.stream()
+                .map(n -> NotificationResponse.of(n, messageRenderer))
                 .toList();
     }
 
     /**
-     * 안 읽은 알림 개수
+     * 안 읽은 알림 개수 (회원별 카운터)
      */
     @Override
     @Transactional(readOnly = true)
     public Long getUnreadCount(Long memberId) {
-        return notificationRepository.countByMemberIdAndStatus(memberId, NotificationStatus.UNREAD);
+        return unreadCounter.get(memberId);
     }
 
     /**
@@ -65,26 +158,34 @@ public class NotificationServiceImpl implements NotificationService {
             throw new NotificationException(NotificationExceptionType.WRONG_ROLE);
         }
 
-        return NotificationResponse.of(notification);
+        return NotificationResponse.of(notification, messageRenderer);
     }
 
     /**
-     * 읽음 처리
+     * 읽음 처리 (updateMany 한 번, 이미 읽었거나 다른 회원의 알림은 제외), 읽음으로 바뀐 수 반환
      */
+    @Override
     @Transactional
-    public void markAsRead(Long memberId, List<Long> ids) {
+    public long markAsRead(Long memberId, List<Long> ids) {
         if (ids == null || ids.isEmpty()) {
             throw new NotificationException(NotificationExceptionType.ID_IS_EMPTY);
         }
 
-        List<Notification> notifications = notificationRepository.findAllById(ids).stream()
-                .filter(n -> Objects.equals(n.getMemberId(), memberId))
-                .filter(n -> NotificationStatus.UNREAD.equals(n.getStatus()))
-                .toList();
-
-        notifications.forEach(Notification::markAsRead);
+        long modified = notificationRepository.markAsRead(memberId, ids);
+        unreadCounter.increment(memberId, -modified);
+        return modified;
+    }
 
-        notificationRepository.saveAll(notifications);
+    /**
+     * 모두 읽음 처리 (미읽음 개수와 관계없이 updateMany 한 번), 읽음으로 바뀐 수 반환
+     */
+    @Override
+    @Transactional
+    public long markAllAsRead(Long memberId) {
+        long modified = notificationRepository.markAllAsRead(memberId);
+        unreadCounter.increment(memberId, -modified);
+        log.info("알림 모두 읽음 처리 - memberId={}, count={}", memberId, modified);
+        return modified;
     }
 
     /**
@@ -101,5 +202,32 @@ public class NotificationServiceImpl implements NotificationService {
         }
 
         notificationRepository.delete(notification);
+        if (NotificationStatus.UNREAD.equals(notification.getStatus())) {
+            unreadCounter.increment(memberId, -1);
+        }
+    }
+
+    // 저장된 알림만 회원별로 센다
+    private static Map<Long, Long> insertedPerMember(List<Notification> notifications, List<Integer> failedIndexes) {
+        Set<Integer> failed = new HashSet<>(failedIndexes);
+        Map<Long, Long> inserted = new HashMap<>();
+        for (int i = 0; i < notifications.size(); i++) {
+            if (!failed.contains(i)) {
+                inserted.merge(notifications.get(i).getMemberId(), 1L, Long::sum);
+            }
+        }
+        return inserted;
+    }
+
+    // render-on-read 면 템플릿 참조가 있는 알림은 메시지 대신 템플릿 ID/버전과 변수만 저장한다
+    // 재처리 중인 요청은 이미 발급받은 ID 를 그대로 쓴다
+    private Notification toNotification(NotificationCreateRequest request) {
+        long newId = request.getId() != null ? request.getId() : idGenerator.nextId();
+        request.assignId(newId);
+        if (storageProperties.isRenderOnRead() && request.hasTemplate()) {
+            return new Notification(newId, request.getMemberId(), request.getType(), request.getTemplateId(),
+                    request.getTemplateVersion(), request.getVariables(), request.getTraceId());
+        }
+        return new Notification(newId, request.getMemberId(), request.getType(), request.getMessage(), request.getTraceId());
     }
 }
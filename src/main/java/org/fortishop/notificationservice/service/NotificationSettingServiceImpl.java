@@ -1,6 +1,8 @@
 package org.fortishop.notificationservice.service;
 
 import lombok.RequiredArgsConstructor;
+import org.fortishop.notificationservice.cache.NotificationPreferenceStore;
+import org.fortishop.notificationservice.cache.NotificationSettingCache;
 import org.fortishop.notificationservice.domain.NotificationSetting;
 import org.fortishop.notificationservice.domain.NotificationType;
 import org.fortishop.notificationservice.dto.request.NotificationSettingRequest;
@@ -13,13 +15,19 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class NotificationSettingServiceImpl implements NotificationSettingService {
     private final NotificationSettingRepository settingRepository;
+    private final NotificationSettingCache settingCache;
+    private final NotificationPreferenceStore preferenceStore;
 
+    /**
+     * 수신 여부 확인 (비트마스크 저장소가 적재되어 있으면 I/O 없이 응답)
+     */
     @Override
     @Transactional(readOnly = true)
     public boolean isEnabled(Long memberId, NotificationType type) {
-        return settingRepository.findById(memberId)
-                .map(setting -> setting.isEnabled(type))
-                .orElse(true);
+        if (preferenceStore.isReady()) {
+            return preferenceStore.isEnabled(memberId, type);
+        }
+        return settingCache.get(memberId, this::loadSetting).isEnabled(type);
     }
 
     /**
@@ -28,14 +36,11 @@ public class NotificationSettingServiceImpl implements NotificationSettingServic
     @Override
     @Transactional(readOnly = true)
     public NotificationSettingResponse get(Long memberId) {
-        NotificationSetting setting = settingRepository.findById(memberId)
-                .orElse(new NotificationSetting(memberId, true, true, true, true));
-
-        return NotificationSettingResponse.of(setting);
+        return NotificationSettingResponse.of(settingCache.get(memberId, this::loadSetting));
     }
 
     /**
-     * 수신 설정 변경
+     * 수신 설정 변경 (모든 인스턴스의 설정 캐시 무효화)
      */
     @Override
     @Transactional
@@ -45,5 +50,14 @@ public class NotificationSettingServiceImpl implements NotificationSettingServic
 
         setting.update(request.getType(), request.isEnabled());
         settingRepository.save(setting);
+
+        byte enabledMask = setting.enabledMask();
+        preferenceStore.apply(memberId, enabledMask);
+        settingCache.evictEverywhere(memberId, enabledMask);
+    }
+
+    private NotificationSetting loadSetting(Long memberId) {
+        return settingRepository.findById(memberId)
+                .orElse(new NotificationSetting(memberId, true, true, true, true));
     }
 }
@@ -3,6 +3,7 @@ package org.fortishop.notificationservice.service;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.fortishop.notificationservice.domain.NotificationTemplate;
+import org.fortishop.notificationservice.domain.NotificationTemplateRevision;
 import org.fortishop.notificationservice.domain.NotificationType;
 import org.fortishop.notificationservice.dto.request.NotificationTemplateRequest;
 import org.fortishop.notificationservice.dto.response.NotificationTemplateResponse;
@@ -10,6 +11,10 @@ import org.fortishop.notificationservice.exception.NotificationException;
 import org.fortishop.notificationservice.exception.NotificationExceptionType;
 import org.fortishop.notificationservice.global.SequenceGenerator;
 import org.fortishop.notificationservice.repository.NotificationTemplateRepository;
+import org.fortishop.notificationservice.repository.NotificationTemplateRevisionRepository;
+import org.fortishop.notificationservice.template.CompiledTemplate;
+import org.fortishop.notificationservice.template.NotificationTemplateEngine;
+import org.fortishop.notificationservice.template.TemplateVariable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,9 +23,12 @@ import org.springframework.transaction.annotation.Transactional;
 public class NotificationTemplateServiceImpl implements NotificationTemplateService {
     private final NotificationTemplateRepository templateRepository;
     private final SequenceGenerator sequenceGenerator;
+    private final NotificationTemplateEngine templateEngine;
+    private final NotificationTemplateRevisionRepository revisionRepository;
 
     /**
-     * 템플릿 등록
+     * 템플릿 등록 (등록/수정/삭제 시 모든 인스턴스의 템플릿 캐시 무효화)
+     * 등록/수정 시 리비전을 먼저 남겨, 템플릿 참조로 저장된 알림이 항상 자기 리비전으로 렌더링되게 한다
      */
     @Override
     @Transactional
@@ -40,7 +48,9 @@ public class NotificationTemplateServiceImpl implements NotificationTemplateServ
                 request.getMessage(),
                 null
         );
+        revisionRepository.save(NotificationTemplateRevision.of(template));
         templateRepository.save(template);
+        templateEngine.evictEverywhere(template.getType());
     }
 
     /**
@@ -53,7 +63,9 @@ public class NotificationTemplateServiceImpl implements NotificationTemplateServ
                 .orElseThrow(() -> new NotificationException(NotificationExceptionType.TEMPLATE_NOT_FOUND));
         validateMessageTemplate(request.getType(), request.getMessage());
         template.update(request.getTitle(), request.getMessage());
+        revisionRepository.save(NotificationTemplateRevision.of(template));
         templateRepository.save(template);
+        templateEngine.evictEverywhere(template.getType());
     }
 
     /**
@@ -65,6 +77,7 @@ public class NotificationTemplateServiceImpl implements NotificationTemplateServ
         NotificationTemplate template = templateRepository.findById(id)
                 .orElseThrow(() -> new NotificationException(NotificationExceptionType.TEMPLATE_NOT_FOUND));
         templateRepository.delete(template);
+        templateEngine.evictEverywhere(template.getType());
     }
 
     /**
@@ -79,16 +92,18 @@ public class NotificationTemplateServiceImpl implements NotificationTemplateServ
                 .toList();
     }
 
+    // 서식 지시자({amount:currency})가 붙어도 같은 변수로 본다
     private void validateMessageTemplate(NotificationType type, String message) {
+        CompiledTemplate template = CompiledTemplate.compile(message);
         switch (type) {
             case ORDER:
             case POINT:
-                if (!message.contains("{orderId}") || !message.contains("{amount}")) {
+                if (!template.uses(TemplateVariable.ORDER_ID) || !template.uses(TemplateVariable.AMOUNT)) {
                     throw new NotificationException(NotificationExceptionType.INVALID_REQUEST);
                 }
                 break;
             case DELIVERY:
-                if (!message.contains("{orderId}")) {
+                if (!template.uses(TemplateVariable.ORDER_ID)) {
                     throw new NotificationException(NotificationExceptionType.INVALID_REQUEST);
                 }
                 break;
@@ -0,0 +1,13 @@
+package org.fortishop.notificationservice.sse;
+
+/**
+ * 연결의 전송 대기열이 가득 찼을 때의 처리 방식.
+ */
+public enum SlowConsumerPolicy {
+    // 가장 오래된 프레임을 버리고 새 프레임을 넣는다
+    DROP_OLDEST,
+    // 대기 중인 프레임을 모두 버리고 "새 알림 있음" 프레임 하나로 합친다. 클라이언트는 목록을 다시 조회한다
+    COALESCE,
+    // 연결을 끊는다. 클라이언트는 재연결 후 목록을 다시 조회한다
+    DISCONNECT
+}
@@ -0,0 +1,65 @@
+package org.fortishop.notificationservice.sse;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 회원의 SSE 연결 하나. 같은 회원의 다른 탭/기기 연결과 구분하기 위해 동일성(identity)으로만 비교한다.
+ * 연결마다 크기 제한이 있는 전송 대기열을 두고, 한 번에 한 스레드만 비운다. ({@link SseDispatcher})
+ */
+public final class SseConnection {
+
+    private final long id;
+    private final Long memberId;
+    private final SseEmitter emitter;
+
+    // queue 잠금으로 보호한다
+    private final ArrayDeque<SseFrame> queue = new ArrayDeque<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean closed;
+    // 마지막으로 프레임을 쓴 시각 (System.nanoTime)
+    private volatile long lastWriteNanos = System.nanoTime();
+
+    SseConnection(long id, Long memberId, SseEmitter emitter) {
+        this.id = id;
+        this.memberId = memberId;
+        this.emitter = emitter;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public Long getMemberId() {
+        return memberId;
+    }
+
+    public SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    ArrayDeque<SseFrame> queue() {
+        return queue;
+    }
+
+    AtomicBoolean draining() {
+        return draining;
+    }
+
+    long lastWriteNanos() {
+        return lastWriteNanos;
+    }
+
+    void markWritten(long nanos) {
+        lastWriteNanos = nanos;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    void markClosed() {
+        closed = true;
+    }
+}
@@ -0,0 +1,127 @@
+package org.fortishop.notificationservice.sse;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 회원별 SSE 연결 집합.
+ * 회원마다 연결 배열을 copy-on-write 로 교체한다. 변경은 해당 회원 키에서만 직렬화되고(compute), 전송은 잠금 없이 배열 스냅샷을 읽는다.
+ * 회원당 연결 수는 보통 1~3 개라 복사 비용이 작고, 연결당 추가 비용은 배열 슬롯 하나다.
+ * 회원당 최대 연결 수를 넘으면 가장 오래된 연결을 밀어낸다.
+ */
+class SseConnectionRegistry {
+
+    static final SseConnection[] EMPTY = new SseConnection[0];
+
+    private final Map<Long, SseConnection[]> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final int maxPerMember;
+
+    SseConnectionRegistry(int maxPerMember) {
+        this.maxPerMember = maxPerMember;
+    }
+
+    /**
+     * @return 최대 연결 수를 넘어 밀려난 연결, 없으면 null
+     */
+    SseConnection add(SseConnection connection) {
+        SseConnection[] evicted = new SseConnection[1];
+        connections.compute(connection.getMemberId(), (memberId, current) -> {
+            if (current == null) {
+                return new SseConnection[]{connection};
+            }
+            if (current.length >= maxPerMember) {
+                // 가장 오래된 연결(맨 앞)을 밀어낸다
+                evicted[0] = current[0];
+                SseConnection[] next = Arrays.copyOfRange(current, 1, current.length + 1);
+                next[next.length - 1] = connection;
+                return next;
+            }
+            SseConnection[] next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = connection;
+            return next;
+        });
+        if (evicted[0] == null) {
+            size.incrementAndGet();
+        }
+        return evicted[0];
+    }
+
+    /**
+     * 정확히 이 연결만 제거한다. 같은 회원의 다른(새) 연결은 건드리지 않는다.
+     *
+     * @return 제거했으면 true, 이미 없으면 false
+     */
+    boolean remove(SseConnection connection) {
+        boolean[] removed = new boolean[1];
+        connections.computeIfPresent(connection.getMemberId(), (memberId, current) -> {
+            int index = indexOf(current, connection);
+            if (index < 0) {
+                return current;
+            }
+            removed[0] = true;
+            if (current.length == 1) {
+                return null;
+            }
+            SseConnection[] next = new SseConnection[current.length - 1];
+            System.arraycopy(current, 0, next, 0, index);
+            System.arraycopy(current, index + 1, next, index, current.length - index - 1);
+            return next;
+        });
+        if (removed[0]) {
+            size.decrementAndGet();
+        }
+        return removed[0];
+    }
+
+    /**
+     * @return 회원의 연결 스냅샷 (수정하지 않는다)
+     */
+    SseConnection[] get(Long memberId) {
+        SseConnection[] current = connections.get(memberId);
+        return current != null ? current : EMPTY;
+    }
+
+    /**
+     * @return 제거된 회원의 연결들
+     */
+    SseConnection[] removeAll(Long memberId) {
+        SseConnection[] removed = connections.remove(memberId);
+        if (removed == null) {
+            return EMPTY;
+        }
+        size.addAndGet(-removed.length);
+        return removed;
+    }
+
+    /**
+     * 모든 연결을 순회한다. 회원별 배열 스냅샷을 읽으므로 순회 중 추가/제거된 연결은 포함되지 않을 수 있다.
+     */
+    void forEach(Consumer<SseConnection> action) {
+        for (SseConnection[] current : connections.values()) {
+            for (SseConnection connection : current) {
+                action.accept(connection);
+            }
+        }
+    }
+
+    int size() {
+        return size.get();
+    }
+
+    int memberCount() {
+        return connections.size();
+    }
+
+    private static int indexOf(SseConnection[] current, SseConnection connection) {
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == connection) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
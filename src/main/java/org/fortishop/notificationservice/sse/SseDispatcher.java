@@ -0,0 +1,222 @@
+package org.fortishop.notificationservice.sse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * SSE 비동기 전송기. 호출 스레드(Kafka 리스너)는 연결 대기열에 넣고 바로 돌아간다.
+ * 대기열은 전용 스레드 풀이 연결 단위로 순서대로 비우며, 가득 차면 {@link SlowConsumerPolicy} 를 따른다.
+ * <p>
+ * SseEmitter 의 send 와 complete 는 같은 emitter 잠금을 쓰므로, 죽은 연결에 쓰고 있는 전송 스레드가 있으면 complete 도 그 쓰기가
+ * 끝날 때까지 막힌다. 그래서 연결 종료({@link #disconnect})는 닫힘 표시만 바로 하고 complete 는 별도 스레드에서 한다.
+ * 막힌 쓰기 자체는 서블릿 컨테이너의 쓰기 타임아웃(notification.sse.write-timeout)으로 끝난다.
+ */
+@Slf4j
+class SseDispatcher {
+
+    private final SlowConsumerPolicy policy;
+    private final int queueCapacity;
+    private final int drainBatchSize;
+    private final ExecutorService executor;
+    // complete 가 막히는 연결은 쓰기 중인 연결뿐이라 전송 스레드 수만큼이면 다른 연결의 종료가 밀리지 않는다
+    private final ExecutorService closer;
+    private final Consumer<SseConnection> onClosed;
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Counter droppedOldest;
+    private final Counter coalesced;
+    private final Counter disconnected;
+    private final Counter failed;
+
+    SseDispatcher(SseProperties properties, MeterRegistry meterRegistry, Consumer<SseConnection> onClosed) {
+        this.policy = properties.getSlowConsumerPolicy();
+        this.queueCapacity = properties.getQueueCapacity();
+        this.drainBatchSize = properties.getDrainBatchSize();
+        this.onClosed = onClosed;
+
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(properties.getDispatcherThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "sse-dispatcher-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger closerSequence = new AtomicInteger();
+        this.closer = Executors.newFixedThreadPool(properties.getDispatcherThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "sse-closer-" + closerSequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("sse_outbound_queued", queued, AtomicInteger::get)
+                .description("전송 대기 중인 SSE 프레임 수 (전체 연결 합계)")
+                .register(meterRegistry);
+        this.droppedOldest = dropCounter(meterRegistry, "drop_oldest");
+        this.coalesced = dropCounter(meterRegistry, "coalesced");
+        this.disconnected = dropCounter(meterRegistry, "disconnected");
+        this.failed = dropCounter(meterRegistry, "send_failed");
+    }
+
+    /**
+     * 연결 대기열에 넣는다. 블로킹하지 않는다.
+     */
+    void enqueue(SseConnection connection, SseFrame frame) {
+        if (connection.isClosed()) {
+            return;
+        }
+
+        boolean disconnect = false;
+        ArrayDeque<SseFrame> queue = connection.queue();
+        synchronized (queue) {
+            if (queue.size() < queueCapacity) {
+                queue.addLast(frame);
+                queued.incrementAndGet();
+            } else {
+                switch (policy) {
+                    case DROP_OLDEST -> {
+                        queue.pollFirst();
+                        queue.addLast(frame);
+                        droppedOldest.increment();
+                    }
+                    case COALESCE -> {
+                        int pending = queue.size();
+                        queue.clear();
+                        queue.addLast(SseFrame.refresh(pending + 1));
+                        queued.addAndGet(1 - pending);
+                        coalesced.increment(pending + 1);
+                    }
+                    case DISCONNECT -> disconnect = true;
+                }
+            }
+        }
+
+        if (disconnect) {
+            disconnected.increment();
+            log.info("SSE 느린 연결 종료 - memberId={}, connectionId={}", connection.getMemberId(), connection.getId());
+            // 호출 스레드(Kafka 리스너)는 느린 연결의 emitter 잠금을 기다리지 않는다
+            disconnect(connection);
+            return;
+        }
+        schedule(connection);
+    }
+
+    /**
+     * 대기열이 비어 있을 때만 하트비트를 넣는다. 보낼 프레임이 있으면 그 전송이 하트비트를 대신하고,
+     * 가득 찬 대기열에서 하트비트가 실제 알림을 밀어내지 않게 한다.
+     *
+     * @return 대기 프레임이 있는데 idleTimeoutNanos 동안 쓰지 못했으면 false (죽은 연결)
+     */
+    boolean heartbeat(SseConnection connection, long idleTimeoutNanos) {
+        ArrayDeque<SseFrame> queue = connection.queue();
+        synchronized (queue) {
+            if (!queue.isEmpty()) {
+                return System.nanoTime() - connection.lastWriteNanos() < idleTimeoutNanos;
+            }
+            queue.addLast(SseFrame.HEARTBEAT);
+            queued.incrementAndGet();
+        }
+        schedule(connection);
+        return true;
+    }
+
+    /**
+     * 연결을 닫힘으로 표시하고 남은 대기열을 버린다.
+     */
+    void close(SseConnection connection) {
+        connection.markClosed();
+        ArrayDeque<SseFrame> queue = connection.queue();
+        synchronized (queue) {
+            queued.addAndGet(-queue.size());
+            queue.clear();
+        }
+        onClosed.accept(connection);
+    }
+
+    /**
+     * 연결을 닫고 emitter 를 끝낸다. 호출 스레드는 emitter 잠금을 기다리지 않는다.
+     */
+    void disconnect(SseConnection connection) {
+        close(connection);
+        try {
+            closer.execute(() -> complete(connection));
+        } catch (RejectedExecutionException e) {
+            // 종료 중이면 컨테이너가 연결을 정리한다
+        }
+    }
+
+    void shutdown() {
+        executor.shutdownNow();
+        closer.shutdownNow();
+    }
+
+    private void complete(SseConnection connection) {
+        try {
+            connection.getEmitter().complete();
+        } catch (Exception e) {
+            log.debug("SSE 연결 종료 실패 - memberId={}, connectionId={}, error={}",
+                    connection.getMemberId(), connection.getId(), e.getMessage());
+        }
+    }
+
+    private void schedule(SseConnection connection) {
+        if (connection.draining().compareAndSet(false, true)) {
+            try {
+                executor.execute(() -> drain(connection));
+            } catch (RejectedExecutionException e) {
+                connection.draining().set(false);
+            }
+        }
+    }
+
+    private void drain(SseConnection connection) {
+        ArrayDeque<SseFrame> queue = connection.queue();
+        for (int sent = 0; sent < drainBatchSize; sent++) {
+            SseFrame frame;
+            synchronized (queue) {
+                frame = queue.pollFirst();
+                if (frame != null) {
+                    queued.decrementAndGet();
+                }
+            }
+            if (frame == null || connection.isClosed()) {
+                break;
+            }
+            try {
+                connection.getEmitter().send(frame.items());
+                connection.markWritten(System.nanoTime());
+            } catch (IOException | IllegalStateException e) {
+                // 이미 끝난 연결(IllegalStateException)도 정리한다
+                failed.increment();
+                log.warn("SSE 전송 실패 - memberId={}, connectionId={}, error={}",
+                        connection.getMemberId(), connection.getId(), e.getMessage());
+                close(connection);
+                break;
+            }
+        }
+
+        connection.draining().set(false);
+        // 비우는 동안 들어왔거나 배치 한도로 남은 프레임은 다시 예약한다
+        boolean remaining;
+        synchronized (queue) {
+            remaining = !queue.isEmpty();
+        }
+        if (remaining && !connection.isClosed()) {
+            schedule(connection);
+        }
+    }
+
+    private static Counter dropCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("sse_frames_dropped")
+                .description("전송하지 못하고 버린 SSE 프레임 수")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
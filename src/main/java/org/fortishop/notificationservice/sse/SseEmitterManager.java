@@ -1,72 +1,268 @@
 package org.fortishop.notificationservice.sse;
 
-import java.io.IOException;
-import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import lombok.extern.slf4j.Slf4j;
+import org.fortishop.notificationservice.bus.NotificationBroadcastEvent;
+import org.fortishop.notificationservice.dto.response.NotificationResponse;
+import org.fortishop.notificationservice.service.NotificationService;
+import org.fortishop.notificationservice.sse.route.SsePresenceRegistry;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+/**
+ * 회원별 SSE 연결 관리. 한 회원이 여러 탭/기기로 동시에 연결할 수 있고, 알림은 모든 연결로 전송한다.
+ * 전송은 {@link SseDispatcher} 대기열에 넣고 바로 돌아가므로 느린 클라이언트가 호출 스레드(Kafka 리스너)를 붙잡지 않는다.
+ * 이벤트 ID 는 알림 ID 이고, Last-Event-ID 로 재연결하면 놓친 이벤트를 링 버퍼 또는 Mongo 에서 다시 보낸다.
+ * 전체 공지는 프레임을 바이트로 한 번만 인코딩해 모든 연결 대기열에 같은 프레임을 넣고, 디스패처 스레드 수만큼 병렬로 쓴다.
+ * 하트비트는 {@link SseHeartbeatWheel} 로 연결마다 heartbeatInterval 에 한 번 보내고, 쓰지 못하고 쌓이기만 하는 연결은 닫는다.
+ */
 @Slf4j
 @Component
-public class SseEmitterManager {
+public class SseEmitterManager implements SseMemberChannel {
 
-    private final Map<Long, SseEmitter> emitterMap = new ConcurrentHashMap<>();
+    private final long timeoutMillis;
+    private final SseConnectionRegistry registry;
+    private final SseDispatcher dispatcher;
+    private final SseReplayBuffer replayBuffer;
+    private final NotificationService notificationService;
+    private final Optional<SsePresenceRegistry> presenceRegistry;
+    private final int replayLimit;
+    private final AtomicLong connectionIds = new AtomicLong();
+    private final SseHeartbeatWheel heartbeatWheel;
+    private final long idleTimeoutNanos;
+    private final Counter heartbeats;
+    private final Counter reaped;
+    private final Counter broadcastFrames;
+    private final ScheduledExecutorService heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sse-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
 
-    private static final long TIMEOUT = Duration.ofMinutes(30).toMillis();
+    public SseEmitterManager(SseProperties properties,
+                             MeterRegistry meterRegistry,
+                             NotificationService notificationService,
+                             Optional<SsePresenceRegistry> presenceRegistry) {
+        this.timeoutMillis = properties.getTimeout().toMillis();
+        this.registry = new SseConnectionRegistry(properties.getMaxConnectionsPerMember());
+        this.dispatcher = new SseDispatcher(properties, meterRegistry, this::onClosed);
+        this.replayBuffer = new SseReplayBuffer(properties, meterRegistry);
+        this.notificationService = notificationService;
+        this.presenceRegistry = presenceRegistry;
+        this.replayLimit = properties.getReplayLimit();
+        this.idleTimeoutNanos = properties.getIdleTimeout().toNanos();
+        this.heartbeatWheel = new SseHeartbeatWheel(properties.getHeartbeatWheelSize(), this::onHeartbeatDue);
+        this.heartbeats = Counter.builder("sse_heartbeats")
+                .description("보낸 SSE 하트비트 수")
+                .register(meterRegistry);
+        this.reaped = Counter.builder("sse_reaped")
+                .description("하트비트 검사에서 닫은 SSE 연결 수")
+                .register(meterRegistry);
+        this.broadcastFrames = Counter.builder("sse_broadcast_frames")
+                .description("전체 공지로 대기열에 넣은 SSE 프레임 수")
+                .register(meterRegistry);
+
+        long tickNanos = Math.max(1, properties.getHeartbeatInterval().toNanos() / properties.getHeartbeatWheelSize());
+        heartbeatScheduler.scheduleAtFixedRate(this::tickHeartbeat, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+
+        Gauge.builder("sse_connections", registry, SseConnectionRegistry::size)
+                .description("열린 SSE 연결 수")
+                .register(meterRegistry);
+        Gauge.builder("sse_connected_members", registry, SseConnectionRegistry::memberCount)
+                .description("SSE 로 연결된 회원 수")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeatScheduler.shutdownNow();
+        dispatcher.shutdown();
+    }
 
     /**
-     * SSE 연결 시 Emitter 생성 및 저장
+     * SSE 연결 시 Emitter 생성 및 저장, lastEventId 가 있으면 이후 이벤트를 다시 보낸다
      */
-    public SseEmitter connect(Long memberId) {
-        SseEmitter emitter = new SseEmitter(TIMEOUT);
-        emitterMap.put(memberId, emitter);
+    public SseEmitter connect(Long memberId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        SseConnection connection = new SseConnection(connectionIds.incrementAndGet(), memberId, emitter);
 
+        // 콜백은 자기 연결만 제거한다. (이전 연결의 종료가 새 연결을 지우지 않도록)
         emitter.onCompletion(() -> {
-            emitterMap.remove(memberId);
-            log.info("SSE 연결 종료 - memberId={}", memberId);
+            dispatcher.close(connection);
+            log.info("SSE 연결 종료 - memberId={}, connectionId={}", memberId, connection.getId());
         });
 
         emitter.onTimeout(() -> {
-            emitterMap.remove(memberId);
-            log.info("SSE 타임아웃 - memberId={}", memberId);
+            dispatcher.close(connection);
+            log.info("SSE 타임아웃 - memberId={}, connectionId={}", memberId, connection.getId());
         });
 
         emitter.onError(e -> {
-            emitterMap.remove(memberId);
-            log.warn("SSE 에러 발생 - memberId={}, error={}", memberId, e.getMessage());
+            dispatcher.close(connection);
+            log.warn("SSE 에러 발생 - memberId={}, connectionId={}, error={}", memberId, connection.getId(), e.getMessage());
         });
 
-        log.info("SSE 연결 생성 - memberId={}", memberId);
+        SseConnection evicted = registry.add(connection);
+        heartbeatWheel.add(connection);
+        if (evicted != null) {
+            log.info("SSE 최대 연결 수 초과로 이전 연결 종료 - memberId={}, connectionId={}", memberId, evicted.getId());
+            dispatcher.disconnect(evicted);
+        }
+
+        if (registry.get(memberId).length == 1) {
+            presenceRegistry.ifPresent(presence -> updatePresence(() -> presence.register(memberId), memberId));
+        }
+        log.info("SSE 연결 생성 - memberId={}, connectionId={}", memberId, connection.getId());
+
+        // 등록 후 재전송하므로 그 사이 들어온 실시간 이벤트와 순서가 섞이거나 겹칠 수 있다. (클라이언트는 이벤트 ID 로 거른다)
+        Long lastId = parseEventId(lastEventId);
+        if (lastId != null) {
+            replay(connection, lastId);
+        }
         return emitter;
     }
 
     /**
-     * 사용자에게 알림 전송
+     * 사용자의 모든 연결로 알림 전송 (대기열에 넣고 바로 반환), 재연결에 대비해 재전송 버퍼에도 남긴다
      */
-    public void sendToUser(Long memberId, Object data) {
-        SseEmitter emitter = emitterMap.get(memberId);
-        if (emitter == null) {
-            log.info("SSE 연결 없음 - memberId={}", memberId);
+    @Override
+    public void sendToUser(Long memberId, Long notificationId, Object data) {
+        SseFrame frame = SseFrame.of(SseFrame.NOTIFICATION, notificationId, data);
+        if (notificationId != null) {
+            replayBuffer.record(memberId, notificationId, frame);
+        }
+
+        SseConnection[] connections = registry.get(memberId);
+        if (connections.length == 0) {
+            log.debug("SSE 연결 없음 - memberId={}", memberId);
             return;
         }
 
+        for (SseConnection connection : connections) {
+            dispatcher.enqueue(connection, frame);
+        }
+        log.debug("SSE 알림 전송 예약 - memberId={}, connections={}", memberId, connections.length);
+    }
+
+    @Override
+    public boolean isConnected(Long memberId) {
+        return registry.get(memberId).length > 0;
+    }
+
+    /**
+     * 이 노드의 모든 연결로 전체 공지 전송 (모든 인스턴스가 Spring Cloud Bus 로 받는다)
+     */
+    @EventListener
+    public void onBroadcast(NotificationBroadcastEvent event) {
+        SseFrame frame = SseFrame.encoded(SseFrame.BROADCAST, event.getMessage());
+        int[] count = new int[1];
+        registry.forEach(connection -> {
+            dispatcher.enqueue(connection, frame);
+            count[0]++;
+        });
+        broadcastFrames.increment(count[0]);
+        log.info("SSE 전체 공지 전송 예약 - broadcastId={}, connections={}", event.getBroadcastId(), count[0]);
+    }
+
+    private void tickHeartbeat() {
         try {
-            emitter.send(SseEmitter.event()
-                    .name("notification")
-                    .data(data));
-            log.info("SSE 알림 전송 완료 - memberId={}, data={}", memberId, data);
-        } catch (IOException e) {
-            emitterMap.remove(memberId);
-            log.warn("SSE 전송 실패 - memberId={}, error={}", memberId, e.getMessage());
+            heartbeatWheel.tick();
+        } catch (Exception e) {
+            log.warn("SSE 하트비트 처리 실패 - error={}", e.getMessage());
         }
     }
-    
+
+    // 닫힌 연결은 휠에서 버리고, 쓰지 못한 프레임이 idleTimeout 넘게 쌓인 연결은 닫는다
+    private boolean onHeartbeatDue(SseConnection connection) {
+        if (connection.isClosed()) {
+            return false;
+        }
+        if (dispatcher.heartbeat(connection, idleTimeoutNanos)) {
+            heartbeats.increment();
+            return true;
+        }
+
+        reaped.increment();
+        log.info("SSE 응답 없는 연결 종료 - memberId={}, connectionId={}", connection.getMemberId(), connection.getId());
+        // 죽은 연결의 emitter 는 쓰기 중인 전송 스레드가 잠그고 있을 수 있으므로 휠 스레드에서 기다리지 않는다
+        dispatcher.disconnect(connection);
+        return false;
+    }
+
+    // 회원의 마지막 연결이 끊기면 presence 를 해제한다. 그 사이 새 연결이 생겼으면 다시 등록한다
+    private void onClosed(SseConnection connection) {
+        Long memberId = connection.getMemberId();
+        if (!registry.remove(connection) || presenceRegistry.isEmpty() || isConnected(memberId)) {
+            return;
+        }
+        SsePresenceRegistry presence = presenceRegistry.get();
+        updatePresence(() -> {
+            presence.unregister(memberId);
+            if (isConnected(memberId)) {
+                presence.register(memberId);
+            }
+        }, memberId);
+    }
+
+    private void updatePresence(Runnable update, Long memberId) {
+        try {
+            update.run();
+        } catch (Exception e) {
+            log.warn("SSE presence 갱신 실패 - memberId={}, error={}", memberId, e.getMessage());
+        }
+    }
+
+    private void replay(SseConnection connection, long lastId) {
+        List<SseFrame> missed = replayBuffer.after(connection.getMemberId(), lastId);
+        if (missed == null) {
+            missed = loadMissed(connection.getMemberId(), lastId);
+        }
+        for (SseFrame frame : missed) {
+            dispatcher.enqueue(connection, frame);
+        }
+        log.info("SSE 재전송 - memberId={}, lastEventId={}, count={}", connection.getMemberId(), lastId, missed.size());
+    }
+
+    // 버퍼가 놓친 구간을 덮지 못하면 Mongo 에서 읽는다. 한도를 넘으면 목록을 다시 조회하라는 이벤트로 끝낸다
+    private List<SseFrame> loadMissed(Long memberId, long lastId) {
+        List<NotificationResponse> stored = notificationService.getAfter(memberId, lastId, replayLimit + 1);
+        List<SseFrame> frames = new ArrayList<>(Math.min(stored.size(), replayLimit + 1));
+        for (int i = 0; i < stored.size() && i < replayLimit; i++) {
+            NotificationResponse notification = stored.get(i);
+            frames.add(SseFrame.of(SseFrame.NOTIFICATION, notification.getId(), notification.getMessage()));
+        }
+        if (stored.size() > replayLimit) {
+            frames.add(SseFrame.refresh(stored.size()));
+        }
+        return frames;
+    }
+
+    private static Long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
     public void complete(Long memberId) {
-        SseEmitter emitter = emitterMap.remove(memberId);
-        if (emitter != null) {
-            emitter.complete();
+        for (SseConnection connection : registry.removeAll(memberId)) {
+            dispatcher.disconnect(connection);
         }
+        presenceRegistry.ifPresent(presence -> updatePresence(() -> presence.unregister(memberId), memberId));
     }
 }
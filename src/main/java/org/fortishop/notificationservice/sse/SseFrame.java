@@ -0,0 +1,62 @@
+package org.fortishop.notificationservice.sse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 한 번 인코딩해 모든 연결에 그대로 쓰는 SSE 이벤트.
+ */
+final class SseFrame {
+
+    static final String NOTIFICATION = "notification";
+    static final String REFRESH = "notification-refresh";
+    static final String BROADCAST = "notification-broadcast";
+    // 클라이언트 EventSource 는 주석 이벤트를 무시한다
+    static final SseFrame HEARTBEAT = new SseFrame(SseEmitter.event().comment("hb").build());
+
+    private final Set<DataWithMediaType> items;
+
+    private SseFrame(Set<DataWithMediaType> items) {
+        this.items = items;
+    }
+
+    static SseFrame of(String name, Object data) {
+        return new SseFrame(SseEmitter.event().name(name).data(data).build());
+    }
+
+    // id 는 알림 ID, 클라이언트는 재연결 시 Last-Event-ID 로 돌려준다
+    static SseFrame of(String name, Long id, Object data) {
+        if (id == null) {
+            return of(name, data);
+        }
+        return new SseFrame(SseEmitter.event().id(String.valueOf(id)).name(name).data(data).build());
+    }
+
+    /**
+     * 이벤트 전체를 UTF-8 바이트로 한 번만 인코딩한다. 연결마다 다시 직렬화하지 않고 같은 바이트 배열을 그대로 쓴다. (ByteArrayHttpMessageConverter)
+     * id 를 붙이지 않으므로 클라이언트의 Last-Event-ID(알림 ID)는 바뀌지 않는다.
+     */
+    static SseFrame encoded(String name, String data) {
+        StringBuilder event = new StringBuilder(name.length() + data.length() + 16);
+        event.append("event:").append(name).append('\n');
+        // 여러 줄 데이터는 줄마다 data: 를 붙여야 한 이벤트로 합쳐진다
+        for (String line : data.split("\r\n|\r|\n", -1)) {
+            event.append("data:").append(line).append('\n');
+        }
+        event.append('\n');
+        byte[] bytes = event.toString().getBytes(StandardCharsets.UTF_8);
+        return new SseFrame(Set.of(new DataWithMediaType(bytes, MediaType.TEXT_PLAIN)));
+    }
+
+    // 대기열을 합칠 때 쓰는 프레임, data 는 합쳐진 알림 수
+    static SseFrame refresh(int coalesced) {
+        return of(REFRESH, coalesced);
+    }
+
+    Set<DataWithMediaType> items() {
+        return items;
+    }
+}
@@ -0,0 +1,57 @@
+package org.fortishop.notificationservice.sse;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+
+/**
+ * 하트비트용 해시 타이밍 휠.
+ * 휠 한 바퀴가 하트비트 주기이고 칸(bucket) 수가 wheelSize 다. 연결은 등록 시점 직전 칸에 들어가 한 바퀴마다 한 번 처리된다.
+ * tick 은 현재 칸만 비우므로 비용은 그 칸의 연결 수에 비례한다. (전체 연결 수와 무관)
+ * 연결 해제는 칸에서 바로 지우지 않고, 다음 차례에 onDue 가 false 를 반환하면 버린다.
+ */
+class SseHeartbeatWheel {
+
+    private final AtomicReferenceArray<Queue<SseConnection>> buckets;
+    private final Predicate<SseConnection> onDue;
+    private volatile int cursor;
+
+    /**
+     * @param onDue 차례가 된 연결 처리, 계속 유지하려면 true
+     */
+    SseHeartbeatWheel(int wheelSize, Predicate<SseConnection> onDue) {
+        this.buckets = new AtomicReferenceArray<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.set(i, new ConcurrentLinkedQueue<>());
+        }
+        this.onDue = onDue;
+    }
+
+    void add(SseConnection connection) {
+        // 현재 칸 바로 앞 칸이라 한 바퀴(하트비트 주기) 뒤에 처음 처리된다
+        int index = (cursor + buckets.length() - 1) % buckets.length();
+        buckets.get(index).add(connection);
+    }
+
+    /**
+     * 현재 칸을 처리하고 다음 칸으로 넘어간다. 한 스레드에서만 호출한다.
+     *
+     * @return 처리한 연결 수
+     */
+    int tick() {
+        int index = cursor;
+        Queue<SseConnection> due = buckets.getAndSet(index, new ConcurrentLinkedQueue<>());
+        cursor = (index + 1) % buckets.length();
+
+        int processed = 0;
+        SseConnection connection;
+        while ((connection = due.poll()) != null) {
+            processed++;
+            if (onDue.test(connection)) {
+                buckets.get(index).add(connection);
+            }
+        }
+        return processed;
+    }
+}
@@ -0,0 +1,14 @@
+package org.fortishop.notificationservice.sse;
+
+/**
+ * 이 노드에 열린 회원 스트림으로 알림을 보내는 통로. (서블릿 {@link SseEmitterManager}, WebFlux 스트림)
+ */
+public interface SseMemberChannel {
+
+    /**
+     * 회원의 모든 스트림으로 보낸다. 블로킹하지 않는다.
+     */
+    void sendToUser(Long memberId, Long notificationId, Object data);
+
+    boolean isConnected(Long memberId);
+}
@@ -0,0 +1,42 @@
+package org.fortishop.notificationservice.sse;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "notification.sse")
+@Getter
+@Setter
+public class SseProperties {
+
+    private Duration timeout = Duration.ofMinutes(30);
+    // 넘으면 가장 오래된 연결을 닫는다
+    private int maxConnectionsPerMember = 8;
+    // 연결별 전송 대기 프레임 수 상한
+    private int queueCapacity = 64;
+    // 전송 전용 스레드 수 (느린 연결이 많을수록 늘린다)
+    private int dispatcherThreads = 8;
+    // 한 연결을 연속으로 비우는 최대 프레임 수, 넘으면 다른 연결에 양보한다
+    private int drainBatchSize = 32;
+    private SlowConsumerPolicy slowConsumerPolicy = SlowConsumerPolicy.DROP_OLDEST;
+    // 회원별 재전송 버퍼 크기 (최근 이벤트 수)
+    private int replayCapacity = 32;
+    // 재전송 버퍼를 유지할 최대 회원 수, 넘거나 만료된 회원은 Mongo 에서 복구한다
+    private long replayMembers = 100_000;
+    private Duration replayTtl = Duration.ofMinutes(30);
+    // Mongo 로 복구할 최대 알림 수, 더 있으면 새로고침 이벤트를 보낸다
+    private int replayLimit = 32;
+    // 하트비트(주석 이벤트) 주기, 로드밸런서 idle timeout 보다 짧아야 한다
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+    // 하트비트 타이밍 휠 칸 수, tick 간격은 heartbeatInterval / heartbeatWheelSize
+    private int heartbeatWheelSize = 64;
+    // 대기 프레임이 있는데 이 시간 동안 한 번도 쓰지 못한 연결은 죽은 것으로 보고 닫는다
+    private Duration idleTimeout = Duration.ofSeconds(45);
+    // 한 번의 블로킹 쓰기를 기다리는 최대 시간, 죽은 연결이 전송 스레드를 계속 붙잡지 않게 한다 (Tomcat connectionTimeout)
+    private Duration writeTimeout = Duration.ofSeconds(20);
+    // reactive-sse 프로필의 WebFlux 스트림 포트
+    private int reactivePort = 8089;
+}
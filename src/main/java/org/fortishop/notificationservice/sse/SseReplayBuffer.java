@@ -0,0 +1,80 @@
+package org.fortishop.notificationservice.sse;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 회원별 최근 SSE 이벤트 링 버퍼. 재연결 시 Last-Event-ID 이후 이벤트를 메모리에서 다시 보낸다.
+ * 회원 수(maximumSize)와 마지막 기록 후 유지 시간으로 전체 크기를 제한한다.
+ */
+class SseReplayBuffer {
+
+    private final int capacity;
+    private final Cache<Long, Ring> rings;
+
+    SseReplayBuffer(SseProperties properties, MeterRegistry meterRegistry) {
+        this.capacity = properties.getReplayCapacity();
+        this.rings = Caffeine.newBuilder()
+                .maximumSize(properties.getReplayMembers())
+                .expireAfterWrite(properties.getReplayTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, rings, "sse_replay");
+    }
+
+    void record(Long memberId, long eventId, SseFrame frame) {
+        // compute 로 갱신해 expireAfterWrite 가 마지막 기록 시각을 따르게 한다
+        rings.asMap().compute(memberId, (id, ring) -> {
+            Ring target = ring != null ? ring : new Ring(capacity);
+            target.add(eventId, frame);
+            return target;
+        });
+    }
+
+    /**
+     * @return lastEventId 이후 이벤트 (없으면 빈 목록), 버퍼가 lastEventId 를 갖고 있지 않으면 null
+     */
+    List<SseFrame> after(Long memberId, long lastEventId) {
+        Ring ring = rings.getIfPresent(memberId);
+        return ring != null ? ring.after(lastEventId) : null;
+    }
+
+    private static final class Ring {
+        private final long[] ids;
+        private final SseFrame[] frames;
+        // 다음에 쓸 위치
+        private int head;
+        private int count;
+
+        private Ring(int capacity) {
+            this.ids = new long[capacity];
+            this.frames = new SseFrame[capacity];
+        }
+
+        private synchronized void add(long eventId, SseFrame frame) {
+            ids[head] = eventId;
+            frames[head] = frame;
+            head = (head + 1) % ids.length;
+            count = Math.min(count + 1, ids.length);
+        }
+
+        private synchronized List<SseFrame> after(long lastEventId) {
+            int oldest = (head - count + ids.length) % ids.length;
+            for (int i = count - 1; i >= 0; i--) {
+                int index = (oldest + i) % ids.length;
+                if (ids[index] == lastEventId) {
+                    List<SseFrame> missed = new ArrayList<>(count - 1 - i);
+                    for (int j = i + 1; j < count; j++) {
+                        missed.add(frames[(oldest + j) % ids.length]);
+                    }
+                    return missed;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package org.fortishop.notificationservice.sse;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.coyote.AbstractProtocol;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.stereotype.Component;
+
+/**
+ * SSE 쓰기 타임아웃. Tomcat NIO 는 블로킹 쓰기를 connectionTimeout 만큼 기다리므로, 응답하지 않는 연결에 쓰는 전송 스레드가
+ * notification.sse.write-timeout 안에 실패로 풀려나도록 connectionTimeout 을 그 값으로 맞춘다.
+ * (server.tomcat.connection-timeout 보다 이 값이 우선한다. keep-alive 대기는 keepAliveTimeout 을 따로 정하지 않은 경우 같은 값을 쓴다)
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnClass(name = "org.apache.catalina.startup.Tomcat")
+public class SseWriteTimeoutCustomizer implements WebServerFactoryCustomizer<TomcatServletWebServerFactory> {
+
+    private final SseProperties properties;
+
+    @Override
+    public void customize(TomcatServletWebServerFactory factory) {
+        int timeoutMillis = (int) properties.getWriteTimeout().toMillis();
+        if (timeoutMillis <= 0) {
+            return;
+        }
+        factory.addConnectorCustomizers(connector -> {
+            if (connector.getProtocolHandler() instanceof AbstractProtocol<?> protocol) {
+                protocol.setConnectionTimeout(timeoutMillis);
+            }
+        });
+    }
+}
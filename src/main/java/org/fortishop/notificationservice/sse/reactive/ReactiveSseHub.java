@@ -0,0 +1,195 @@
+package org.fortishop.notificationservice.sse.reactive;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.notificationservice.bus.NotificationBroadcastEvent;
+import org.fortishop.notificationservice.service.NotificationService;
+import org.fortishop.notificationservice.sse.SseMemberChannel;
+import org.fortishop.notificationservice.sse.SseProperties;
+import org.fortishop.notificationservice.sse.route.SsePresenceRegistry;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * WebFlux SSE 스트림 (reactive-sse 프로필). 회원마다 multicast Sink 하나를 두고 그 회원의 모든 연결이 구독한다.
+ * 연결별 대기열은 onBackpressureBuffer(queueCapacity, DROP_OLDEST) 로 제한한다.
+ * 이벤트 형식은 서블릿 스트림과 같다. (id = 알림 ID, event = notification)
+ * Last-Event-ID 재전송은 메모리 버퍼 없이 Mongo 에서 읽는다.
+ * 연결마다 heartbeatInterval 주기로 주석 이벤트를 섞어 보내 알림이 없는 연결도 로드밸런서 idle timeout 에 끊기지 않게 한다.
+ */
+@Slf4j
+@Component
+@Profile("reactive-sse")
+public class ReactiveSseHub implements SseMemberChannel {
+
+    private static final String EVENT_NAME = "notification";
+    private static final String BROADCAST_EVENT_NAME = "notification-broadcast";
+    private static final ServerSentEvent<String> HEARTBEAT = ServerSentEvent.<String>builder().comment("hb").build();
+
+    private final Map<Long, MemberStream> streams = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final NotificationService notificationService;
+    private final Optional<SsePresenceRegistry> presenceRegistry;
+    private final Duration timeout;
+    private final Duration heartbeatInterval;
+    private final int queueCapacity;
+    private final int replayLimit;
+    private final Counter dropped;
+    private final Counter heartbeats;
+
+    public ReactiveSseHub(SseProperties properties,
+                          MeterRegistry meterRegistry,
+                          NotificationService notificationService,
+                          Optional<SsePresenceRegistry> presenceRegistry) {
+        this.notificationService = notificationService;
+        this.presenceRegistry = presenceRegistry;
+        this.timeout = properties.getTimeout();
+        this.heartbeatInterval = properties.getHeartbeatInterval();
+        this.queueCapacity = properties.getQueueCapacity();
+        this.replayLimit = properties.getReplayLimit();
+        Gauge.builder("sse_connections", connections, AtomicInteger::get)
+                .description("열린 SSE 연결 수")
+                .tag("stack", "reactive")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("sse_frames_dropped")
+                .description("전송하지 못하고 버린 SSE 프레임 수")
+                .tag("reason", "drop_oldest")
+                .tag("stack", "reactive")
+                .register(meterRegistry);
+        this.heartbeats = Counter.builder("sse_heartbeats")
+                .description("보낸 SSE 하트비트 수")
+                .tag("stack", "reactive")
+                .register(meterRegistry);
+    }
+
+    public Flux<ServerSentEvent<String>> connect(Long memberId, Long lastEventId) {
+        return Flux.defer(() -> {
+            MemberStream stream = acquire(memberId);
+            Flux<ServerSentEvent<String>> live = stream.sink.asFlux()
+                    .onBackpressureBuffer(queueCapacity, event -> dropped.increment(), BufferOverflowStrategy.DROP_OLDEST);
+            // 하트비트는 대기열을 거치지 않는다. 못 보낸 틱은 쌓지 않고 버린다
+            Flux<ServerSentEvent<String>> heartbeat = Flux.interval(heartbeatInterval)
+                    .onBackpressureDrop()
+                    .map(tick -> HEARTBEAT)
+                    .doOnNext(event -> heartbeats.increment());
+            // 실시간 스트림을 먼저 구독해 재전송 중 들어온 이벤트도 받는다. (겹치면 클라이언트가 이벤트 ID 로 거른다)
+            return Flux.merge(live, replay(memberId, lastEventId), heartbeat)
+                    .take(timeout)
+                    .doFinally(signal -> release(memberId));
+        });
+    }
+
+    @Override
+    public void sendToUser(Long memberId, Long notificationId, Object data) {
+        MemberStream stream = streams.get(memberId);
+        if (stream == null) {
+            return;
+        }
+        ServerSentEvent<String> event = event(notificationId, String.valueOf(data));
+        // 여러 Kafka 리스너 스레드가 같은 회원에게 보낼 수 있으므로 emit 을 직렬화한다
+        synchronized (stream) {
+            stream.sink.tryEmitNext(event);
+        }
+    }
+
+    @Override
+    public boolean isConnected(Long memberId) {
+        return streams.containsKey(memberId);
+    }
+
+    /**
+     * 전체 공지는 이벤트 객체 하나를 모든 회원 Sink 에 넣는다. (인코딩은 WebFlux 가 연결마다 한다)
+     */
+    @EventListener
+    public void onBroadcast(NotificationBroadcastEvent event) {
+        ServerSentEvent<String> broadcast = ServerSentEvent.<String>builder()
+                .event(BROADCAST_EVENT_NAME)
+                .data(event.getMessage())
+                .build();
+        for (MemberStream stream : streams.values()) {
+            synchronized (stream) {
+                stream.sink.tryEmitNext(broadcast);
+            }
+        }
+    }
+
+    private Flux<ServerSentEvent<String>> replay(Long memberId, Long lastEventId) {
+        if (lastEventId == null) {
+            return Flux.empty();
+        }
+        return Mono.fromCallable(() -> notificationService.getAfter(memberId, lastEventId, replayLimit))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapIterable(missed -> missed)
+                .map(notification -> event(notification.getId(), notification.getMessage()))
+                .onErrorResume(e -> {
+                    log.warn("SSE 재전송 실패 - memberId={}, error={}", memberId, e.getMessage());
+                    return Flux.empty();
+                });
+    }
+
+    private MemberStream acquire(Long memberId) {
+        boolean[] first = new boolean[1];
+        MemberStream stream = streams.compute(memberId, (id, current) -> {
+            MemberStream target = current != null ? current : new MemberStream();
+            first[0] = ++target.subscribers == 1;
+            return target;
+        });
+        connections.incrementAndGet();
+        if (first[0]) {
+            updatePresence(memberId, true);
+        }
+        return stream;
+    }
+
+    private void release(Long memberId) {
+        connections.decrementAndGet();
+        MemberStream remaining = streams.computeIfPresent(memberId, (id, current) -> --current.subscribers == 0 ? null : current);
+        if (remaining == null) {
+            updatePresence(memberId, false);
+        }
+    }
+
+    // presence 는 Mongo 호출이라 이벤트 루프 밖에서 한다
+    private void updatePresence(Long memberId, boolean connected) {
+        presenceRegistry.ifPresent(presence -> Schedulers.boundedElastic().schedule(() -> {
+            try {
+                if (connected) {
+                    presence.register(memberId);
+                } else if (!isConnected(memberId)) {
+                    presence.unregister(memberId);
+                }
+            } catch (Exception e) {
+                log.warn("SSE presence 갱신 실패 - memberId={}, error={}", memberId, e.getMessage());
+            }
+        }));
+    }
+
+    private static ServerSentEvent<String> event(Long notificationId, String message) {
+        return ServerSentEvent.<String>builder()
+                .id(notificationId != null ? String.valueOf(notificationId) : null)
+                .event(EVENT_NAME)
+                .data(message)
+                .build();
+    }
+
+    private static final class MemberStream {
+        // 구독자가 없어도 Sink 를 끝내지 않는다. 제거는 subscribers 가 0 이 될 때 직접 한다
+        private final Sinks.Many<ServerSentEvent<String>> sink = Sinks.many().multicast().directBestEffort();
+        // streams.compute 안에서만 바꾼다
+        private int subscribers;
+    }
+}
@@ -0,0 +1,80 @@
+package org.fortishop.notificationservice.sse.reactive;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.notificationservice.sse.SseProperties;
+import org.fortishop.notificationservice.utils.AuthHeaderUtils;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * reactive-sse 프로필에서 SSE 스트림만 Reactor Netty 로 별도 포트(notification.sse.reactive-port)에 띄운다.
+ * 나머지 API 는 그대로 서블릿 스택에서 처리하고, 게이트웨이가 /api/notifications/stream 만 이 포트로 보낸다.
+ */
+@Slf4j
+@Component
+@Profile("reactive-sse")
+@RequiredArgsConstructor
+public class ReactiveSseServer {
+
+    private final ReactiveSseHub hub;
+    private final SseProperties properties;
+
+    private DisposableServer server;
+
+    @PostConstruct
+    public void start() {
+        ReactorHttpHandlerAdapter adapter = new ReactorHttpHandlerAdapter(RouterFunctions.toHttpHandler(
+                RouterFunctions.route(RequestPredicates.GET("/api/notifications/stream"), this::stream)));
+        server = HttpServer.create()
+                .port(properties.getReactivePort())
+                .handle(adapter)
+                .bindNow();
+        log.info("Reactive SSE 서버 시작 - port={}", server.port());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (server != null) {
+            server.disposeNow();
+        }
+    }
+
+    private Mono<ServerResponse> stream(ServerRequest request) {
+        Long memberId;
+        try {
+            memberId = AuthHeaderUtils.extractMemberId(request.headers().firstHeader("x-member-id"));
+        } catch (IllegalArgumentException e) {
+            return ServerResponse.badRequest().bodyValue(e.getMessage());
+        }
+        Long lastEventId = parseEventId(request.headers().firstHeader("Last-Event-ID"));
+
+        return ServerResponse.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(BodyInserters.fromServerSentEvents(hub.connect(memberId, lastEventId)));
+    }
+
+    // 서블릿 스트림과 같이 숫자가 아닌 Last-Event-ID 는 없는 것으로 보고 재전송 없이 연결한다
+    static Long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
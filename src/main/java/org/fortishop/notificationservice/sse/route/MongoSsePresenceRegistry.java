@@ -0,0 +1,96 @@
+package org.fortishop.notificationservice.sse.route;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.notificationservice.domain.SsePresence;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mongo sse_presence 기반 presence.
+ * 노드는 heartbeatInterval 마다 자기 문서들의 heartbeatAt 을 한 번에 갱신하고, 죽은 노드의 문서는 presenceTtl 뒤 TTL 인덱스로 지워진다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "notification.sse.route", name = "enabled", havingValue = "true")
+public class MongoSsePresenceRegistry implements SsePresenceRegistry {
+
+    private final MongoOperations mongoOperations;
+    private final SseRouteProperties properties;
+    private final String nodeId;
+    private final ScheduledExecutorService heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sse-presence-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public MongoSsePresenceRegistry(MongoOperations mongoOperations, SseRouteProperties properties, SseNodeIdentity nodeIdentity) {
+        this.mongoOperations = mongoOperations;
+        this.properties = properties;
+        this.nodeId = nodeIdentity.getId();
+    }
+
+    @PostConstruct
+    public void init() {
+        mongoOperations.indexOps(SsePresence.class).ensureIndex(new Index()
+                .on("heartbeatAt", Sort.Direction.ASC)
+                .expire(properties.getPresenceTtl().toSeconds(), TimeUnit.SECONDS)
+                .named("heartbeatAt_ttl"));
+        long interval = properties.getHeartbeatInterval().toMillis();
+        heartbeatScheduler.scheduleWithFixedDelay(this::heartbeat, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeatScheduler.shutdownNow();
+        mongoOperations.remove(new Query(Criteria.where("nodeId").is(nodeId)), SsePresence.class);
+    }
+
+    @Override
+    public void register(Long memberId) {
+        mongoOperations.upsert(new Query(Criteria.where("_id").is(SsePresence.idOf(memberId, nodeId))),
+                new Update().set("memberId", memberId).set("nodeId", nodeId).set("heartbeatAt", new Date()),
+                SsePresence.class);
+    }
+
+    @Override
+    public void unregister(Long memberId) {
+        mongoOperations.remove(new Query(Criteria.where("_id").is(SsePresence.idOf(memberId, nodeId))), SsePresence.class);
+    }
+
+    @Override
+    public Map<Long, Set<String>> nodesOf(Collection<Long> memberIds) {
+        Query query = new Query(Criteria.where("memberId").in(memberIds));
+        query.fields().include("memberId").include("nodeId");
+        Map<Long, Set<String>> nodes = new HashMap<>();
+        for (SsePresence presence : mongoOperations.find(query, SsePresence.class)) {
+            nodes.computeIfAbsent(presence.getMemberId(), id -> new HashSet<>(4)).add(presence.getNodeId());
+        }
+        return nodes;
+    }
+
+    private void heartbeat() {
+        try {
+            mongoOperations.updateMulti(new Query(Criteria.where("nodeId").is(nodeId)),
+                    new Update().set("heartbeatAt", new Date()), SsePresence.class);
+        } catch (Exception e) {
+            log.warn("SSE presence 하트비트 실패 - nodeId={}, error={}", nodeId, e.getMessage());
+        }
+    }
+}
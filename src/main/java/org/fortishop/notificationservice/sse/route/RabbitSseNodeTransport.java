@@ -0,0 +1,43 @@
+package org.fortishop.notificationservice.sse.route;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 노드 ID 를 라우팅 키로 SSE 전달 묶음을 보낸다. 받는 쪽은 {@link SseRouteListener}.
+ * 연결이 살아 있는 동안만 의미가 있는 메시지라 영속화하지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "notification.sse.route", name = "enabled", havingValue = "true")
+public class RabbitSseNodeTransport implements SseNodeTransport {
+
+    private final RabbitTemplate rabbitTemplate;
+    private final ObjectMapper objectMapper;
+    private final SseRouteProperties properties;
+
+    @Override
+    public void send(String nodeId, List<SsePush> pushes) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(pushes);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("SSE 전달 직렬화 실패", e);
+        }
+
+        Message message = MessageBuilder.withBody(body)
+                .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+                .setDeliveryMode(MessageDeliveryMode.NON_PERSISTENT)
+                .build();
+        rabbitTemplate.send(properties.getExchange(), nodeId, message);
+    }
+}
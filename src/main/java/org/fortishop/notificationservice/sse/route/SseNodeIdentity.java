@@ -0,0 +1,22 @@
+package org.fortishop.notificationservice.sse.route;
+
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 이 레플리카의 SSE 노드 ID. 재시작하면 바뀌므로 이전 프로세스의 presence 와 섞이지 않는다.
+ */
+@Component
+public class SseNodeIdentity {
+
+    private final String id;
+
+    public SseNodeIdentity(@Value("${spring.cloud.bus.id:${spring.application.name:notification-service}}") String busId) {
+        this.id = busId + ":" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    public String getId() {
+        return id;
+    }
+}
@@ -0,0 +1,11 @@
+package org.fortishop.notificationservice.sse.route;
+
+import java.util.List;
+
+/**
+ * 노드 간 SSE 전달 수단. 받는 노드는 {@link SseRouter#receive(List)} 로 넘긴다.
+ */
+public interface SseNodeTransport {
+
+    void send(String nodeId, List<SsePush> pushes);
+}
@@ -0,0 +1,22 @@
+package org.fortishop.notificationservice.sse.route;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 회원 -> SSE 연결 노드 presence. 노드는 회원의 첫 연결에 등록하고 마지막 연결이 끊기면 해제한다.
+ */
+public interface SsePresenceRegistry {
+
+    void register(Long memberId);
+
+    void unregister(Long memberId);
+
+    /**
+     * 여러 회원의 연결 노드를 한 번에 조회한다.
+     *
+     * @return 회원 ID -> 연결된 노드 ID 들 (이 노드 포함), 연결이 없는 회원은 포함하지 않는다
+     */
+    Map<Long, Set<String>> nodesOf(Collection<Long> memberIds);
+}
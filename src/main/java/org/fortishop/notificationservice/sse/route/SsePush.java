@@ -0,0 +1,17 @@
+package org.fortishop.notificationservice.sse.route;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 다른 노드로 전달할 SSE 알림 하나.
+ */
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class SsePush {
+    private Long memberId;
+    private Long notificationId;
+    private String message;
+}
@@ -0,0 +1,33 @@
+package org.fortishop.notificationservice.sse.route;
+
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 노드별 SSE 전달 큐. Spring Cloud Bus 가 쓰는 RabbitMQ 연결을 그대로 쓴다.
+ * 큐는 노드 ID 로 바인딩하고, 노드가 내려가면 함께 지워진다. (exclusive, auto-delete)
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "notification.sse.route", name = "enabled", havingValue = "true")
+public class SseRouteConfig {
+
+    @Bean
+    public DirectExchange sseRouteExchange(SseRouteProperties properties) {
+        return new DirectExchange(properties.getExchange(), true, false);
+    }
+
+    @Bean
+    public Queue sseNodeQueue(SseNodeIdentity nodeIdentity) {
+        return new Queue("notification.sse." + nodeIdentity.getId(), false, true, true);
+    }
+
+    @Bean
+    public Binding sseNodeBinding(Queue sseNodeQueue, DirectExchange sseRouteExchange, SseNodeIdentity nodeIdentity) {
+        return BindingBuilder.bind(sseNodeQueue).to(sseRouteExchange).with(nodeIdentity.getId());
+    }
+}
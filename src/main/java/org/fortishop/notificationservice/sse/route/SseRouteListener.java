@@ -0,0 +1,37 @@
+package org.fortishop.notificationservice.sse.route;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 이 노드 큐로 전달된 SSE 알림을 받아 연결로 보낸다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "notification.sse.route", name = "enabled", havingValue = "true")
+public class SseRouteListener {
+
+    private static final TypeReference<List<SsePush>> PUSHES = new TypeReference<>() {
+    };
+
+    private final SseRouter sseRouter;
+    private final ObjectMapper objectMapper;
+
+    @RabbitListener(queues = "#{sseNodeQueue.name}")
+    public void onMessage(Message message) {
+        try {
+            sseRouter.receive(objectMapper.readValue(message.getBody(), PUSHES));
+        } catch (IOException e) {
+            log.warn("SSE 전달 메시지 역직렬화 실패 - error={}", e.getMessage());
+        }
+    }
+}
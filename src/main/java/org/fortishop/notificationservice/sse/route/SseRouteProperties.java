@@ -0,0 +1,26 @@
+package org.fortishop.notificationservice.sse.route;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "notification.sse.route")
+@Getter
+@Setter
+public class SseRouteProperties {
+
+    // 레플리카 간 SSE 전달 (회원이 연결된 노드로 AMQP 전달)
+    private boolean enabled = false;
+    private String exchange = "notification.sse.route";
+    // 같은 노드로 가는 전달을 모으는 시간과 최대 개수
+    private Duration batchWindow = Duration.ofMillis(10);
+    private int batchMaxSize = 200;
+    // presence 조회를 기다리는 알림 상한, 넘치면 이 노드에만 보낸다
+    private int resolveQueueCapacity = 10_000;
+    // 하트비트가 끊긴 노드의 presence 는 이 시간이 지나면 TTL 인덱스로 지워진다
+    private Duration presenceTtl = Duration.ofSeconds(90);
+    private Duration heartbeatInterval = Duration.ofSeconds(30);
+}
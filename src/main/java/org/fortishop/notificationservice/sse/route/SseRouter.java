@@ -0,0 +1,257 @@
+package org.fortishop.notificationservice.sse.route;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.notificationservice.sse.SseMemberChannel;
+import org.springframework.stereotype.Component;
+
+/**
+ * SSE 알림을 회원이 연결된 노드로 보낸다.
+ * 이 노드에 연결이 있으면 바로 전송하고, 다른 노드는 노드별로 batchWindow 동안 모아 한 메시지로 전달한다.
+ * 라우팅이 꺼져 있으면(notification.sse.route.enabled=false) 이 노드에만 전송한다.
+ * 이 노드의 전송은 활성화된 모든 스트림 구현(서블릿 SseEmitter, reactive-sse 프로필의 WebFlux)으로 보낸다.
+ * <p>
+ * {@link #send} 는 호출 스레드(Kafka 리스너)에서 presence 를 조회하지 않는다. 이 노드에 연결이 있으면 바로 큐에 넣고,
+ * 라우팅할 알림은 대기열에 넣은 뒤 반환한다. 전용 스레드가 대기열을 batchMaxSize 씩 꺼내 presence 를 한 번에 조회하고
+ * 들어온 순서대로 노드별 outbox 에 넣는다. 대기열이 resolveQueueCapacity 를 넘으면 이 노드에만 보낸다.
+ */
+@Slf4j
+@Component
+public class SseRouter {
+
+    private final List<SseMemberChannel> channels;
+    private final Optional<SsePresenceRegistry> presenceRegistry;
+    private final Optional<SseNodeTransport> transport;
+    private final String nodeId;
+    private final long windowMillis;
+    private final int maxSize;
+    private final int resolveQueueCapacity;
+    private final Map<String, Outbox> outboxes = new ConcurrentHashMap<>();
+    private final Queue<PendingRoute> unresolved = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger unresolvedCount = new AtomicInteger();
+    private final AtomicBoolean resolveScheduled = new AtomicBoolean();
+    private final ExecutorService resolver = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sse-route-resolve");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "sse-route-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Counter routedLocal;
+    private final Counter routedRemote;
+    private final Counter routeFailed;
+
+    public SseRouter(List<SseMemberChannel> channels,
+                     Optional<SsePresenceRegistry> presenceRegistry,
+                     Optional<SseNodeTransport> transport,
+                     SseNodeIdentity nodeIdentity,
+                     SseRouteProperties properties,
+                     MeterRegistry meterRegistry) {
+        this.channels = channels;
+        this.presenceRegistry = presenceRegistry;
+        this.transport = transport;
+        this.nodeId = nodeIdentity.getId();
+        this.windowMillis = properties.getBatchWindow().toMillis();
+        this.maxSize = properties.getBatchMaxSize();
+        this.resolveQueueCapacity = properties.getResolveQueueCapacity();
+        this.routedLocal = routedCounter(meterRegistry, "local");
+        this.routedRemote = routedCounter(meterRegistry, "remote");
+        this.routeFailed = Counter.builder("sse_route_failed")
+                .description("다른 노드로 전달하지 못한 SSE 알림 수")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        resolver.shutdownNow();
+        scheduler.shutdownNow();
+    }
+
+    public void send(Long memberId, Long notificationId, String message) {
+        if (presenceRegistry.isEmpty() || transport.isEmpty()) {
+            deliverLocally(memberId, notificationId, message);
+            return;
+        }
+
+        // 이 노드의 연결은 presence 를 기다리지 않고 바로 보낸다
+        boolean deliveredLocally = isConnectedLocally(memberId);
+        if (deliveredLocally) {
+            deliverLocally(memberId, notificationId, message);
+        }
+
+        if (unresolvedCount.incrementAndGet() > resolveQueueCapacity) {
+            unresolvedCount.decrementAndGet();
+            routeFailed.increment();
+            log.warn("SSE 라우팅 대기열 초과, 이 노드에만 전송 - memberId={}", memberId);
+            if (!deliveredLocally) {
+                deliverLocally(memberId, notificationId, message);
+            }
+            return;
+        }
+        unresolved.add(new PendingRoute(new SsePush(memberId, notificationId, message), deliveredLocally));
+        if (resolveScheduled.compareAndSet(false, true)) {
+            resolver.execute(this::resolvePending);
+        }
+    }
+
+    /**
+     * 다른 노드에서 전달받은 알림을 이 노드의 연결로 보낸다.
+     */
+    public void receive(List<SsePush> pushes) {
+        for (SsePush push : pushes) {
+            deliverLocally(push.getMemberId(), push.getNotificationId(), push.getMessage());
+        }
+    }
+
+    private void resolvePending() {
+        // 플래그를 먼저 내려야 drain 이후 들어온 알림이 다음 처리를 예약한다
+        resolveScheduled.set(false);
+        while (true) {
+            List<PendingRoute> batch = new ArrayList<>(Math.min(maxSize, unresolvedCount.get()));
+            PendingRoute route;
+            while (batch.size() < maxSize && (route = unresolved.poll()) != null) {
+                batch.add(route);
+            }
+            unresolvedCount.addAndGet(-batch.size());
+            if (batch.isEmpty()) {
+                return;
+            }
+            route(batch);
+        }
+    }
+
+    private void route(List<PendingRoute> batch) {
+        Set<Long> memberIds = new HashSet<>();
+        batch.forEach(route -> memberIds.add(route.push.getMemberId()));
+
+        Map<Long, Set<String>> nodesByMember;
+        try {
+            nodesByMember = presenceRegistry.get().nodesOf(memberIds);
+        } catch (Exception e) {
+            // presence 를 못 읽으면 이 노드에만 보낸다. 다른 노드의 클라이언트는 재연결 시 Mongo 에서 복구한다
+            log.warn("SSE presence 조회 실패 - size={}, error={}", memberIds.size(), e.getMessage());
+            nodesByMember = Map.of();
+        }
+
+        for (PendingRoute route : batch) {
+            SsePush push = route.push;
+            Set<String> nodes = nodesByMember.getOrDefault(push.getMemberId(), Set.of());
+            for (String node : nodes) {
+                if (!node.equals(nodeId)) {
+                    outbox(node).add(push);
+                }
+            }
+            // presence 반영 전이라도 이 노드에 연결이 있으면 보낸다. 연결이 어디에도 없으면 재전송 버퍼에만 남는다
+            if (!route.deliveredLocally && (nodes.isEmpty() || nodes.contains(nodeId) || isConnectedLocally(push.getMemberId()))) {
+                deliverLocally(push.getMemberId(), push.getNotificationId(), push.getMessage());
+            }
+        }
+    }
+
+    private void deliverLocally(Long memberId, Long notificationId, String message) {
+        routedLocal.increment();
+        for (SseMemberChannel channel : channels) {
+            channel.sendToUser(memberId, notificationId, message);
+        }
+    }
+
+    private boolean isConnectedLocally(Long memberId) {
+        for (SseMemberChannel channel : channels) {
+            if (channel.isConnected(memberId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Outbox outbox(String node) {
+        return outboxes.computeIfAbsent(node, Outbox::new);
+    }
+
+    private static Counter routedCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("sse_routed")
+                .description("전송한 SSE 알림 수 (이 노드 / 다른 노드)")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    private static class PendingRoute {
+        private final SsePush push;
+        private final boolean deliveredLocally;
+
+        private PendingRoute(SsePush push, boolean deliveredLocally) {
+            this.push = push;
+            this.deliveredLocally = deliveredLocally;
+        }
+    }
+
+    /**
+     * 노드별 전달 대기열. window 동안 모으고 maxSize 에 도달하면 바로 보낸다. ({@code OrderMemberBatcher} 와 같은 방식)
+     */
+    private class Outbox {
+        private final String node;
+        private final Queue<SsePush> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+        private Outbox(String node) {
+            this.node = node;
+        }
+
+        private void add(SsePush push) {
+            pending.add(push);
+            if (pendingCount.incrementAndGet() >= maxSize) {
+                scheduler.execute(this::flush);
+            } else if (flushScheduled.compareAndSet(false, true)) {
+                scheduler.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        private void flush() {
+            flushScheduled.set(false);
+            while (true) {
+                List<SsePush> batch = new ArrayList<>(Math.min(maxSize, pendingCount.get()));
+                SsePush push;
+                while (batch.size() < maxSize && (push = pending.poll()) != null) {
+                    batch.add(push);
+                }
+                pendingCount.addAndGet(-batch.size());
+                if (batch.isEmpty()) {
+                    return;
+                }
+
+                try {
+                    transport.get().send(node, batch);
+                    routedRemote.increment(batch.size());
+                } catch (Exception e) {
+                    routeFailed.increment(batch.size());
+                    log.warn("SSE 노드 전달 실패 - node={}, size={}, error={}", node, batch.size(), e.getMessage());
+                }
+                if (batch.size() < maxSize) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package org.fortishop.notificationservice.template;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 리터럴/변수 구간으로 미리 나눈 템플릿. 서식 지시자({amount:currency})도 컴파일 시점에 해석해 둔다.
+ * 알 수 없는 변수나 지시자, 값이 없는 변수는 원문 {name} 을 그대로 남긴다. (기존 String.replace 동작과 같다)
+ */
+public final class CompiledTemplate {
+
+    private static final int MAX_RETAINED_CAPACITY = 4_096;
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    private final Long templateId;
+    private final int version;
+    private final String source;
+    // literals[i] 다음에 variables[i] 가 온다. 마지막 리터럴 뒤에는 변수가 없다
+    private final String[] literals;
+    private final TemplateVariable[] variables;
+    private final TemplateFormat[] formats;
+    private final String[] placeholders;
+    private final int estimatedLength;
+
+    private CompiledTemplate(Long templateId, int version, String source,
+                             String[] literals, TemplateVariable[] variables, TemplateFormat[] formats,
+                             String[] placeholders) {
+        this.templateId = templateId;
+        this.version = version;
+        this.source = source;
+        this.literals = literals;
+        this.variables = variables;
+        this.formats = formats;
+        this.placeholders = placeholders;
+        this.estimatedLength = source.length() + variables.length * 8;
+    }
+
+    public static CompiledTemplate compile(String source) {
+        return compile(null, 0, source);
+    }
+
+    public static CompiledTemplate compile(Long templateId, int version, String source) {
+        List<String> literals = new ArrayList<>();
+        List<TemplateVariable> variables = new ArrayList<>();
+        List<TemplateFormat> formats = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+
+        StringBuilder literal = new StringBuilder();
+        int index = 0;
+        while (index < source.length()) {
+            int open = source.indexOf('{', index);
+            int close = open < 0 ? -1 : source.indexOf('}', open + 1);
+            if (open < 0 || close < 0) {
+                literal.append(source, index, source.length());
+                break;
+            }
+            // "{ {orderId}" 처럼 중첩되면 닫는 괄호에 가장 가까운 여는 괄호를 쓴다
+            open = source.lastIndexOf('{', close);
+
+            String placeholder = source.substring(open, close + 1);
+            String name = placeholder.substring(1, placeholder.length() - 1);
+            TemplateFormat format = TemplateFormat.NONE;
+            int colon = name.indexOf(':');
+            if (colon >= 0) {
+                format = TemplateFormat.fromDirective(name.substring(colon + 1));
+                name = name.substring(0, colon);
+            }
+            TemplateVariable variable = TemplateVariable.fromName(name);
+            literal.append(source, index, open);
+            if (variable == null || format == null) {
+                literal.append(placeholder);
+            } else {
+                literals.add(literal.toString());
+                variables.add(variable);
+                formats.add(format);
+                placeholders.add(placeholder);
+                literal.setLength(0);
+            }
+            index = close + 1;
+        }
+        literals.add(literal.toString());
+
+        return new CompiledTemplate(templateId, version, source,
+                literals.toArray(String[]::new),
+                variables.toArray(TemplateVariable[]::new),
+                formats.toArray(TemplateFormat[]::new),
+                placeholders.toArray(String[]::new));
+    }
+
+    public String render(TemplateValues values) {
+        if (variables.length == 0) {
+            return source;
+        }
+
+        StringBuilder buffer = BUFFER.get();
+        if (buffer.capacity() > MAX_RETAINED_CAPACITY) {
+            buffer = new StringBuilder(estimatedLength);
+            BUFFER.set(buffer);
+        }
+        buffer.setLength(0);
+
+        for (int i = 0; i < variables.length; i++) {
+            buffer.append(literals[i]);
+            Object value = values.get(variables[i]);
+            buffer.append(value != null ? formats[i].format(value) : placeholders[i]);
+        }
+        buffer.append(literals[variables.length]);
+        return buffer.toString();
+    }
+
+    /**
+     * 템플릿 참조로 저장할 변수 맵. 이 템플릿이 쓰는 변수 중 값이 있는 것만, 서식을 적용하지 않은 문자열로 담는다.
+     */
+    public Map<String, String> variablesOf(TemplateValues values) {
+        Map<String, String> used = new HashMap<>(variables.length * 2);
+        for (TemplateVariable variable : variables) {
+            String value = values.text(variable);
+            if (value != null) {
+                used.put(variable.getName(), value);
+            }
+        }
+        return used;
+    }
+
+    public boolean uses(TemplateVariable variable) {
+        for (TemplateVariable used : variables) {
+            if (used == variable) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public Long getTemplateId() {
+        return templateId;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public String getSource() {
+        return source;
+    }
+}
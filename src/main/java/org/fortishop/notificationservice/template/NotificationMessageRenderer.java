@@ -0,0 +1,102 @@
+package org.fortishop.notificationservice.template;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.notificationservice.domain.Notification;
+import org.fortishop.notificationservice.domain.NotificationTemplateRevision;
+import org.fortishop.notificationservice.repository.NotificationTemplateRepository;
+import org.fortishop.notificationservice.repository.NotificationTemplateRevisionRepository;
+import org.springframework.stereotype.Component;
+
+/**
+ * 템플릿 참조로 저장한 알림을 조회 시점에 렌더링한다. 메시지가 저장된 기존 알림은 그대로 반환한다.
+ * 리비전과 변수는 바뀌지 않으므로 렌더링 결과(알림 ID 별)와 컴파일된 리비전을 크기 제한 캐시에 둔다.
+ * 리비전을 찾지 못하면 유형별 기본 문구를 반환하고 결과를 캐시하지 않는다. 없는 리비전은 missing-revision-ttl 동안만
+ * 기억하므로 나중에 리비전이 채워지면 그 뒤 조회부터 렌더링된다.
+ */
+@Slf4j
+@Component
+public class NotificationMessageRenderer {
+
+    private final NotificationTemplateRevisionRepository revisionRepository;
+    private final NotificationTemplateRepository templateRepository;
+    private final Cache<Long, String> rendered;
+    private final Cache<String, CompiledTemplate> revisions;
+    private final Cache<String, Boolean> missingRevisions;
+
+    public NotificationMessageRenderer(NotificationTemplateRevisionRepository revisionRepository,
+                                       NotificationTemplateRepository templateRepository,
+                                       TemplateStorageProperties properties,
+                                       MeterRegistry meterRegistry) {
+        this.revisionRepository = revisionRepository;
+        this.templateRepository = templateRepository;
+        this.rendered = Caffeine.newBuilder()
+                .maximumSize(properties.getRenderCacheSize())
+                .recordStats()
+                .build();
+        this.revisions = Caffeine.newBuilder()
+                .maximumSize(properties.getRevisionCacheSize())
+                .build();
+        this.missingRevisions = Caffeine.newBuilder()
+                .maximumSize(properties.getRevisionCacheSize())
+                .expireAfterWrite(properties.getMissingRevisionTtl())
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, rendered, "notification_render");
+    }
+
+    public String render(Notification notification) {
+        if (!notification.isTemplated()) {
+            return notification.getMessage();
+        }
+        // 매핑 함수가 null 을 반환하면 캐시에 남지 않는다
+        String message = rendered.get(notification.getId(), id -> renderTemplated(notification));
+        return message != null ? message : fallbackMessage(notification);
+    }
+
+    private String renderTemplated(Notification notification) {
+        int version = notification.getTemplateVersion() != null ? notification.getTemplateVersion() : 1;
+        String revisionId = NotificationTemplateRevision.idOf(notification.getTemplateId(), version);
+        CompiledTemplate template = missingRevisions.getIfPresent(revisionId) != null
+                ? null
+                : revisions.get(revisionId, id -> loadRevision(notification.getTemplateId(), version, id));
+
+        if (template == null) {
+            missingRevisions.put(revisionId, Boolean.TRUE);
+            log.warn("템플릿 리비전 없음 - notificationId={}, templateId={}, version={}",
+                    notification.getId(), notification.getTemplateId(), version);
+            return null;
+        }
+        return template.render(TemplateValues.from(notification.getVariables()));
+    }
+
+    private CompiledTemplate loadRevision(Long templateId, int version, String revisionId) {
+        Optional<CompiledTemplate> revision = revisionRepository.findById(revisionId)
+                .map(r -> CompiledTemplate.compile(r.getTemplateId(), r.getVersion(), r.getMessage()));
+        if (revision.isPresent()) {
+            return revision.get();
+        }
+        // 리비전이 아직 없으면 현재 템플릿이 같은 버전일 때만 쓴다
+        return templateRepository.findById(templateId)
+                .filter(t -> t.getVersion() == version)
+                .map(t -> CompiledTemplate.compile(t.getId(), t.getVersion(), t.getMessage()))
+                .orElse(null);
+    }
+
+    // 리비전을 잃은 알림도 빈 메시지로 보이지 않게 유형별 기본 문구를 쓴다
+    private static String fallbackMessage(Notification notification) {
+        String message = switch (notification.getType()) {
+            case ORDER -> "주문 알림이 도착했습니다.";
+            case DELIVERY -> "배송 알림이 도착했습니다.";
+            case POINT -> "포인트 알림이 도착했습니다.";
+            case SYSTEM -> "시스템 알림이 도착했습니다.";
+        };
+        String orderId = notification.getVariables() != null
+                ? notification.getVariables().get(TemplateVariable.ORDER_ID.getName())
+                : null;
+        return orderId != null ? message + " (주문번호 " + orderId + ")" : message;
+    }
+}
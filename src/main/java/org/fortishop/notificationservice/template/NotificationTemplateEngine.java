@@ -0,0 +1,100 @@
+package org.fortishop.notificationservice.template;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.fortishop.notificationservice.bus.NotificationTemplateChangedEvent;
+import org.fortishop.notificationservice.domain.NotificationTemplate;
+import org.fortishop.notificationservice.domain.NotificationTemplateRevision;
+import org.fortishop.notificationservice.domain.NotificationType;
+import org.fortishop.notificationservice.repository.NotificationTemplateRepository;
+import org.fortishop.notificationservice.repository.NotificationTemplateRevisionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 알림 유형별 템플릿을 한 번만 읽고 컴파일해 캐시한다. 템플릿이 없는 유형도 캐시한다.
+ * 템플릿이 바뀌면 {@link NotificationTemplateChangedEvent} 를 Spring Cloud Bus 로 보내 모든 인스턴스에서 무효화한다.
+ */
+@Slf4j
+@Component
+public class NotificationTemplateEngine {
+
+    private final NotificationTemplateRepository templateRepository;
+    private final NotificationTemplateRevisionRepository revisionRepository;
+    private final TemplateStorageProperties storageProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String busId;
+    private final Map<NotificationType, Optional<CompiledTemplate>> templates = new ConcurrentHashMap<>();
+
+    public NotificationTemplateEngine(NotificationTemplateRepository templateRepository,
+                                      NotificationTemplateRevisionRepository revisionRepository,
+                                      TemplateStorageProperties storageProperties,
+                                      ApplicationEventPublisher eventPublisher,
+                                      @Value("${spring.cloud.bus.id:${spring.application.name:notification-service}}") String busId) {
+        this.templateRepository = templateRepository;
+        this.revisionRepository = revisionRepository;
+        this.storageProperties = storageProperties;
+        this.eventPublisher = eventPublisher;
+        this.busId = busId;
+    }
+
+    /**
+     * 유형의 템플릿으로 렌더링한다. 템플릿이 없으면 fallbackMessage 를 반환한다.
+     */
+    public String render(NotificationType type, TemplateValues values, String fallbackMessage) {
+        return find(type)
+                .map(template -> template.render(values))
+                .orElse(fallbackMessage);
+    }
+
+    /**
+     * 유형의 컴파일된 템플릿. 템플릿 ID/버전과 변수 맵으로 알림을 저장할 때 쓴다.
+     */
+    public Optional<CompiledTemplate> find(NotificationType type) {
+        return templates.computeIfAbsent(type, this::load);
+    }
+
+    /**
+     * 모든 인스턴스의 캐시에서 유형의 템플릿을 무효화한다.
+     */
+    public void evictEverywhere(NotificationType type) {
+        templates.remove(type);
+        eventPublisher.publishEvent(new NotificationTemplateChangedEvent(this, busId, type));
+    }
+
+    public void invalidateAll() {
+        templates.clear();
+    }
+
+    @EventListener
+    public void onTemplateChanged(NotificationTemplateChangedEvent event) {
+        log.debug("템플릿 캐시 무효화 - type={}, origin={}", event.getType(), event.getOriginService());
+        if (event.getType() == null) {
+            templates.clear();
+            return;
+        }
+        templates.remove(event.getType());
+    }
+
+    private Optional<CompiledTemplate> load(NotificationType type) {
+        return templateRepository.findByType(type)
+                .map(template -> {
+                    if (storageProperties.isRenderOnRead()) {
+                        ensureRevision(template);
+                    }
+                    return CompiledTemplate.compile(template.getId(), template.getVersion(), template.getMessage());
+                });
+    }
+
+    // 리비전 저장 이전에 만들어진 템플릿도 참조로 저장한 알림을 렌더링할 수 있어야 한다
+    private void ensureRevision(NotificationTemplate template) {
+        String revisionId = NotificationTemplateRevision.idOf(template.getId(), template.getVersion());
+        if (!revisionRepository.existsById(revisionId)) {
+            revisionRepository.save(NotificationTemplateRevision.of(template));
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package org.fortishop.notificationservice.template;
+
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
+import java.util.Locale;
+
+/**
+ * 변수 서식 지시자. 템플릿에는 {amount:currency}, {timestamp:date} 처럼 적는다.
+ * 지시자는 컴파일 시점에 해석하고, 포매터는 스레드별(NumberFormat) 또는 전역(DateTimeFormatter, 불변) 인스턴스를 재사용한다.
+ * 서식을 적용할 수 없는 값은 원래 문자열을 그대로 쓴다.
+ */
+public enum TemplateFormat {
+    NONE(null),
+    // 1,234,567
+    NUMBER("number"),
+    // ₩1,234,567
+    CURRENCY("currency"),
+    // 2025.01.31
+    DATE("date"),
+    // 2025.01.31 14:05
+    DATETIME("datetime");
+
+    static final Locale LOCALE = Locale.KOREA;
+    static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+
+    private static final ThreadLocal<NumberFormat> NUMBER_FORMAT =
+            ThreadLocal.withInitial(() -> NumberFormat.getNumberInstance(LOCALE));
+    private static final ThreadLocal<NumberFormat> CURRENCY_FORMAT =
+            ThreadLocal.withInitial(() -> NumberFormat.getCurrencyInstance(LOCALE));
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy.MM.dd", LOCALE);
+    private static final DateTimeFormatter DATETIME_FORMAT = DateTimeFormatter.ofPattern("yyyy.MM.dd HH:mm", LOCALE);
+
+    private final String directive;
+
+    TemplateFormat(String directive) {
+        this.directive = directive;
+    }
+
+    /**
+     * @return 지시자에 해당하는 서식, 없으면 null
+     */
+    public static TemplateFormat fromDirective(String directive) {
+        for (TemplateFormat format : values()) {
+            if (format.directive != null && format.directive.equals(directive)) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    String format(Object value) {
+        return switch (this) {
+            case NONE -> value.toString();
+            case NUMBER -> formatNumber(NUMBER_FORMAT.get(), value);
+            case CURRENCY -> formatNumber(CURRENCY_FORMAT.get(), value);
+            case DATE -> formatTemporal(DATE_FORMAT, value);
+            case DATETIME -> formatTemporal(DATETIME_FORMAT, value);
+        };
+    }
+
+    private static String formatNumber(NumberFormat format, Object value) {
+        if (value instanceof Long || value instanceof Integer) {
+            return format.format(((Number) value).longValue());
+        }
+        if (value instanceof Number) {
+            return format.format(value);
+        }
+        // 참조로 저장된 변수는 문자열로 돌아온다
+        try {
+            return format.format(new BigDecimal(value.toString()));
+        } catch (NumberFormatException e) {
+            return value.toString();
+        }
+    }
+
+    private static String formatTemporal(DateTimeFormatter format, Object value) {
+        TemporalAccessor temporal = toTemporal(value);
+        if (temporal == null) {
+            return value.toString();
+        }
+        try {
+            return format.format(temporal);
+        } catch (DateTimeException e) {
+            // 날짜만 있는 값에 datetime 지시자를 쓴 경우 등
+            return value.toString();
+        }
+    }
+
+    private static TemporalAccessor toTemporal(Object value) {
+        if (value instanceof LocalDateTime || value instanceof LocalDate || value instanceof ZonedDateTime) {
+            return (TemporalAccessor) value;
+        }
+        if (value instanceof OffsetDateTime offsetDateTime) {
+            return offsetDateTime.atZoneSameInstant(ZONE);
+        }
+        if (value instanceof Instant instant) {
+            return instant.atZone(ZONE);
+        }
+        String text = value.toString();
+        try {
+            return LocalDateTime.parse(text);
+        } catch (DateTimeParseException ignored) {
+            // 오프셋이 붙은 형식(2025-01-31T14:05:00Z 등)을 이어서 시도한다
+        }
+        try {
+            return OffsetDateTime.parse(text).atZoneSameInstant(ZONE);
+        } catch (DateTimeParseException ignored) {
+            // 날짜만 있는 형식을 이어서 시도한다
+        }
+        try {
+            return LocalDate.parse(text);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package org.fortishop.notificationservice.template;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "notification.storage")
+@Getter
+@Setter
+public class TemplateStorageProperties {
+
+    // 렌더링된 메시지 대신 템플릿 ID/버전 + 변수 맵을 저장하고 조회 시 렌더링한다
+    private boolean renderOnRead = false;
+    // 알림 ID 별 렌더링 결과 캐시 크기
+    private long renderCacheSize = 100_000;
+    // 컴파일된 템플릿 리비전 캐시 크기
+    private long revisionCacheSize = 1_000;
+    // 찾지 못한 리비전을 기억하는 시간, 지나면 다시 조회해 나중에 채워진 리비전을 반영한다
+    private Duration missingRevisionTtl = Duration.ofSeconds(30);
+}
@@ -0,0 +1,46 @@
+package org.fortishop.notificationservice.template;
+
+import java.util.Map;
+
+/**
+ * 렌더링에 쓸 변수 값. {@link TemplateVariable} ordinal 로 접근하는 고정 크기 배열이다.
+ */
+public final class TemplateValues {
+
+    // 서식 지시자가 원래 타입(숫자, 날짜)으로 포맷할 수 있도록 값은 변환하지 않고 담는다
+    private final Object[] values = new Object[TemplateVariable.values().length];
+
+    public static TemplateValues create() {
+        return new TemplateValues();
+    }
+
+    public TemplateValues with(TemplateVariable variable, Object value) {
+        values[variable.ordinal()] = value;
+        return this;
+    }
+
+    Object get(TemplateVariable variable) {
+        return values[variable.ordinal()];
+    }
+
+    String text(TemplateVariable variable) {
+        Object value = values[variable.ordinal()];
+        return value != null ? value.toString() : null;
+    }
+
+    /**
+     * 저장된 변수 맵에서 값을 복원한다. 알 수 없는 이름은 무시한다.
+     */
+    public static TemplateValues from(Map<String, String> variables) {
+        TemplateValues values = new TemplateValues();
+        if (variables != null) {
+            variables.forEach((name, value) -> {
+                TemplateVariable variable = TemplateVariable.fromName(name);
+                if (variable != null) {
+                    values.with(variable, value);
+                }
+            });
+        }
+        return values;
+    }
+}
@@ -0,0 +1,32 @@
+package org.fortishop.notificationservice.template;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 템플릿에서 쓸 수 있는 변수. 템플릿 메시지에는 {name} 또는 {name:서식} 형태로 적는다. ({@link TemplateFormat})
+ */
+@Getter
+@RequiredArgsConstructor
+public enum TemplateVariable {
+    ORDER_ID("orderId"),
+    AMOUNT("amount"),
+    TRACKING_NUMBER("trackingNumber"),
+    TIMESTAMP("timestamp");
+
+    private static final Map<String, TemplateVariable> BY_NAME = Arrays.stream(values())
+            .collect(Collectors.toUnmodifiableMap(TemplateVariable::getName, Function.identity()));
+
+    private final String name;
+
+    /**
+     * @return 이름에 해당하는 변수, 없으면 null
+     */
+    public static TemplateVariable fromName(String name) {
+        return BY_NAME.get(name);
+    }
+}
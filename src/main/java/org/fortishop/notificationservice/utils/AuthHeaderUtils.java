@@ -5,7 +5,10 @@ import jakarta.servlet.http.HttpServletRequest;
 public class AuthHeaderUtils {
 
     public static Long extractMemberId(HttpServletRequest request) {
-        String idHeader = request.getHeader("x-member-id");
+        return extractMemberId(request.getHeader("x-member-id"));
+    }
+
+    public static Long extractMemberId(String idHeader) {
         if (idHeader == null || idHeader.isBlank()) {
             throw new IllegalArgumentException("x-member-id 헤더가 없습니다.");
         }
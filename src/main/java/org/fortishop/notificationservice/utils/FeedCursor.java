@@ -0,0 +1,55 @@
+package org.fortishop.notificationservice.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import lombok.Getter;
+import org.fortishop.notificationservice.domain.Notification;
+import org.fortishop.notificationservice.exception.NotificationException;
+import org.fortishop.notificationservice.exception.NotificationExceptionType;
+
+/**
+ * 알림 피드 커서. 마지막으로 받은 알림의 (createdAt, id) 를 "epochMillis:id" 로 적어 base64url 로 감춘다.
+ * 다음 페이지는 이 위치보다 오래된 알림부터 인덱스를 이어서 읽는다.
+ */
+@Getter
+public final class FeedCursor {
+
+    private final LocalDateTime createdAt;
+    private final Long id;
+
+    private FeedCursor(LocalDateTime createdAt, Long id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public static FeedCursor of(Notification last) {
+        return new FeedCursor(last.getCreatedAt(), last.getId());
+    }
+
+    /**
+     * @return 커서가 없으면 null (첫 페이지)
+     */
+    public static FeedCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            long epochMillis = Long.parseLong(raw.substring(0, separator));
+            long id = Long.parseLong(raw.substring(separator + 1));
+            return new FeedCursor(LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC), id);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new NotificationException(NotificationExceptionType.INVALID_CURSOR);
+        }
+    }
+
+    // Mongo Date 는 밀리초까지만 저장하므로 밀리초로 적어도 위치가 바뀌지 않는다
+    public String encode() {
+        String raw = createdAt.toInstant(ZoneOffset.UTC).toEpochMilli() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,83 @@
+package org.fortishop.notificationservice.utils;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 헤지 요청 정책.
+ * <ul>
+ *     <li>지연 기준: 단건 조회 지연의 누적 백분위(p95 등)를 minDelay ~ maxDelay 범위로 제한해 쓴다.
+ *     측정값이 없으면 maxDelay 를 쓴다. 스냅샷 비용 때문에 1초에 한 번만 다시 계산한다.</li>
+ *     <li>예산: 요청마다 budgetRatio 만큼 토큰을 적립하고 헤지 한 번에 토큰 하나를 쓴다.
+ *     추가 부하는 전체 요청의 budgetRatio 를 넘지 않는다. (적립 상한 maxBurst)</li>
+ * </ul>
+ */
+class HedgingPolicy {
+
+    private static final long REFRESH_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Timer latency;
+    private final double percentile;
+    private final long minDelayMillis;
+    private final long maxDelayMillis;
+    private final double budgetRatio;
+    private final double maxBurst;
+    private final LongSupplier nanoClock;
+
+    private double tokens;
+    private volatile long delayMillis;
+    private volatile long refreshedAt;
+
+    HedgingPolicy(Timer latency, OrderClientProperties.Hedging hedging, LongSupplier nanoClock) {
+        this.latency = latency;
+        this.percentile = hedging.getPercentile();
+        this.minDelayMillis = hedging.getMinDelay().toMillis();
+        this.maxDelayMillis = hedging.getMaxDelay().toMillis();
+        this.budgetRatio = hedging.getBudgetRatio();
+        this.maxBurst = hedging.getMaxBurst();
+        this.nanoClock = nanoClock;
+        this.delayMillis = maxDelayMillis;
+        this.refreshedAt = nanoClock.getAsLong() - REFRESH_INTERVAL_NANOS;
+    }
+
+    long delayMillis() {
+        long now = nanoClock.getAsLong();
+        if (now - refreshedAt >= REFRESH_INTERVAL_NANOS) {
+            refreshedAt = now;
+            delayMillis = computeDelayMillis();
+        }
+        return delayMillis;
+    }
+
+    synchronized void onRequest() {
+        tokens = Math.min(maxBurst, tokens + budgetRatio);
+    }
+
+    synchronized boolean tryAcquire() {
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    // 토큰을 얻은 뒤 헤지를 보내지 않게 되면 돌려준다
+    synchronized void refund() {
+        tokens = Math.min(maxBurst, tokens + 1);
+    }
+
+    private long computeDelayMillis() {
+        for (ValueAtPercentile value : latency.takeSnapshot().percentileValues()) {
+            if (value.percentile() == percentile) {
+                double millis = value.value(TimeUnit.MILLISECONDS);
+                if (Double.isNaN(millis) || millis <= 0) {
+                    return maxDelayMillis;
+                }
+                return Math.max(minDelayMillis, Math.min(maxDelayMillis, (long) Math.ceil(millis)));
+            }
+        }
+        return maxDelayMillis;
+    }
+}
@@ -1,52 +1,522 @@
 package org.fortishop.notificationservice.utils;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.transport.RequestReplySenderContext;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.DoubleStream;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+/**
+ * order-payment-service 주문 회원 조회 클라이언트.
+ * <ul>
+ *     <li>AsyncCache: 같은 orderId 에 대한 동시 조회는 진행 중인 하나의 호출을 공유한다. (single-flight)</li>
+ *     <li>마이크로 배치: batch.window 동안 모인 조회를 bulk 엔드포인트 한 번으로 해석한다.
+ *     bulk 엔드포인트가 없으면(404/405/501) 이후로는 단건 호출을 병렬로 보낸다.</li>
+ *     <li>JDK HttpClient 로 연결을 재사용하며 비동기로 호출한다. 요청마다 observation 을 열어 trace 헤더를 넣으므로
+ *     RestTemplateBuilder 로 만든 클라이언트처럼 주문 서비스 호출이 trace 에 이어진다. 동시 호출 수는 bulkhead 로 제한하고,
+ *     주문 서비스가 불안정하면 circuit breaker 가 호출 없이 즉시 실패시킨다.
+ *     단건 조회는 batch.max-concurrent-fetches 까지만 동시에 보내고 나머지는 대기시키므로, 큰 배치의 fan-out 이 bulkhead 에 거절되지 않는다.</li>
+ *     <li>헤지 요청(hedging.enabled): 단건 조회가 지연 기준({@link HedgingPolicy})을 넘기면 같은 요청을 한 번 더 보내고
+ *     먼저 성공한 응답을 쓴다. 늦은 응답은 버린다. 헤지 요청에는 {@value #HEDGE_HEADER} 헤더를 붙여 주문 서비스가 구분할 수 있게 한다.</li>
+ * </ul>
+ * 주문이 없으면(404) 빈 값으로 짧게 캐시하고, 주문 서비스 장애나 차단으로 인한 실패는 캐시하지 않는다.
+ */
 @Slf4j
 @Component
 public class NotificationOrderClient {
 
-    private final RestTemplate restTemplate;
+    private static final String METRIC_PREFIX = "order_client";
+    static final String HEDGE_HEADER = "X-Hedged-Request";
+    // 헤지 요청의 결과가 정해진 상태
+    private static final int SETTLED = -1;
 
-    public NotificationOrderClient(RestTemplateBuilder builder) {
-        this.restTemplate = builder
-                .requestFactory(() -> {
-                    var factory = new SimpleClientHttpRequestFactory();
-                    factory.setConnectTimeout(3000); // milliseconds
-                    factory.setReadTimeout(5000);
-                    return factory;
-                })
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final OrderClientProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ObservationRegistry observationRegistry;
+    private final ExecutorService httpExecutor;
+    private final ScheduledExecutorService scheduler;
+    private final OrderMemberBatcher batcher;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final OrderFetchLimiter fetchLimiter;
+    private final Counter circuitOpenRejections;
+    private final Counter bulkheadRejections;
+    private final double[] latencyPercentiles;
+    private final HedgingPolicy hedgingPolicy;
+    private final Counter hedgesFired;
+    private final Counter hedgesWon;
+    private volatile boolean bulkSupported;
+
+    // orderId -> memberId, 주문이 없으면 Optional.empty() 로 짧게 캐시
+    private final AsyncCache<Long, Optional<Long>> memberIdCache;
+
+    public NotificationOrderClient(OrderClientProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                   ObservationRegistry observationRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.observationRegistry = observationRegistry;
+
+        OrderClientProperties.Batch batch = properties.getBatch();
+        this.httpExecutor = Executors.newFixedThreadPool(batch.getParallelism(), daemonThreadFactory("order-client"));
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(properties.getConnectTimeout())
+                .executor(httpExecutor)
                 .build();
+
+        this.memberIdCache = Caffeine.newBuilder()
+                .maximumSize(properties.getCache().getMaximumSize())
+                .expireAfter(new MemberIdExpiry(properties.getCache()))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, memberIdCache.synchronous(), "order_member");
+
+        OrderClientProperties.Resilience resilience = properties.getResilience();
+        this.circuitBreaker = CircuitBreaker.of("order-payment-service", CircuitBreakerConfig.custom()
+                .failureRateThreshold(resilience.getFailureRateThreshold())
+                .slowCallRateThreshold(resilience.getSlowCallRateThreshold())
+                .slowCallDurationThreshold(resilience.getSlowCallDurationThreshold())
+                .slidingWindowSize(resilience.getSlidingWindowSize())
+                .minimumNumberOfCalls(resilience.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(resilience.getWaitDurationInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(resilience.getPermittedCallsInHalfOpenState())
+                .build());
+        int maxConcurrentCalls = Math.max(resilience.getMaxConcurrentCalls(), batch.getMaxSize());
+        if (maxConcurrentCalls != resilience.getMaxConcurrentCalls()) {
+            log.warn("bulkhead 동시 호출 수가 배치 크기보다 작아 조정 - configured={}, applied={}",
+                    resilience.getMaxConcurrentCalls(), maxConcurrentCalls);
+        }
+        this.bulkhead = Bulkhead.of("order-payment-service", BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        this.fetchLimiter = new OrderFetchLimiter(Math.max(1, Math.min(batch.getMaxConcurrentFetches(), maxConcurrentCalls)),
+                Math.max(0, batch.getMaxQueuedFetches()),
+                Counter.builder(METRIC_PREFIX + "_rejected").tag("reason", "fetch_queue_full").register(meterRegistry));
+        this.circuitOpenRejections = Counter.builder(METRIC_PREFIX + "_rejected").tag("reason", "circuit_open").register(meterRegistry);
+        this.bulkheadRejections = Counter.builder(METRIC_PREFIX + "_rejected").tag("reason", "bulkhead_full").register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + "_circuit_state", circuitBreaker, cb -> cb.getState().getOrder()).register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + "_in_flight", bulkhead,
+                b -> maxConcurrentCalls - b.getMetrics().getAvailableConcurrentCalls()).register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + "_fetch_queued", fetchLimiter, OrderFetchLimiter::queued).register(meterRegistry);
+
+        OrderClientProperties.Hedging hedging = properties.getHedging();
+        this.latencyPercentiles = DoubleStream.of(0.5, 0.95, 0.99, hedging.getPercentile()).distinct().sorted().toArray();
+        this.hedgingPolicy = hedging.isEnabled()
+                ? new HedgingPolicy(requestTimer("single", "success"), hedging, System::nanoTime)
+                : null;
+        this.hedgesFired = Counter.builder(METRIC_PREFIX + "_hedges").tag("result", "fired").register(meterRegistry);
+        this.hedgesWon = Counter.builder(METRIC_PREFIX + "_hedges").tag("result", "won").register(meterRegistry);
+
+        this.bulkSupported = batch.getBulkPath() != null && !batch.getBulkPath().isBlank();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(daemonThreadFactory("order-client-timer"));
+        this.batcher = new OrderMemberBatcher(this::resolveAll, scheduler, batch.getWindow().toMillis(), batch.getMaxSize());
+    }
+
+    /**
+     * 주문의 회원 ID 를 비동기로 조회한다. 주문이 없으면 null 로 완료되고,
+     * 주문 서비스 장애나 circuit breaker/bulkhead 차단 시에는 예외로 완료된다.
+     */
+    public CompletableFuture<Long> getMemberIdByOrderIdAsync(Long orderId) {
+        CompletableFuture<Optional<Long>> loading = memberIdCache.get(orderId, (id, executor) -> load(id));
+        // 캐시의 실패 항목 제거가 호출자에게 결과가 전달된 뒤에 일어날 수 있으므로 먼저 직접 지운다
+        return loading.whenComplete((memberId, error) -> {
+                    if (error != null) {
+                        memberIdCache.asMap().remove(orderId, loading);
+                    }
+                })
+                .thenApply(memberId -> memberId.orElse(null));
     }
 
     public Long getMemberIdByOrderId(Long orderId) {
-        String url = UriComponentsBuilder
-                .fromUriString("http://order-payment-service")
+        try {
+            return getMemberIdByOrderIdAsync(orderId).join();
+        } catch (CompletionException e) {
+            log.warn("orderId={} 에 대한 주문 정보 조회 실패: {}", orderId, e.getCause().getMessage());
+            return null;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        httpExecutor.shutdownNow();
+    }
+
+    private CompletableFuture<Optional<Long>> load(Long orderId) {
+        if (properties.getBatch().isEnabled()) {
+            return batcher.submit(orderId);
+        }
+        return fetchMemberId(orderId);
+    }
+
+    /**
+     * 주문별 결과를 돌려준다. bulk 조회가 안 되면 단건 조회로 다시 해석한다.
+     */
+    private Map<Long, CompletableFuture<Optional<Long>>> resolveAll(List<Long> orderIds) {
+        if (orderIds.size() <= 1 || !bulkSupported) {
+            return fetchEach(orderIds);
+        }
+
+        Map<Long, CompletableFuture<Optional<Long>>> results = new HashMap<>();
+        orderIds.forEach(orderId -> results.put(orderId, new CompletableFuture<>()));
+        fetchMemberIds(orderIds).thenAccept(resolved -> {
+            if (resolved != null) {
+                results.forEach((orderId, result) -> result.complete(resolved.getOrDefault(orderId, Optional.empty())));
+                return;
+            }
+            fetchEach(orderIds).forEach((orderId, fetching) -> fetching.whenComplete((memberId, error) -> {
+                CompletableFuture<Optional<Long>> result = results.get(orderId);
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(memberId);
+                }
+            }));
+        });
+        return results;
+    }
+
+    /**
+     * 단건 호출을 병렬로 보낸다. 주문마다 따로 완료되므로 일부가 실패해도 나머지는 그대로 쓴다.
+     */
+    private Map<Long, CompletableFuture<Optional<Long>>> fetchEach(List<Long> orderIds) {
+        Map<Long, CompletableFuture<Optional<Long>>> futures = new HashMap<>();
+        orderIds.forEach(orderId -> futures.put(orderId, fetchMemberId(orderId)));
+        return futures;
+    }
+
+    private CompletableFuture<Optional<Long>> fetchMemberId(Long orderId) {
+        // 대기열에서 다른 스레드가 보낼 수 있으므로 호출한 쪽의 observation 을 미리 잡아 둔다
+        Observation parent = observationRegistry.getCurrentObservation();
+        return fetchLimiter.submit(() -> requestMemberId(orderId, parent));
+    }
+
+    private CompletableFuture<Optional<Long>> requestMemberId(Long orderId, Observation parent) {
+        URI uri = UriComponentsBuilder
+                .fromUriString(properties.getBaseUrl())
                 .path("/api/orders/{orderId}")
-                .build(orderId)
-                .toString();
+                .build(orderId);
+        HttpRequest.Builder request = requestBuilder(uri).GET();
 
-        try {
-            ResponseEntity<OrderResponse> response = restTemplate.getForEntity(url, OrderResponse.class);
-            response.getBody();
-            return response.getBody().getMemberId();
-        } catch (RestClientException e) {
-            log.warn("orderId={} 에 대한 주문 정보 조회 실패: {}", orderId, e.getMessage());
+        CompletableFuture<HttpResponse<byte[]>> sending = hedgingPolicy != null
+                ? sendHedged(request, parent)
+                : send("single", request, parent);
+        return sending.thenApply(response -> {
+            // 주문이 없다는 응답은 404 뿐이다. 인증/권한/제한(401, 403, 408, 429 등)은 실패로 넘겨 재시도와 DLQ 로 보낸다
+            if (response.statusCode() == HttpStatus.NOT_FOUND.value()) {
+                log.warn("orderId={} 에 대한 주문 정보 없음", orderId);
+                return Optional.empty();
+            }
+            if (response.statusCode() != HttpStatus.OK.value()) {
+                throw new OrderServiceException("주문 조회 실패 응답 - orderId=" + orderId + ", status=" + response.statusCode());
+            }
+            OrderResponse body = readBody(response.body(), OrderResponse.class);
+            return Optional.ofNullable(body != null ? body.getMemberId() : null);
+        });
+    }
+
+    /**
+     * bulk 엔드포인트로 한 번에 조회한다. 엔드포인트가 없거나 실패하면 null 로 완료된다.
+     */
+    private CompletableFuture<Map<Long, Optional<Long>>> fetchMemberIds(List<Long> orderIds) {
+        URI uri = UriComponentsBuilder
+                .fromUriString(properties.getBaseUrl())
+                .path(properties.getBatch().getBulkPath())
+                .build()
+                .toUri();
+        HttpRequest.Builder request = requestBuilder(uri)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(writeBody(Map.of("orderIds", orderIds))));
+
+        // 여러 이벤트의 조회를 모은 요청이라 이어 붙일 부모 trace 가 없다
+        return send("bulk", request, null)
+                .thenApply(response -> {
+                    if (isBulkUnsupported(response.statusCode())) {
+                        log.info("주문 일괄 조회 엔드포인트 없음, 단건 병렬 조회로 전환 - url={}", uri);
+                        bulkSupported = false;
+                        return null;
+                    }
+                    if (response.statusCode() != HttpStatus.OK.value()) {
+                        log.warn("주문 일괄 조회 실패 - size={}, status={}", orderIds.size(), response.statusCode());
+                        return null;
+                    }
+
+                    Map<Long, Optional<Long>> resolved = new HashMap<>();
+                    orderIds.forEach(orderId -> resolved.put(orderId, Optional.empty()));
+                    OrderResponse[] body = readBody(response.body(), OrderResponse[].class);
+                    if (body != null) {
+                        for (OrderResponse order : body) {
+                            if (order.getOrderId() != null) {
+                                resolved.put(order.getOrderId(), Optional.ofNullable(order.getMemberId()));
+                            }
+                        }
+                    }
+                    return resolved;
+                })
+                .exceptionally(e -> {
+                    log.warn("주문 일괄 조회 실패 - size={}, error={}", orderIds.size(), e.getMessage());
+                    return null;
+                });
+    }
+
+    /**
+     * bulkhead 와 circuit breaker 를 거쳐 요청을 보낸다.
+     * 허용되지 않으면 호출하지 않고 즉시 실패하며, 5xx 와 전송 오류는 circuit breaker 에 실패로 기록한다.
+     * 보내기 전에 observation 을 시작해 trace 헤더를 요청에 넣고, 응답이나 오류를 받으면 닫는다.
+     */
+    private CompletableFuture<HttpResponse<byte[]>> send(String operation, HttpRequest.Builder builder, Observation parent) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            circuitOpenRejections.increment();
+            return CompletableFuture.failedFuture(CallNotPermittedException.createCallNotPermittedException(circuitBreaker));
+        }
+        if (!bulkhead.tryAcquirePermission()) {
+            circuitBreaker.releasePermission();
+            bulkheadRejections.increment();
+            return CompletableFuture.failedFuture(new OrderServiceException("주문 서비스 동시 호출 한도 초과"));
+        }
+
+        RequestReplySenderContext<HttpRequest.Builder, HttpResponse<byte[]>> context =
+                new RequestReplySenderContext<>(HttpRequest.Builder::setHeader);
+        context.setCarrier(builder);
+        context.setRemoteServiceName("order-payment-service");
+        Observation observation = Observation.createNotStarted("order.client.http", () -> context, observationRegistry)
+                .contextualName("order-client " + operation)
+                .lowCardinalityKeyValue("operation", operation)
+                .parentObservation(parent)
+                .start();
+        HttpRequest request = builder.build();
+
+        long start = System.nanoTime();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .handle((response, error) -> {
+                    long elapsed = System.nanoTime() - start;
+                    bulkhead.onComplete();
+                    context.setResponse(response);
+
+                    Throwable failure = error != null ? error : serverError(response);
+                    if (failure != null) {
+                        observation.error(failure);
+                        observation.stop();
+                        circuitBreaker.onError(elapsed, TimeUnit.NANOSECONDS, failure);
+                        requestTimer(operation, "error").record(elapsed, TimeUnit.NANOSECONDS);
+                        throw failure instanceof CompletionException completion ? completion : new CompletionException(failure);
+                    }
+                    observation.stop();
+                    circuitBreaker.onSuccess(elapsed, TimeUnit.NANOSECONDS);
+                    requestTimer(operation, "success").record(elapsed, TimeUnit.NANOSECONDS);
+                    return response;
+                });
+    }
+
+    /**
+     * 첫 요청이 지연 기준 안에 끝나지 않고 예산이 남아 있으면 같은 요청을 한 번 더 보낸다.
+     * 먼저 성공한 응답으로 완료하고, 둘 다 실패하면 마지막 실패로 완료한다.
+     * <p>
+     * inFlight 는 아직 결과를 기다리는 요청 수이고, 결과가 정해지면 {@link #SETTLED} 가 된다.
+     * 헤지는 SETTLED 가 아닐 때 CAS 로 자리를 잡은 뒤에만 보내므로, 첫 요청이 실패로 결과를 정한 직후에 헤지가 나가지 않는다.
+     */
+    private CompletableFuture<HttpResponse<byte[]>> sendHedged(HttpRequest.Builder request, Observation parent) {
+        hedgingPolicy.onRequest();
+        CompletableFuture<HttpResponse<byte[]>> result = new CompletableFuture<>();
+        AtomicInteger inFlight = new AtomicInteger(1);
+
+        ScheduledFuture<?> hedgeTimer = scheduler.schedule(() -> {
+            if (inFlight.get() == SETTLED || !hedgingPolicy.tryAcquire()) {
+                return;
+            }
+            if (!acquireHedgeSlot(inFlight)) {
+                hedgingPolicy.refund();
+                return;
+            }
+            hedgesFired.increment();
+            send("hedge", request.copy().setHeader(HEDGE_HEADER, "true"), parent)
+                    .whenComplete((response, error) -> settle(result, inFlight, response, error, true));
+        }, hedgingPolicy.delayMillis(), TimeUnit.MILLISECONDS);
+
+        send("single", request.copy(), parent)
+                .whenComplete((response, error) -> settle(result, inFlight, response, error, false));
+        result.whenComplete((response, error) -> hedgeTimer.cancel(false));
+        return result;
+    }
+
+    private static boolean acquireHedgeSlot(AtomicInteger inFlight) {
+        for (;;) {
+            int current = inFlight.get();
+            if (current == SETTLED) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // 승자를 먼저 정하고 지표를 남긴 뒤 완료한다, 완료 직후 결과를 받은 쪽이 지표를 읽어도 어긋나지 않는다
+    private void settle(CompletableFuture<HttpResponse<byte[]>> result, AtomicInteger inFlight,
+                        HttpResponse<byte[]> response, Throwable error, boolean hedge) {
+        if (error == null) {
+            if (inFlight.getAndSet(SETTLED) != SETTLED) {
+                if (hedge) {
+                    hedgesWon.increment();
+                }
+                result.complete(response);
+            }
+            return;
+        }
+        // 마지막으로 남은 요청의 실패만 결과를 정한다
+        for (;;) {
+            int current = inFlight.get();
+            if (current == SETTLED) {
+                return;
+            }
+            int next = current == 1 ? SETTLED : current - 1;
+            if (inFlight.compareAndSet(current, next)) {
+                if (next == SETTLED) {
+                    result.completeExceptionally(error);
+                }
+                return;
+            }
+        }
+    }
+
+    private HttpRequest.Builder requestBuilder(URI uri) {
+        return HttpRequest.newBuilder(uri)
+                .timeout(properties.getReadTimeout())
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+    }
+
+    private Timer requestTimer(String operation, String outcome) {
+        return Timer.builder(METRIC_PREFIX + "_requests")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentiles(latencyPercentiles)
+                .register(meterRegistry);
+    }
+
+    private OrderServiceException serverError(HttpResponse<byte[]> response) {
+        int status = response.statusCode();
+        // 501 은 bulk 엔드포인트 미지원 응답이므로 장애로 보지 않는다
+        if (status >= 500 && status != HttpStatus.NOT_IMPLEMENTED.value()) {
+            return new OrderServiceException("주문 서비스 오류 응답 - status=" + status);
+        }
+        return null;
+    }
+
+    private boolean isBulkUnsupported(int status) {
+        return status == HttpStatus.NOT_FOUND.value()
+                || status == HttpStatus.METHOD_NOT_ALLOWED.value()
+                || status == HttpStatus.NOT_IMPLEMENTED.value();
+    }
+
+    private <T> T readBody(byte[] body, Class<T> type) {
+        if (body == null || body.length == 0) {
             return null;
         }
+        try {
+            return objectMapper.readValue(body, type);
+        } catch (IOException e) {
+            throw new OrderServiceException("주문 응답 역직렬화 실패: " + e.getMessage());
+        }
+    }
+
+    private byte[] writeBody(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("주문 조회 요청 직렬화 실패", e);
+        }
+    }
+
+    private static ThreadFactory daemonThreadFactory(String prefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static class OrderServiceException extends RuntimeException {
+        private OrderServiceException(String message) {
+            super(message);
+        }
+    }
+
+    private static class MemberIdExpiry implements Expiry<Long, Optional<Long>> {
+        private final long ttlNanos;
+        private final long negativeTtlNanos;
+
+        private MemberIdExpiry(OrderClientProperties.Cache cache) {
+            this.ttlNanos = cache.getTtl().toNanos();
+            this.negativeTtlNanos = cache.getNegativeTtl().toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(Long orderId, Optional<Long> memberId, long currentTime) {
+            return memberId.isPresent() ? ttlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Long orderId, Optional<Long> memberId, long currentTime, long currentDuration) {
+            return expireAfterCreate(orderId, memberId, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long orderId, Optional<Long> memberId, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 
     @Getter
     @NoArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
     private static class OrderResponse {
         private Long orderId;
         private Long memberId;
@@ -0,0 +1,77 @@
+package org.fortishop.notificationservice.utils;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "notification.order-client")
+@Getter
+@Setter
+public class OrderClientProperties {
+
+    private String baseUrl = "http://order-payment-service";
+    private Duration connectTimeout = Duration.ofSeconds(3);
+    private Duration readTimeout = Duration.ofSeconds(5);
+    private Cache cache = new Cache();
+    private Batch batch = new Batch();
+    private Resilience resilience = new Resilience();
+    private Hedging hedging = new Hedging();
+
+    @Getter
+    @Setter
+    public static class Cache {
+        // 주문의 회원은 바뀌지 않으므로 긴 TTL 을 쓰고, 크기로 메모리를 제한한다
+        private long maximumSize = 200_000;
+        private Duration ttl = Duration.ofHours(6);
+        // 조회 실패(null)는 짧게만 캐시한다
+        private Duration negativeTtl = Duration.ofSeconds(30);
+    }
+
+    @Getter
+    @Setter
+    public static class Batch {
+        private boolean enabled = true;
+        // 조회를 모으는 시간, 이 시간만큼 첫 조회의 지연이 늘어난다
+        private Duration window = Duration.ofMillis(5);
+        private int maxSize = 100;
+        // 비어 있거나 404/405/501 을 응답하면 단건 조회를 병렬로 보낸다
+        private String bulkPath = "/api/orders/members";
+        private int parallelism = 16;
+        // 동시에 진행하는 단건 조회 상한, 넘치는 조회는 대기열에서 차례를 기다린다
+        private int maxConcurrentFetches = 64;
+        // 차례를 기다리는 단건 조회 상한, 넘치면 기다리지 않고 실패해 리스너 재시도로 넘긴다
+        private int maxQueuedFetches = 10_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Resilience {
+        // 동시에 보낼 수 있는 요청 수, 넘치면 기다리지 않고 실패한다
+        // batch.max-size 보다 작으면 batch.max-size 로 올려 쓴다 (단건 조회 상한과 bulk, 헤지 요청이 함께 쓴다)
+        private int maxConcurrentCalls = 128;
+        private float failureRateThreshold = 50;
+        private float slowCallRateThreshold = 80;
+        private Duration slowCallDurationThreshold = Duration.ofSeconds(2);
+        private int slidingWindowSize = 50;
+        private int minimumNumberOfCalls = 20;
+        // 차단 후 반열림 상태로 전환하기까지의 시간
+        private Duration waitDurationInOpenState = Duration.ofSeconds(10);
+        private int permittedCallsInHalfOpenState = 5;
+    }
+
+    @Getter
+    @Setter
+    public static class Hedging {
+        private boolean enabled = false;
+        // 단건 조회 지연의 이 백분위를 넘기면 같은 요청을 한 번 더 보낸다
+        private double percentile = 0.95;
+        private Duration minDelay = Duration.ofMillis(10);
+        private Duration maxDelay = Duration.ofSeconds(1);
+        // 추가 요청은 전체 요청의 이 비율을 넘지 않는다
+        private double budgetRatio = 0.05;
+        private int maxBurst = 10;
+    }
+}
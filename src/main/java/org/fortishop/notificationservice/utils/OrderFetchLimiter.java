@@ -0,0 +1,98 @@
+package org.fortishop.notificationservice.utils;
+
+import io.micrometer.core.instrument.Counter;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 동시에 진행하는 호출 수를 limit 으로 제한한다. 자리가 없으면 스레드를 막지 않고 대기열에 넣었다가
+ * 앞선 호출이 끝날 때 이어서 보낸다. 대기열이 maxQueued 를 넘으면 기다리지 않고 실패한다.
+ * <p>
+ * 호출이 이미 실패한 future 를 돌려주면(circuit breaker 열림, bulkhead 거절) 완료 콜백이 호출 스레드에서 바로 돈다.
+ * 콜백이 대기열을 다시 비우면 대기 호출 수만큼 스택이 깊어지므로, 비우는 스레드는 항상 하나이고
+ * 그 사이 들어온 비우기 요청은 drainRequests 로 세어 같은 반복문에서 처리한다.
+ */
+class OrderFetchLimiter {
+
+    private final int limit;
+    private final int maxQueued;
+    private final Counter rejected;
+    private final Queue<Runnable> waiting = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger waitingCount = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger drainRequests = new AtomicInteger();
+
+    OrderFetchLimiter(int limit, int maxQueued, Counter rejected) {
+        this.limit = limit;
+        this.maxQueued = maxQueued;
+        this.rejected = rejected;
+    }
+
+    <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> call) {
+        if (waitingCount.incrementAndGet() > maxQueued) {
+            waitingCount.decrementAndGet();
+            rejected.increment();
+            return CompletableFuture.failedFuture(new RejectedExecutionException("주문 조회 대기열 초과"));
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        waiting.add(() -> {
+            CompletableFuture<T> calling;
+            try {
+                calling = call.get();
+            } catch (Exception e) {
+                calling = CompletableFuture.failedFuture(e);
+            }
+            calling.whenComplete((value, error) -> {
+                inFlight.decrementAndGet();
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(value);
+                }
+                drain();
+            });
+        });
+        drain();
+        return result;
+    }
+
+    int queued() {
+        return waitingCount.get();
+    }
+
+    private void drain() {
+        // 이미 비우는 스레드가 있으면 요청만 남기고 돌아간다
+        if (drainRequests.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            drainAvailable();
+            missed = drainRequests.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void drainAvailable() {
+        while (!waiting.isEmpty()) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return;
+            }
+            if (!inFlight.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            Runnable next = waiting.poll();
+            if (next == null) {
+                inFlight.decrementAndGet();
+                continue;
+            }
+            waitingCount.decrementAndGet();
+            next.run();
+        }
+    }
+}
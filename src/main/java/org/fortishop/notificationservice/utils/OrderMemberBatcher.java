@@ -0,0 +1,119 @@
+package org.fortishop.notificationservice.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 주문 회원 조회 마이크로 배치.
+ * window 동안 들어온 조회를 모아 한 번에 해석하고, maxSize 에 도달하면 즉시 보낸다.
+ * bulkResolver 는 비동기로 동작해야 한다. (window 스케줄러 스레드에서 호출된다)
+ * 결과는 주문별 future 로 받으므로 한 주문의 실패가 같은 배치의 다른 조회를 실패시키지 않는다.
+ */
+@Slf4j
+class OrderMemberBatcher {
+
+    private final Function<List<Long>, Map<Long, CompletableFuture<Optional<Long>>>> bulkResolver;
+    private final ScheduledExecutorService scheduler;
+    private final long windowMillis;
+    private final int maxSize;
+
+    private final Queue<PendingLookup> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    OrderMemberBatcher(Function<List<Long>, Map<Long, CompletableFuture<Optional<Long>>>> bulkResolver,
+                       ScheduledExecutorService scheduler,
+                       long windowMillis,
+                       int maxSize) {
+        this.bulkResolver = bulkResolver;
+        this.scheduler = scheduler;
+        this.windowMillis = windowMillis;
+        this.maxSize = maxSize;
+    }
+
+    CompletableFuture<Optional<Long>> submit(Long orderId) {
+        PendingLookup lookup = new PendingLookup(orderId);
+        pending.add(lookup);
+
+        if (pendingCount.incrementAndGet() >= maxSize) {
+            scheduler.execute(this::flush);
+        } else if (flushScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+        }
+        return lookup.future;
+    }
+
+    private void flush() {
+        // 플래그를 먼저 내려야 drain 이후 들어온 조회가 다음 flush 를 예약한다
+        flushScheduled.set(false);
+
+        while (true) {
+            List<PendingLookup> batch = drain();
+            if (batch.isEmpty()) {
+                return;
+            }
+            resolve(batch);
+            if (batch.size() < maxSize) {
+                return;
+            }
+        }
+    }
+
+    private List<PendingLookup> drain() {
+        List<PendingLookup> batch = new ArrayList<>(Math.min(maxSize, pendingCount.get()));
+        PendingLookup lookup;
+        while (batch.size() < maxSize && (lookup = pending.poll()) != null) {
+            batch.add(lookup);
+        }
+        pendingCount.addAndGet(-batch.size());
+        return batch;
+    }
+
+    private void resolve(List<PendingLookup> batch) {
+        List<Long> orderIds = batch.stream().map(lookup -> lookup.orderId).distinct().toList();
+        Map<Long, CompletableFuture<Optional<Long>>> resolving;
+        try {
+            resolving = bulkResolver.apply(orderIds);
+        } catch (Exception e) {
+            log.warn("주문 회원 일괄 조회 실패 - size={}, error={}", batch.size(), e.getMessage());
+            batch.forEach(lookup -> lookup.future.completeExceptionally(e));
+            return;
+        }
+
+        for (PendingLookup lookup : batch) {
+            CompletableFuture<Optional<Long>> resolved = resolving.get(lookup.orderId);
+            if (resolved == null) {
+                lookup.future.complete(Optional.empty());
+                continue;
+            }
+            // 실패는 캐시되지 않도록 예외로 완료한다
+            resolved.whenComplete((memberId, error) -> {
+                if (error != null) {
+                    lookup.future.completeExceptionally(error);
+                } else {
+                    lookup.future.complete(memberId);
+                }
+            });
+        }
+    }
+
+    private static class PendingLookup {
+        private final Long orderId;
+        private final CompletableFuture<Optional<Long>> future = new CompletableFuture<>();
+
+        private PendingLookup(Long orderId) {
+            this.orderId = orderId;
+        }
+    }
+}
@@ -15,6 +15,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import org.apache.kafka.clients.admin.AdminClient;
@@ -24,6 +25,7 @@ import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.fortishop.notificationservice.cache.NotificationSettingCache;
 import org.fortishop.notificationservice.domain.Notification;
 import org.fortishop.notificationservice.domain.NotificationSetting;
 import org.fortishop.notificationservice.domain.NotificationStatus;
@@ -35,6 +37,7 @@ import org.fortishop.notificationservice.dto.request.NotificationTemplateRequest
 import org.fortishop.notificationservice.repository.NotificationRepository;
 import org.fortishop.notificationservice.repository.NotificationSettingRepository;
 import org.fortishop.notificationservice.repository.NotificationTemplateRepository;
+import org.fortishop.notificationservice.template.NotificationTemplateEngine;
 import org.fortishop.notificationservice.utils.NotificationOrderClient;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -94,6 +97,12 @@ public class NotificationServiceIntegrationTest {
     @Autowired
     NotificationOrderClient orderClient;
 
+    @Autowired
+    NotificationSettingCache settingCache;
+
+    @Autowired
+    NotificationTemplateEngine templateEngine;
+
     @Container
     static MongoDBContainer mongo = new MongoDBContainer("mongo:6.0")
             .withExposedPorts(27017);
@@ -193,7 +202,7 @@ public class NotificationServiceIntegrationTest {
 
     @BeforeEach
     void setUpMock() {
-        when(orderClient.getMemberIdByOrderId(anyLong())).thenReturn(1L);
+        when(orderClient.getMemberIdByOrderIdAsync(anyLong())).thenReturn(CompletableFuture.completedFuture(1L));
     }
 
     @BeforeEach
@@ -201,6 +210,8 @@ public class NotificationServiceIntegrationTest {
         notificationRepository.deleteAll();
         settingRepository.deleteAll();
         templateRepository.deleteAll();
+        settingCache.invalidateAll();
+        templateEngine.invalidateAll();
     }
 
     protected String getBaseUrl(String path) {
@@ -0,0 +1,182 @@
+package org.fortishop.notificationservice.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.fortishop.notificationservice.domain.JobLease;
+import org.fortishop.notificationservice.domain.NotificationStatus;
+import org.fortishop.notificationservice.domain.UnreadCounter;
+import org.fortishop.notificationservice.repository.NotificationRepository;
+import org.fortishop.notificationservice.repository.UnreadCounterRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+class UnreadCounterStoreTest {
+
+    @Mock
+    private UnreadCounterRepository counterRepository;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private MongoOperations mongoOperations;
+
+    private UnreadCounterStore store;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        UnreadCounterProperties properties = new UnreadCounterProperties();
+        properties.setReconcileInterval(Duration.ZERO);
+        meterRegistry = new SimpleMeterRegistry();
+        store = new UnreadCounterStore(counterRepository, notificationRepository, properties, mongoOperations, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.shutdown();
+    }
+
+    @Test
+    @DisplayName("카운터를 한 번 읽은 뒤에는 캐시에서 응답하고, 이 인스턴스의 증감을 바로 반영한다")
+    void get_cachedAndAdjusted() {
+        when(counterRepository.findById(1L)).thenReturn(Optional.of(new UnreadCounter(1L, 5, 3, new Date())));
+        when(counterRepository.increment(1L, -2)).thenReturn(true);
+
+        assertThat(store.get(1L)).isEqualTo(5);
+        store.increment(1L, -2);
+        assertThat(store.get(1L)).isEqualTo(3);
+
+        verify(counterRepository, times(1)).findById(1L);
+        verify(counterRepository).increment(1L, -2);
+    }
+
+    @Test
+    @DisplayName("카운터가 없는 회원은 한 번 세어 카운터를 만든다")
+    void get_initializesMissingCounter() {
+        when(counterRepository.findById(1L)).thenReturn(Optional.empty());
+        when(notificationRepository.countByMemberIdAndStatus(1L, NotificationStatus.UNREAD)).thenReturn(4L);
+
+        assertThat(store.get(1L)).isEqualTo(4);
+        verify(counterRepository).initialize(1L, 4);
+    }
+
+    @Test
+    @DisplayName("카운터가 없는 회원의 첫 갱신은 delta 가 아니라 실제 미읽음 수로 카운터를 만든다")
+    void increment_seedsMissingCounter() {
+        when(counterRepository.increment(1L, 1)).thenReturn(false);
+        when(notificationRepository.countByMemberIdAndStatus(1L, NotificationStatus.UNREAD)).thenReturn(12L);
+
+        store.increment(1L, 1);
+
+        verify(counterRepository).initialize(1L, 12);
+    }
+
+    @Test
+    @DisplayName("일괄 갱신 - 카운터가 없는 회원은 세어서 만들고, 있는 회원은 캐시 값에도 더한다")
+    void incrementAll_seedsMissingAndAdjustsCache() {
+        when(counterRepository.findById(1L)).thenReturn(Optional.of(new UnreadCounter(1L, 5, 3, new Date())));
+        when(counterRepository.incrementAll(Map.of(1L, 2L, 2L, 1L))).thenReturn(Set.of(2L));
+        when(notificationRepository.countByMemberIdAndStatus(2L, NotificationStatus.UNREAD)).thenReturn(7L);
+        assertThat(store.get(1L)).isEqualTo(5);
+
+        store.incrementAll(Map.of(1L, 2L, 2L, 1L));
+
+        assertThat(store.get(1L)).isEqualTo(7);
+        verify(counterRepository, times(1)).findById(1L);
+        verify(counterRepository).initialize(2L, 7);
+        verify(counterRepository, never()).initialize(1L, 7);
+    }
+
+    @Test
+    @DisplayName("보정 - 실제 미읽음 수와 다른 카운터만 version 조건으로 고친다")
+    void reconcile_correctsDrift() {
+        when(counterRepository.streamUpdatedSince(any(Date.class))).thenReturn(Stream.of(
+                new UnreadCounter(1L, -1, 7, new Date()),
+                new UnreadCounter(2L, 2, 4, new Date())));
+        when(notificationRepository.countByMemberIdAndStatus(1L, NotificationStatus.UNREAD)).thenReturn(0L);
+        when(notificationRepository.countByMemberIdAndStatus(2L, NotificationStatus.UNREAD)).thenReturn(2L);
+        when(counterRepository.correct(1L, 7, 0)).thenReturn(true);
+
+        assertThat(store.reconcile()).isEqualTo(1);
+        verify(counterRepository, never()).correct(2L, 4, 2);
+    }
+
+    @Test
+    @DisplayName("보정 - 센 사이에 카운터가 바뀌었으면 고친 것으로 세지 않는다")
+    void reconcile_skipsConcurrentUpdate() {
+        when(counterRepository.streamUpdatedSince(any(Date.class))).thenReturn(Stream.of(new UnreadCounter(1L, 3, 7, new Date())));
+        when(notificationRepository.countByMemberIdAndStatus(1L, NotificationStatus.UNREAD)).thenReturn(5L);
+        when(counterRepository.correct(1L, 7, 5)).thenReturn(false);
+
+        assertThat(store.reconcile()).isZero();
+    }
+
+    @Test
+    @DisplayName("카운터 갱신이 실패해도 예외를 던지지 않고, 다음 보정 주기에 그 회원을 다시 센다")
+    void increment_failureRepairedLater() {
+        doThrow(new DataAccessResourceFailureException("timeout")).when(counterRepository).incrementAll(any());
+        when(counterRepository.findById(1L)).thenReturn(Optional.of(new UnreadCounter(1L, 2, 7, new Date())));
+        when(notificationRepository.countByMemberIdAndStatus(1L, NotificationStatus.UNREAD)).thenReturn(3L);
+        when(counterRepository.correct(1L, 7, 3)).thenReturn(true);
+
+        store.incrementAll(Map.of(1L, 1L));
+
+        assertThat(meterRegistry.get("notification_unread_increment_failed").counter().count()).isEqualTo(1);
+        assertThat(store.repairFailed()).isEqualTo(1);
+        verify(counterRepository).correct(1L, 7, 3);
+        assertThat(store.repairFailed()).isZero();
+    }
+
+    @Test
+    @DisplayName("재계산이 다시 실패한 회원은 다음 주기에 또 시도한다")
+    void repairFailed_retriesOnFailure() {
+        doThrow(new DataAccessResourceFailureException("timeout")).when(counterRepository).increment(1L, 1);
+        when(counterRepository.findById(1L))
+                .thenThrow(new DataAccessResourceFailureException("timeout"))
+                .thenReturn(Optional.empty());
+        when(notificationRepository.countByMemberIdAndStatus(1L, NotificationStatus.UNREAD)).thenReturn(1L);
+
+        store.increment(1L, 1);
+
+        assertThat(store.repairFailed()).isZero();
+        assertThat(store.repairFailed()).isEqualTo(1);
+        verify(counterRepository).initialize(1L, 1);
+    }
+
+    @Test
+    @DisplayName("보정 임대 - 다른 인스턴스가 가진 임대면 중복 키로 실패하고 보정하지 않는다")
+    void acquireReconcileLease_heldByOther() {
+        when(mongoOperations.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(JobLease.class)))
+                .thenReturn(new JobLease("unread-counter-reconcile", "me", System.currentTimeMillis() + 60_000))
+                .thenThrow(new DuplicateKeyException("E11000"));
+
+        assertThat(store.acquireReconcileLease()).isTrue();
+        assertThat(store.acquireReconcileLease()).isFalse();
+    }
+}
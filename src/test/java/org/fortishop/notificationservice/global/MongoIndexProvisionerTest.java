@@ -0,0 +1,156 @@
+package org.fortishop.notificationservice.global;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mongodb.client.ListIndexesIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import org.bson.Document;
+import org.fortishop.notificationservice.domain.Notification;
+import org.fortishop.notificationservice.global.config.MongoIndexProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+class MongoIndexProvisionerTest {
+
+    private static final String COLLECTION = "notifications";
+
+    @Mock
+    private MongoOperations mongoOperations;
+
+    @Mock
+    private MongoCollection<Document> collection;
+
+    @Mock
+    private ListIndexesIterable<Document> listIndexes;
+
+    @Mock
+    private IndexOperations indexOps;
+
+    private final MongoMappingContext mappingContext = new MongoMappingContext();
+    private final MongoIndexProperties properties = new MongoIndexProperties();
+    private List<Document> live;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mappingContext.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+        live = declaredAsLive();
+        when(mongoOperations.getCollectionName(Notification.class)).thenReturn(COLLECTION);
+        when(mongoOperations.collectionExists(COLLECTION)).thenReturn(true);
+        when(mongoOperations.getCollection(COLLECTION)).thenReturn(collection);
+        when(mongoOperations.indexOps(Notification.class)).thenReturn(indexOps);
+        when(collection.listIndexes()).thenReturn(listIndexes);
+        when(listIndexes.iterator()).thenAnswer(invocation -> cursor(live.iterator()));
+        when(indexOps.ensureIndex(any())).thenAnswer(invocation -> name(invocation.getArgument(0)));
+    }
+
+    @Test
+    @DisplayName("정의가 바뀐 인덱스는 대체 인덱스를 먼저 빌드한 뒤에 기존 인덱스를 지운다")
+    void reconcile_buildsBeforeDrop() {
+        properties.setRebuildChanged(true);
+        replaceLive("member_id", new Document("memberId", 1));
+
+        provisioner().reconcile(Notification.class);
+
+        InOrder order = inOrder(indexOps);
+        order.verify(indexOps).ensureIndex(named("member_id_reindex"));
+        order.verify(indexOps).dropIndex("member_id");
+        order.verify(indexOps).ensureIndex(named("member_id"));
+        order.verify(indexOps).dropIndex("member_id_reindex");
+    }
+
+    @Test
+    @DisplayName("선언 인덱스 빌드가 실패하면 대체 인덱스를 남겨 둔다")
+    void reconcile_keepsStandInWhenBuildFails() {
+        properties.setRebuildChanged(true);
+        replaceLive("member_id", new Document("memberId", 1));
+        doThrow(new IllegalStateException("빌드 실패")).when(indexOps).ensureIndex(named("member_id"));
+
+        try {
+            provisioner().reconcile(Notification.class);
+        } catch (IllegalStateException ignored) {
+            // provision() 이 로그를 남기고 다음 엔티티로 넘어간다
+        }
+
+        verify(indexOps).ensureIndex(named("member_id_reindex"));
+        verify(indexOps, never()).dropIndex("member_id_reindex");
+    }
+
+    @Test
+    @DisplayName("rebuild-changed 가 꺼져 있으면 정의가 다른 인덱스를 지우지도 만들지도 않는다")
+    void reconcile_logOnlyByDefault() {
+        replaceLive("member_id", new Document("memberId", 1));
+
+        provisioner().reconcile(Notification.class);
+
+        verify(indexOps, never()).dropIndex(anyString());
+        verify(indexOps, never()).ensureIndex(any());
+    }
+
+    @Test
+    @DisplayName("없는 인덱스는 플래그와 상관없이 만든다")
+    void reconcile_createsMissing() {
+        live.removeIf(index -> "member_id".equals(index.getString("name")));
+
+        provisioner().reconcile(Notification.class);
+
+        verify(indexOps).ensureIndex(named("member_id"));
+        verify(indexOps, never()).dropIndex(anyString());
+    }
+
+    private MongoIndexProvisioner provisioner() {
+        return new MongoIndexProvisioner(mongoOperations, mappingContext, properties);
+    }
+
+    private List<Document> declaredAsLive() {
+        List<Document> indexes = new ArrayList<>();
+        for (IndexDefinition definition : new MongoPersistentEntityIndexResolver(mappingContext).resolveIndexFor(Notification.class)) {
+            indexes.add(new Document(definition.getIndexOptions()).append("key", definition.getIndexKeys()));
+        }
+        indexes.add(new Document("name", "_id_").append("key", new Document("_id", 1)));
+        return indexes;
+    }
+
+    private void replaceLive(String name, Document keys) {
+        live.removeIf(index -> name.equals(index.getString("name")));
+        live.add(new Document("name", name).append("key", keys));
+    }
+
+    private static IndexDefinition named(String name) {
+        return argThat(definition -> definition != null && name.equals(name(definition)));
+    }
+
+    private static String name(IndexDefinition definition) {
+        return definition.getIndexOptions().getString("name");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static MongoCursor<Document> cursor(Iterator<Document> iterator) {
+        MongoCursor<Document> cursor = mock(MongoCursor.class);
+        when(cursor.hasNext()).thenAnswer(invocation -> iterator.hasNext());
+        when(cursor.next()).thenAnswer(invocation -> iterator.next());
+        return cursor;
+    }
+}
@@ -0,0 +1,97 @@
+package org.fortishop.notificationservice.global;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.bson.Document;
+import org.fortishop.notificationservice.domain.DatabaseSequence;
+import org.fortishop.notificationservice.global.config.SequenceProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+class SequenceGeneratorTest {
+
+    @Mock
+    private MongoOperations mongoOperations;
+
+    private SequenceProperties sequenceProperties;
+
+    private SequenceGenerator sequenceGenerator;
+
+    private final AtomicLong storedSeq = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        sequenceProperties = new SequenceProperties();
+        sequenceProperties.setBlockSizes(Map.of("notifications_sequence", 10));
+        sequenceGenerator = new SequenceGenerator(mongoOperations, sequenceProperties);
+
+        // $inc 값을 그대로 누적하는 sequences 문서 흉내
+        when(mongoOperations.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(DatabaseSequence.class)))
+                .thenAnswer(invocation -> {
+                    Update update = invocation.getArgument(1);
+                    Number inc = (Number) update.getUpdateObject().get("$inc", Document.class).get("seq");
+                    return new DatabaseSequence("seq", storedSeq.addAndGet(inc.longValue()));
+                });
+    }
+
+    @AfterEach
+    void tearDown() {
+        sequenceGenerator.shutdown();
+    }
+
+    @Test
+    @DisplayName("블록 크기만큼 한 번에 예약하고 로컬에서 순서대로 발급한다")
+    void generateSequence_allocatesBlock() {
+        for (long expected = 1; expected <= 10; expected++) {
+            assertThat(sequenceGenerator.generateSequence("notifications_sequence")).isEqualTo(expected);
+        }
+
+        // 첫 블록 예약 + 남은 비율 도달 시 미리 예약 1회
+        verify(mongoOperations, atMost(2)).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(DatabaseSequence.class));
+    }
+
+    @Test
+    @DisplayName("블록 크기 1 (기본값) 시퀀스는 매번 예약한다")
+    void generateSequence_defaultBlockSize() {
+        assertThat(sequenceGenerator.generateSequence("notification_templates_sequence")).isEqualTo(1L);
+        assertThat(sequenceGenerator.generateSequence("notification_templates_sequence")).isEqualTo(2L);
+
+        verify(mongoOperations, times(2)).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(DatabaseSequence.class));
+    }
+
+    @Test
+    @DisplayName("동시 발급 시 중복 ID 가 없다")
+    void generateSequence_concurrentUnique() throws InterruptedException {
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1000; i++) {
+            executor.execute(() -> ids.add(sequenceGenerator.generateSequence("notifications_sequence")));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(ids).hasSize(1000);
+    }
+}
@@ -0,0 +1,76 @@
+package org.fortishop.notificationservice.global;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SnowflakeIdGeneratorTest {
+
+    private static final long EPOCH = 1704067200000L;
+
+    @Test
+    @DisplayName("같은 밀리초 안에서도 ID 가 증가하고, 타임스탬프를 복원할 수 있다")
+    void nextId_monotonic() {
+        AtomicLong clock = new AtomicLong(EPOCH + 1000);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7, EPOCH, 10, clock::get);
+
+        long first = generator.nextId();
+        long second = generator.nextId();
+        clock.incrementAndGet();
+        long third = generator.nextId();
+
+        assertThat(second).isGreaterThan(first);
+        assertThat(third).isGreaterThan(second);
+        assertThat(SnowflakeIdGenerator.timestampOf(first, EPOCH)).isEqualTo(EPOCH + 1000);
+        assertThat(SnowflakeIdGenerator.timestampOf(third, EPOCH)).isEqualTo(EPOCH + 1001);
+    }
+
+    @Test
+    @DisplayName("노드 ID 가 다르면 같은 시각에도 ID 가 겹치지 않는다")
+    void nextId_differentNodes() {
+        AtomicLong clock = new AtomicLong(EPOCH + 1000);
+        SnowflakeIdGenerator node1 = new SnowflakeIdGenerator(1, EPOCH, 10, clock::get);
+        SnowflakeIdGenerator node2 = new SnowflakeIdGenerator(2, EPOCH, 10, clock::get);
+
+        assertThat(node1.nextId()).isNotEqualTo(node2.nextId());
+    }
+
+    @Test
+    @DisplayName("허용 범위 이내의 시계 역행은 따라잡을 때까지 기다린다")
+    void nextId_smallClockRollback() {
+        long[] ticks = {EPOCH + 1000, EPOCH + 998, EPOCH + 999, EPOCH + 1000};
+        AtomicLong index = new AtomicLong();
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, EPOCH, 10,
+                () -> ticks[(int) Math.min(index.getAndIncrement(), ticks.length - 1)]);
+
+        long first = generator.nextId();
+        long second = generator.nextId();
+
+        assertThat(second).isGreaterThan(first);
+    }
+
+    @Test
+    @DisplayName("허용 범위를 넘는 시계 역행은 발급을 거부한다")
+    void nextId_largeClockRollback() {
+        AtomicLong clock = new AtomicLong(EPOCH + 1000);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, EPOCH, 10, clock::get);
+        generator.nextId();
+
+        clock.set(EPOCH + 500);
+
+        assertThatThrownBy(generator::nextId).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("노드 ID 임대가 끝나면 발급하지 않는다")
+    void nextId_fenced() {
+        AtomicLong clock = new AtomicLong(EPOCH + 1000);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, EPOCH, 10, clock::get);
+        generator.fence(EPOCH + 1000);
+
+        assertThatThrownBy(generator::nextId).isInstanceOf(IllegalStateException.class);
+    }
+}
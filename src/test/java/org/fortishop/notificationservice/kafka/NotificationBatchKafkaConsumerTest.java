@@ -0,0 +1,204 @@
+package org.fortishop.notificationservice.kafka;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.fortishop.notificationservice.domain.NotificationType;
+import org.fortishop.notificationservice.dto.event.PointChangedEvent;
+import org.fortishop.notificationservice.dto.request.NotificationCreateRequest;
+import org.fortishop.notificationservice.exception.NotificationException;
+import org.fortishop.notificationservice.global.NotificationIdGenerator;
+import org.fortishop.notificationservice.service.NotificationService;
+import org.fortishop.notificationservice.sse.route.SseRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.support.Acknowledgment;
+
+class NotificationBatchKafkaConsumerTest {
+
+    private static final String TOPIC = "point.changed";
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private NotificationIdGenerator idGenerator;
+
+    @Mock
+    private NotificationEventResolver eventResolver;
+
+    @Mock
+    private SseRouter sseRouter;
+
+    @Mock
+    private DeadLetterPublishingRecoverer recoverer;
+
+    @Mock
+    private Acknowledgment ack;
+
+    private NotificationBatchKafkaConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(idGenerator.nextId()).thenReturn(100L, 101L, 102L, 103L, 104L, 105L);
+        consumer = new NotificationBatchKafkaConsumer(notificationService, idGenerator, eventResolver, sseRouter, recoverer);
+    }
+
+    @Test
+    @DisplayName("배치 중간에서 이벤트 변환이 실패하면 앞선 레코드만 저장하고 실패 인덱스를 알린다")
+    void consume_resolveFailureMidBatch() {
+        List<ConsumerRecord<String, PointChangedEvent>> records = records(4);
+        resolveAll(records);
+        when(eventResolver.resolve(records.get(2).value())).thenThrow(new IllegalStateException("변환 실패"));
+        List<List<Long>> saved = captureSavedIds();
+
+        BatchListenerFailedException e = catchThrowableOfType(BatchListenerFailedException.class,
+                () -> consumer.consumePointChanged(records, ack));
+
+        assertThat(e.getIndex()).isEqualTo(2);
+        assertThat(saved).containsExactly(List.of(100L, 101L));
+        verify(eventResolver, never()).resolve(records.get(3).value());
+        verify(sseRouter).send(1L, 100L, "msg-0");
+        verify(sseRouter).send(2L, 101L, "msg-1");
+        verify(ack, never()).acknowledge();
+    }
+
+    @Test
+    @DisplayName("첫 레코드부터 변환이 실패하면 저장하지 않고 인덱스 0 을 알린다")
+    void consume_resolveFailureAtFirst() {
+        List<ConsumerRecord<String, PointChangedEvent>> records = records(2);
+        when(eventResolver.resolve(records.get(0).value())).thenThrow(new IllegalStateException("변환 실패"));
+
+        BatchListenerFailedException e = catchThrowableOfType(BatchListenerFailedException.class,
+                () -> consumer.consumePointChanged(records, ack));
+
+        assertThat(e.getIndex()).isEqualTo(0);
+        verify(notificationService, never()).createNotifications(anyList());
+    }
+
+    @Test
+    @DisplayName("unordered insert 에서 실패한 레코드만 DLQ 로 보내고 나머지는 SSE 로 전송한다")
+    void consume_failedInsertGoesToDlq() {
+        List<ConsumerRecord<String, PointChangedEvent>> records = records(3);
+        resolveAll(records);
+        when(notificationService.createNotifications(anyList())).thenReturn(List.of(1));
+
+        consumer.consumePointChanged(records, ack);
+
+        verify(recoverer).accept(eq(records.get(1)), any(NotificationException.class));
+        verify(recoverer, times(1)).accept(any(), any());
+        verify(sseRouter).send(1L, 100L, "msg-0");
+        verify(sseRouter).send(3L, 102L, "msg-2");
+        verify(sseRouter, never()).send(eq(2L), anyLong(), anyString());
+        verify(ack).acknowledge();
+    }
+
+    @Test
+    @DisplayName("변환되지 않은 레코드는 건너뛰고, 실패 인덱스는 저장 목록 기준으로 원래 레코드에 대응한다")
+    void consume_skippedRecordKeepsFailedIndexMapping() {
+        List<ConsumerRecord<String, PointChangedEvent>> records = records(3);
+        resolveAll(records);
+        when(eventResolver.resolve(records.get(0).value())).thenReturn(Optional.empty());
+        when(notificationService.createNotifications(anyList())).thenReturn(List.of(1));
+
+        consumer.consumePointChanged(records, ack);
+
+        verify(recoverer).accept(eq(records.get(2)), any(NotificationException.class));
+        verify(sseRouter).send(2L, 100L, "msg-1");
+        verify(ack).acknowledge();
+    }
+
+    @Test
+    @DisplayName("저장 결과를 알 수 없는 실패 뒤 재처리하면 레코드별로 처음 발급한 ID 를 다시 쓴다")
+    void consume_replayReusesAssignedIds() {
+        List<ConsumerRecord<String, PointChangedEvent>> records = records(3);
+        List<List<Long>> saved = new ArrayList<>();
+        when(notificationService.createNotifications(anyList()))
+                .thenAnswer(invocation -> {
+                    saved.add(ids(invocation.getArgument(0)));
+                    throw new DataAccessResourceFailureException("연결 끊김");
+                })
+                .thenAnswer(invocation -> {
+                    saved.add(ids(invocation.getArgument(0)));
+                    return List.of();
+                });
+
+        resolveAll(records);
+        BatchListenerFailedException e = catchThrowableOfType(BatchListenerFailedException.class,
+                () -> consumer.consumePointChanged(records, ack));
+        assertThat(e.getIndex()).isEqualTo(0);
+        verify(sseRouter, never()).send(anyLong(), anyLong(), anyString());
+
+        // 재처리 시 이벤트 변환은 새 요청 객체를 만든다
+        resolveAll(records);
+        consumer.consumePointChanged(records, ack);
+
+        assertThat(saved).containsExactly(List.of(100L, 101L, 102L), List.of(100L, 101L, 102L));
+        verify(idGenerator, times(3)).nextId();
+        verify(ack).acknowledge();
+    }
+
+    @Test
+    @DisplayName("저장이 확인된 레코드의 ID 는 잊으므로 같은 오프셋이 다시 와도 새 ID 를 발급한다")
+    void consume_savedRecordForgetsAssignedId() {
+        List<ConsumerRecord<String, PointChangedEvent>> records = records(1);
+        List<List<Long>> saved = captureSavedIds();
+
+        resolveAll(records);
+        consumer.consumePointChanged(records, ack);
+        resolveAll(records);
+        consumer.consumePointChanged(records, ack);
+
+        assertThat(saved).containsExactly(List.of(100L), List.of(101L));
+    }
+
+    private List<ConsumerRecord<String, PointChangedEvent>> records(int count) {
+        List<ConsumerRecord<String, PointChangedEvent>> records = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            PointChangedEvent event = PointChangedEvent.builder().memberId(i + 1L).changeType("SAVE").build();
+            records.add(new ConsumerRecord<>(TOPIC, 0, 10L + i, String.valueOf(i + 1), event));
+        }
+        return records;
+    }
+
+    private void resolveAll(List<ConsumerRecord<String, PointChangedEvent>> records) {
+        for (int i = 0; i < records.size(); i++) {
+            PointChangedEvent event = records.get(i).value();
+            when(eventResolver.resolve(event)).thenReturn(Optional.of(
+                    new NotificationCreateRequest(event.getMemberId(), NotificationType.POINT, "msg-" + i, null)));
+        }
+    }
+
+    private List<List<Long>> captureSavedIds() {
+        List<List<Long>> saved = new ArrayList<>();
+        when(notificationService.createNotifications(anyList())).thenAnswer(invocation -> {
+            saved.add(ids(invocation.getArgument(0)));
+            return List.of();
+        });
+        return saved;
+    }
+
+    private static List<Long> ids(List<NotificationCreateRequest> requests) {
+        return requests.stream().map(NotificationCreateRequest::getId).toList();
+    }
+}
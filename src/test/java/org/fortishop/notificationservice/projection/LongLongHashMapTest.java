@@ -0,0 +1,59 @@
+package org.fortishop.notificationservice.projection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LongLongHashMapTest {
+
+    @Test
+    @DisplayName("저장한 값을 조회하고, 없는 키는 기본값을 반환한다")
+    void putAndGet() {
+        LongLongHashMap map = new LongLongHashMap(16);
+
+        map.put(1001L, 7L);
+        map.put(1002L, 8L);
+
+        assertThat(map.get(1001L, -1L)).isEqualTo(7L);
+        assertThat(map.get(1002L, -1L)).isEqualTo(8L);
+        assertThat(map.get(1003L, -1L)).isEqualTo(-1L);
+        assertThat(map.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("같은 키를 다시 저장하면 값을 덮어쓴다")
+    void put_overwrite() {
+        LongLongHashMap map = new LongLongHashMap(16);
+
+        map.put(1001L, 7L);
+        map.put(1001L, 9L);
+
+        assertThat(map.get(1001L, -1L)).isEqualTo(9L);
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("용량을 넘으면 늘어나며 기존 항목을 유지한다")
+    void put_resize() {
+        LongLongHashMap map = new LongLongHashMap(16);
+
+        for (long orderId = 1; orderId <= 10_000; orderId++) {
+            map.put(orderId, orderId * 10);
+        }
+
+        assertThat(map.size()).isEqualTo(10_000);
+        for (long orderId = 1; orderId <= 10_000; orderId++) {
+            assertThat(map.get(orderId, -1L)).isEqualTo(orderId * 10);
+        }
+    }
+
+    @Test
+    @DisplayName("키 0 은 저장할 수 없다")
+    void put_zeroKey() {
+        LongLongHashMap map = new LongLongHashMap(16);
+
+        assertThatThrownBy(() -> map.put(0L, 1L)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
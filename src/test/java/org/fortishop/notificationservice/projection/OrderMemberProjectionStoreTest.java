@@ -0,0 +1,113 @@
+package org.fortishop.notificationservice.projection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import org.fortishop.notificationservice.domain.OrderMemberProjection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoOperations;
+
+class OrderMemberProjectionStoreTest {
+
+    @Mock
+    private MongoOperations mongoOperations;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    private OrderProjectionProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(mongoOperations.bulkOps(BulkOperations.BulkMode.UNORDERED, OrderMemberProjection.class)).thenReturn(bulkOperations);
+        properties = new OrderProjectionProperties();
+    }
+
+    @Test
+    @DisplayName("반영한 주문은 Mongo 를 거치지 않고 메모리에서 찾는다")
+    void findMemberId_fromMemory() {
+        OrderMemberProjectionStore store = new OrderMemberProjectionStore(mongoOperations, properties);
+
+        store.projectAll(List.of(projection(1L, 10L), projection(2L, 20L)));
+
+        assertThat(store.findMemberId(1L)).isEqualTo(10L);
+        assertThat(store.findMemberId(2L)).isEqualTo(20L);
+        verify(bulkOperations).execute();
+        verify(mongoOperations, never()).findById(any(), eq(OrderMemberProjection.class));
+    }
+
+    @Test
+    @DisplayName("메모리에 없으면 Mongo 에서 찾고, 찾은 항목은 메모리에 올려 다음 조회는 Mongo 를 거치지 않는다")
+    void findMemberId_promotesFromMongo() {
+        OrderMemberProjectionStore store = new OrderMemberProjectionStore(mongoOperations, properties);
+        when(mongoOperations.findById(5L, OrderMemberProjection.class)).thenReturn(projection(5L, 50L));
+
+        assertThat(store.findMemberId(5L)).isEqualTo(50L);
+        assertThat(store.findMemberId(5L)).isEqualTo(50L);
+
+        verify(mongoOperations, times(1)).findById(5L, OrderMemberProjection.class);
+    }
+
+    @Test
+    @DisplayName("Mongo 에도 없는 주문은 null 을 반환하고 메모리에 올리지 않는다")
+    void findMemberId_missing() {
+        OrderMemberProjectionStore store = new OrderMemberProjectionStore(mongoOperations, properties);
+
+        assertThat(store.findMemberId(7L)).isNull();
+        assertThat(store.findMemberId(7L)).isNull();
+
+        verify(mongoOperations, times(2)).findById(7L, OrderMemberProjection.class);
+    }
+
+    @Test
+    @DisplayName("세대 교체 때 previous 를 버리므로, 두 번 교체된 주문은 다시 Mongo 에서 찾는다")
+    void rotateIfExpired_dropsPrevious() {
+        // 쓰기마다 세대를 교체한다
+        properties.setMemoryRetention(Duration.ZERO);
+        OrderMemberProjectionStore store = new OrderMemberProjectionStore(mongoOperations, properties);
+        when(mongoOperations.findById(1L, OrderMemberProjection.class)).thenReturn(projection(1L, 10L));
+
+        store.projectAll(List.of(projection(1L, 10L)));
+        store.projectAll(List.of(projection(2L, 20L)));
+
+        // 1 은 previous, 2 는 current
+        assertThat(store.findMemberId(1L)).isEqualTo(10L);
+        assertThat(store.findMemberId(2L)).isEqualTo(20L);
+        verify(mongoOperations, never()).findById(any(), eq(OrderMemberProjection.class));
+
+        store.projectAll(List.of(projection(3L, 30L)));
+
+        // 1 이 있던 세대는 버려졌다
+        assertThat(store.findMemberId(1L)).isEqualTo(10L);
+        verify(mongoOperations, times(1)).findById(1L, OrderMemberProjection.class);
+        verify(mongoOperations, never()).findById(2L, OrderMemberProjection.class);
+    }
+
+    @Test
+    @DisplayName("보관 기간보다 오래된 주문 시각은 만료로 본다")
+    void isExpired() {
+        properties.setRetention(Duration.ofDays(1));
+        OrderMemberProjectionStore store = new OrderMemberProjectionStore(mongoOperations, properties);
+
+        assertThat(store.isExpired(new Date(System.currentTimeMillis() - Duration.ofDays(2).toMillis()))).isTrue();
+        assertThat(store.isExpired(new Date())).isFalse();
+    }
+
+    private static OrderMemberProjection projection(long orderId, long memberId) {
+        return new OrderMemberProjection(orderId, memberId, new Date());
+    }
+}
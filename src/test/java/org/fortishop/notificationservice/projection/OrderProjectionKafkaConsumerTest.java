@@ -0,0 +1,105 @@
+package org.fortishop.notificationservice.projection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.fortishop.notificationservice.domain.OrderMemberProjection;
+import org.fortishop.notificationservice.dto.event.OrderCreatedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.kafka.support.Acknowledgment;
+
+class OrderProjectionKafkaConsumerTest {
+
+    private static final String TOPIC = "order.created";
+
+    @Mock
+    private OrderMemberProjectionStore projectionStore;
+
+    @Mock
+    private Acknowledgment ack;
+
+    private OrderProjectionKafkaConsumer consumer;
+    private final Date cutoff = new Date(System.currentTimeMillis() - Duration.ofDays(90).toMillis());
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(projectionStore.isExpired(any())).thenAnswer(invocation -> ((Date) invocation.getArgument(0)).before(cutoff));
+        consumer = new OrderProjectionKafkaConsumer(projectionStore, new OrderProjectionProperties());
+    }
+
+    @Test
+    @DisplayName("필드가 빠졌거나 보관 기간이 지난 주문 이벤트는 건너뛰고 나머지만 반영한다")
+    void consumeOrderCreated_skipsIncompleteAndExpired() {
+        String now = Instant.now().toString();
+        String expired = Instant.now().minus(Duration.ofDays(120)).toString();
+        List<ConsumerRecord<String, OrderCreatedEvent>> records = new ArrayList<>();
+        records.add(record(0, new OrderCreatedEvent(1L, 10L, now, null)));
+        records.add(record(1, null));
+        records.add(record(2, new OrderCreatedEvent(null, 20L, now, null)));
+        records.add(record(3, new OrderCreatedEvent(3L, null, now, null)));
+        records.add(record(4, new OrderCreatedEvent(4L, 40L, expired, null)));
+        records.add(record(5, new OrderCreatedEvent(5L, 50L, now, null)));
+
+        consumer.consumeOrderCreated(records, ack);
+
+        assertThat(projected()).extracting(OrderMemberProjection::getOrderId).containsExactly(1L, 5L);
+        verify(ack).acknowledge();
+    }
+
+    @Test
+    @DisplayName("주문 시각을 해석할 수 없으면 레코드 타임스탬프로 만료를 판단한다")
+    void consumeOrderCreated_fallsBackToRecordTimestamp() {
+        long expiredTimestamp = Instant.now().minus(Duration.ofDays(120)).toEpochMilli();
+        List<ConsumerRecord<String, OrderCreatedEvent>> records = List.of(
+                record(0, new OrderCreatedEvent(1L, 10L, "2024/01/01", null), System.currentTimeMillis()),
+                record(1, new OrderCreatedEvent(2L, 20L, null, null), expiredTimestamp));
+
+        consumer.consumeOrderCreated(records, ack);
+
+        List<OrderMemberProjection> projected = projected();
+        assertThat(projected).extracting(OrderMemberProjection::getOrderId).containsExactly(1L);
+        assertThat(projected.get(0).getOrderedAt().getTime()).isEqualTo(records.get(0).timestamp());
+    }
+
+    @Test
+    @DisplayName("반영할 이벤트가 없어도 오프셋은 커밋한다")
+    void consumeOrderCreated_allSkipped() {
+        consumer.consumeOrderCreated(List.of(record(0, null)), ack);
+
+        assertThat(projected()).isEmpty();
+        verify(ack).acknowledge();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<OrderMemberProjection> projected() {
+        ArgumentCaptor<List<OrderMemberProjection>> captor = ArgumentCaptor.forClass(List.class);
+        verify(projectionStore).projectAll(captor.capture());
+        return captor.getValue();
+    }
+
+    private static ConsumerRecord<String, OrderCreatedEvent> record(long offset, OrderCreatedEvent event) {
+        return record(offset, event, System.currentTimeMillis());
+    }
+
+    private static ConsumerRecord<String, OrderCreatedEvent> record(long offset, OrderCreatedEvent event, long timestamp) {
+        return new ConsumerRecord<>(TOPIC, 0, offset, timestamp, TimestampType.CREATE_TIME, 0, 0, null, event,
+                new RecordHeaders(), Optional.empty());
+    }
+}
@@ -0,0 +1,295 @@
+package org.fortishop.notificationservice.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.fortishop.notificationservice.domain.Notification;
+import org.fortishop.notificationservice.domain.NotificationStatus;
+import org.fortishop.notificationservice.domain.NotificationType;
+import org.fortishop.notificationservice.dto.request.NotificationSearchRequest;
+import org.fortishop.notificationservice.global.MongoIndexProvisioner;
+import org.fortishop.notificationservice.global.config.MongoIndexProperties;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * notifications 인덱스 검증. 시드 데이터에 대해 저장소 메서드를 실제로 호출하고,
+ * 드라이버가 보낸 명령을 그대로 explain 해 승리 계획에 COLLSCAN 이나 메모리 SORT 가 있으면 실패한다.
+ * 저장소에 조회 메서드를 추가하면 repositoryQueries() 에도 추가한다.
+ */
+@Testcontainers
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class NotificationIndexTest {
+
+    private static final String DATABASE = "index_test";
+    private static final Long MEMBER_ID = 7L;
+    private static final Set<String> EXPLAINABLE = Set.of("find", "aggregate", "count", "distinct", "update", "delete", "findAndModify");
+    private static final Set<String> FORBIDDEN_STAGES = Set.of("COLLSCAN", "SORT");
+
+    @Container
+    static MongoDBContainer mongo = new MongoDBContainer("mongo:6.0");
+
+    private final List<BsonDocument> captured = new ArrayList<>();
+    private volatile boolean capturing;
+
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private MongoIndexProvisioner provisioner;
+    private NotificationRepository notificationRepository;
+
+    @BeforeAll
+    void setUp() {
+        CommandListener listener = new CommandListener() {
+            @Override
+            public void commandStarted(CommandStartedEvent event) {
+                if (capturing && EXPLAINABLE.contains(event.getCommandName())) {
+                    synchronized (captured) {
+                        captured.add(event.getCommand().clone());
+                    }
+                }
+            }
+        };
+        client = MongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(mongo.getReplicaSetUrl(DATABASE)))
+                .addCommandListener(listener)
+                .build());
+        mongoTemplate = new MongoTemplate(client, DATABASE);
+        MongoIndexProperties indexProperties = new MongoIndexProperties();
+        indexProperties.setRebuildChanged(true);
+        provisioner = new MongoIndexProvisioner(mongoTemplate,
+                (MongoMappingContext) mongoTemplate.getConverter().getMappingContext(), indexProperties);
+        notificationRepository = new MongoRepositoryFactory(mongoTemplate)
+                .getRepository(NotificationRepository.class, new NotificationRepositoryCustomImpl(mongoTemplate));
+
+        seed();
+        provisioner.reconcile(Notification.class);
+    }
+
+    @AfterAll
+    void tearDown() {
+        client.close();
+    }
+
+    @TestFactory
+    @DisplayName("저장소 조회는 모두 인덱스를 타고 메모리 정렬을 하지 않는다")
+    Stream<DynamicTest> repositoryQueries_useIndexes() {
+        return repositoryQueries().entrySet().stream()
+                .map(query -> DynamicTest.dynamicTest(query.getKey(), () -> assertIndexed(query.getKey(), query.getValue())));
+    }
+
+    @Test
+    @DisplayName("같은 이름인데 키가 다른 인덱스는 선언대로 다시 만든다")
+    void reconcile_changedDefinition() {
+        mongoTemplate.indexOps(Notification.class).dropIndex("member_id");
+        mongoTemplate.indexOps(Notification.class).ensureIndex(new Index().on("memberId", Sort.Direction.ASC).named("member_id"));
+
+        provisioner.reconcile(Notification.class);
+
+        assertThat(liveKeys("member_id")).isEqualTo(new Document("memberId", 1).append("_id", -1));
+        assertThat(liveKeys("member_id_reindex")).isNull();
+    }
+
+    @Test
+    @DisplayName("rebuild-changed 가 꺼져 있으면 정의가 다른 인덱스를 지우지 않고 그대로 둔다")
+    void reconcile_changedDefinitionLogOnly() {
+        mongoTemplate.indexOps(Notification.class).dropIndex("member_id");
+        mongoTemplate.indexOps(Notification.class).ensureIndex(new Index().on("memberId", Sort.Direction.ASC).named("member_id"));
+        MongoIndexProvisioner logOnly = new MongoIndexProvisioner(mongoTemplate,
+                (MongoMappingContext) mongoTemplate.getConverter().getMappingContext(), new MongoIndexProperties());
+
+        logOnly.reconcile(Notification.class);
+
+        assertThat(liveKeys("member_id")).isEqualTo(new Document("memberId", 1));
+        provisioner.reconcile(Notification.class);
+        assertThat(liveKeys("member_id")).isEqualTo(new Document("memberId", 1).append("_id", -1));
+    }
+
+    @Test
+    @DisplayName("같은 키가 다른 이름으로 있으면 선언된 이름으로 바꾼다")
+    void reconcile_renamed() {
+        mongoTemplate.indexOps(Notification.class).dropIndex("member_id");
+        mongoTemplate.indexOps(Notification.class).ensureIndex(new Index()
+                .on("memberId", Sort.Direction.ASC).on("_id", Sort.Direction.DESC).named("legacy_member_id"));
+
+        provisioner.reconcile(Notification.class);
+
+        assertThat(liveKeys("member_id")).isNotNull();
+        assertThat(liveKeys("legacy_member_id")).isNull();
+    }
+
+    @Test
+    @DisplayName("놓친 알림 조회는 기준 알림과 같은 시각에 저장된 알림도 ID 순으로 돌려준다")
+    void findAfter_sameCreatedAt() {
+        Long memberId = 1_000L;
+        LocalDateTime createdAt = LocalDateTime.now().withNano(0);
+        List<Notification> batch = new ArrayList<>();
+        for (long id = 10_001; id <= 10_004; id++) {
+            batch.add(new Notification(id, memberId, NotificationType.ORDER, "알림 " + id,
+                    null, null, null, NotificationStatus.UNREAD, createdAt, "trace-" + id));
+        }
+        batch.add(new Notification(10_005L, memberId, NotificationType.ORDER, "알림 10005",
+                null, null, null, NotificationStatus.UNREAD, createdAt.plusSeconds(1), "trace-10005"));
+        mongoTemplate.insertAll(batch);
+
+        List<Notification> missed = notificationRepository.findAfter(memberId, createdAt, 10_002L, 10);
+
+        assertThat(missed).extracting(Notification::getId).containsExactly(10_003L, 10_004L, 10_005L);
+    }
+
+    private Map<String, Consumer<NotificationRepository>> repositoryQueries() {
+        PageRequest page = PageRequest.of(0, 20);
+        Map<String, Consumer<NotificationRepository>> queries = new LinkedHashMap<>();
+        queries.put("findTop20ByMemberIdOrderByCreatedAtDesc", r -> r.findTop20ByMemberIdOrderByCreatedAtDesc(MEMBER_ID));
+        queries.put("findTop20ByMemberIdOrderByIdDesc", r -> r.findTop20ByMemberIdOrderByIdDesc(MEMBER_ID));
+        queries.put("findByMemberIdAndIdGreaterThanOrderByIdAsc",
+                r -> r.findByMemberIdAndIdGreaterThanOrderByIdAsc(MEMBER_ID, 100L, page));
+        queries.put("findAfter", r -> r.findAfter(MEMBER_ID, LocalDateTime.now().minusDays(3), 150L, 20));
+        queries.put("countByMemberIdAndStatus", r -> r.countByMemberIdAndStatus(MEMBER_ID, NotificationStatus.UNREAD));
+        queries.put("findByMemberIdAndIdIn", r -> r.findByMemberIdAndIdIn(MEMBER_ID, List.of(1L, 2L, 3L)));
+        queries.put("findByMemberIdAndTypeAndStatus",
+                r -> r.findByMemberIdAndTypeAndStatus(MEMBER_ID, NotificationType.ORDER, NotificationStatus.UNREAD));
+        LocalDateTime cursor = LocalDateTime.now().minusDays(5);
+        queries.put("findFeed", r -> r.findFeed(MEMBER_ID, null, null, null, null, 21));
+        queries.put("findFeed(cursor)", r -> r.findFeed(MEMBER_ID, null, null, cursor, 150L, 21));
+        queries.put("findFeed(status, cursor)", r -> r.findFeed(MEMBER_ID, null, NotificationStatus.UNREAD, cursor, 150L, 21));
+        queries.put("findFeed(type, cursor)", r -> r.findFeed(MEMBER_ID, NotificationType.ORDER, null, cursor, 150L, 21));
+        queries.put("findFeed(type, status)",
+                r -> r.findFeed(MEMBER_ID, NotificationType.ORDER, NotificationStatus.UNREAD, null, null, 21));
+        queries.put("search(memberId, type, status)", r -> r.search(
+                new NotificationSearchRequest(MEMBER_ID, NotificationType.ORDER, NotificationStatus.UNREAD), page));
+        queries.put("search(memberId, from, to)", r -> r.search(new NotificationSearchRequest(MEMBER_ID, null, null,
+                cursor.minusDays(1), cursor, null, null), page));
+        queries.put("search(type, from)", r -> r.search(new NotificationSearchRequest(null, NotificationType.POINT, null,
+                cursor, null, null, null), PageRequest.of(2, 20)));
+        queries.put("search()", r -> r.search(new NotificationSearchRequest(), page));
+        queries.put("markAsRead", r -> r.markAsRead(MEMBER_ID, List.of(1L, 2L, 3L)));
+        queries.put("markAllAsRead", r -> r.markAllAsRead(MEMBER_ID));
+        return queries;
+    }
+
+    private void assertIndexed(String name, Consumer<NotificationRepository> query) {
+        List<BsonDocument> commands;
+        synchronized (captured) {
+            captured.clear();
+        }
+        capturing = true;
+        try {
+            query.accept(notificationRepository);
+        } finally {
+            capturing = false;
+        }
+        synchronized (captured) {
+            commands = new ArrayList<>(captured);
+        }
+
+        assertThat(commands).as("%s 가 조회 명령을 보내지 않았다", name).isNotEmpty();
+        for (BsonDocument command : commands) {
+            Document explain = mongoTemplate.getDb().runCommand(new BsonDocument("explain", explainable(command))
+                    .append("verbosity", new BsonString("queryPlanner")));
+            List<Document> plans = new ArrayList<>();
+            collectWinningPlans(explain, plans);
+            assertThat(plans).as("%s 의 explain 에 winningPlan 이 없다: %s", name, explain.toJson()).isNotEmpty();
+
+            List<String> stages = new ArrayList<>();
+            plans.forEach(plan -> collectStages(plan, stages));
+            assertThat(stages).as("%s 실행 계획: %s", name, stages).doesNotContainAnyElementsOf(FORBIDDEN_STAGES);
+        }
+    }
+
+    // 세션/클러스터 정보처럼 explain 안에 넣을 수 없는 필드를 뺀다
+    private static BsonDocument explainable(BsonDocument command) {
+        BsonDocument copy = new BsonDocument();
+        for (Map.Entry<String, BsonValue> field : command.entrySet()) {
+            String key = field.getKey();
+            if (key.startsWith("$") || key.equals("lsid") || key.equals("txnNumber")) {
+                continue;
+            }
+            copy.append(key, field.getValue());
+        }
+        return copy;
+    }
+
+    private static void collectWinningPlans(Object node, List<Document> plans) {
+        if (node instanceof Document document) {
+            for (Map.Entry<String, Object> field : document.entrySet()) {
+                if ("winningPlan".equals(field.getKey()) && field.getValue() instanceof Document plan) {
+                    plans.add(plan);
+                } else {
+                    collectWinningPlans(field.getValue(), plans);
+                }
+            }
+        } else if (node instanceof List<?> list) {
+            list.forEach(item -> collectWinningPlans(item, plans));
+        }
+    }
+
+    private static void collectStages(Object node, List<String> stages) {
+        if (node instanceof Document document) {
+            for (Map.Entry<String, Object> field : document.entrySet()) {
+                if ("stage".equals(field.getKey()) && field.getValue() instanceof String stage) {
+                    stages.add(stage.toUpperCase());
+                } else {
+                    collectStages(field.getValue(), stages);
+                }
+            }
+        } else if (node instanceof List<?> list) {
+            list.forEach(item -> collectStages(item, stages));
+        }
+    }
+
+    private Document liveKeys(String indexName) {
+        for (Document index : mongoTemplate.getCollection("notifications").listIndexes()) {
+            if (indexName.equals(index.getString("name"))) {
+                return index.get("key", Document.class);
+            }
+        }
+        return null;
+    }
+
+    // 회원 50명 x 40개, 유형/상태/생성 시각을 섞는다
+    private void seed() {
+        NotificationType[] types = NotificationType.values();
+        List<Notification> notifications = new ArrayList<>();
+        LocalDateTime base = LocalDateTime.now().minusDays(7);
+        long id = 1;
+        for (long memberId = 1; memberId <= 50; memberId++) {
+            for (int i = 0; i < 40; i++, id++) {
+                NotificationStatus status = i % 3 == 0 ? NotificationStatus.READ : NotificationStatus.UNREAD;
+                notifications.add(new Notification(id, memberId, types[i % types.length], "알림 " + id,
+                        null, null, null, status, base.plusMinutes(id), "trace-" + id));
+            }
+        }
+        mongoTemplate.insertAll(notifications);
+    }
+}
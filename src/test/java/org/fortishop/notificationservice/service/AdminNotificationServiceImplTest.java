@@ -2,28 +2,42 @@ package org.fortishop.notificationservice.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import org.fortishop.notificationservice.domain.Notification;
+import org.fortishop.notificationservice.domain.NotificationStatus;
 import org.fortishop.notificationservice.domain.NotificationType;
+import org.fortishop.notificationservice.dto.request.NotificationSearchRequest;
+import org.fortishop.notificationservice.dto.response.NotificationPageResponse;
 import org.fortishop.notificationservice.dto.response.NotificationResponse;
 import org.fortishop.notificationservice.exception.NotificationException;
 import org.fortishop.notificationservice.repository.NotificationRepository;
+import org.fortishop.notificationservice.template.NotificationMessageRenderer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 
 class AdminNotificationServiceImplTest {
 
     @Mock
     private NotificationRepository notificationRepository;
 
+    @Mock
+    private NotificationMessageRenderer messageRenderer;
+
     @InjectMocks
     private AdminNotificationServiceImpl adminService;
 
@@ -33,29 +47,47 @@ class AdminNotificationServiceImplTest {
     void setUp() {
         MockitoAnnotations.openMocks(this);
         notification = new Notification(1L, 1L, NotificationType.ORDER, "주문 완료", "123123123");
+        when(messageRenderer.render(any(Notification.class)))
+                .thenAnswer(invocation -> invocation.<Notification>getArgument(0).getMessage());
     }
 
     @Test
-    @DisplayName("알림 검색 - 필터 조건 적용")
+    @DisplayName("알림 검색 - 조건을 저장소 쿼리로 넘기고 한 페이지만 반환")
     void search_filtered() {
-        Notification another = new Notification(2L, 2L, NotificationType.POINT, "포인트 지급", "12312123");
-        another.markAsRead();
-        when(notificationRepository.findAll()).thenReturn(List.of(notification, another));
+        NotificationSearchRequest request = new NotificationSearchRequest(1L, NotificationType.ORDER, NotificationStatus.UNREAD);
+        when(notificationRepository.search(request, PageRequest.of(0, 20)))
+                .thenReturn(new SliceImpl<>(List.of(notification), PageRequest.of(0, 20), true));
 
-        List<NotificationResponse> result = adminService.search(1L, "ORDER", "UNREAD");
+        NotificationPageResponse result = adminService.search(request);
 
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getType()).isEqualTo("ORDER");
+        assertThat(result.getItems()).hasSize(1);
+        assertThat(result.getItems().get(0).getType()).isEqualTo("ORDER");
+        assertThat(result.isHasNext()).isTrue();
+        verify(notificationRepository, never()).findAll();
     }
 
     @Test
-    @DisplayName("알림 검색 - 조건 없음 (전체 조회)")
-    void search_all() {
-        when(notificationRepository.findAll()).thenReturn(List.of(notification));
+    @DisplayName("알림 검색 - 페이지 크기는 최대값으로 자른다")
+    void search_pageSizeCapped() {
+        NotificationSearchRequest request = new NotificationSearchRequest(null, null, null, null, null, 2, 1_000);
+        when(notificationRepository.search(eq(request), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(notification)));
 
-        List<NotificationResponse> result = adminService.search(null, null, null);
+        NotificationPageResponse result = adminService.search(request);
+
+        assertThat(result.getPage()).isEqualTo(2);
+        assertThat(result.getSize()).isEqualTo(100);
+        verify(notificationRepository).search(request, PageRequest.of(2, 100));
+    }
 
-        assertThat(result).hasSize(1);
+    @Test
+    @DisplayName("알림 검색 - 기간 시작이 끝보다 늦으면 거부")
+    void search_invalidRange() {
+        LocalDateTime now = LocalDateTime.now();
+        NotificationSearchRequest request = new NotificationSearchRequest(null, null, null, now, now.minusDays(1), null, null);
+
+        assertThatThrownBy(() -> adminService.search(request))
+                .isInstanceOf(NotificationException.class);
     }
 
     @Test
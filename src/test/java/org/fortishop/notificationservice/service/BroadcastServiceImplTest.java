@@ -0,0 +1,124 @@
+package org.fortishop.notificationservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.fortishop.notificationservice.bus.NotificationBroadcastEvent;
+import org.fortishop.notificationservice.domain.BroadcastNotification;
+import org.fortishop.notificationservice.domain.BroadcastReadMarker;
+import org.fortishop.notificationservice.dto.response.BroadcastResponse;
+import org.fortishop.notificationservice.exception.NotificationException;
+import org.fortishop.notificationservice.global.SequenceGenerator;
+import org.fortishop.notificationservice.repository.BroadcastNotificationRepository;
+import org.fortishop.notificationservice.repository.BroadcastReadMarkerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+
+class BroadcastServiceImplTest {
+
+    @Mock
+    private BroadcastNotificationRepository broadcastRepository;
+
+    @Mock
+    private BroadcastReadMarkerRepository markerRepository;
+
+    @Mock
+    private SequenceGenerator sequenceGenerator;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private BroadcastServiceImpl broadcastService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        broadcastService = new BroadcastServiceImpl(broadcastRepository, markerRepository, sequenceGenerator, eventPublisher,
+                "notification-service");
+    }
+
+    @Test
+    @DisplayName("전체 공지 - 공지 하나만 저장하고 모든 인스턴스로 전송 이벤트를 보낸다")
+    void broadcast_success() {
+        when(sequenceGenerator.generateSequence("notification_broadcasts_sequence")).thenReturn(10L);
+        when(broadcastRepository.save(any(BroadcastNotification.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        BroadcastResponse response = broadcastService.broadcast("점검 안내");
+
+        assertThat(response.getId()).isEqualTo(10L);
+        assertThat(response.getType()).isEqualTo("SYSTEM");
+        verify(eventPublisher).publishEvent(argThat((ApplicationEvent event) -> event instanceof NotificationBroadcastEvent e
+                && e.getBroadcastId() == 10L && "점검 안내".equals(e.getMessage())));
+    }
+
+    @Test
+    @DisplayName("전체 공지 - 공지 ID 시퀀스를 기존 공지의 최대 ID 이상으로 한 번만 올린다")
+    void broadcast_seedsSequence() {
+        when(broadcastRepository.findTopByOrderByIdDesc()).thenReturn(Optional.of(new BroadcastNotification(500L, "이전 공지")));
+        when(sequenceGenerator.generateSequence("notification_broadcasts_sequence")).thenReturn(501L, 502L);
+        when(broadcastRepository.save(any(BroadcastNotification.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertThat(broadcastService.broadcast("첫 공지").getId()).isEqualTo(501L);
+        assertThat(broadcastService.broadcast("둘째 공지").getId()).isEqualTo(502L);
+
+        verify(sequenceGenerator, times(1)).advanceTo("notification_broadcasts_sequence", 500L);
+    }
+
+    @Test
+    @DisplayName("전체 공지 - 빈 메시지는 거부한다")
+    void broadcast_blank() {
+        assertThatThrownBy(() -> broadcastService.broadcast(" "))
+                .isInstanceOf(NotificationException.class);
+        verify(broadcastRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("공지 조회 - 읽음 기준 이하의 공지는 READ 로 표시하고 나머지만 미읽음으로 센다")
+    void getRecent_readMarker() {
+        when(broadcastRepository.findTop20ByOrderByIdDesc()).thenReturn(List.of(
+                new BroadcastNotification(3L, "세 번째"),
+                new BroadcastNotification(2L, "두 번째"),
+                new BroadcastNotification(1L, "첫 번째")));
+        when(markerRepository.findById(1L)).thenReturn(Optional.of(new BroadcastReadMarker(1L, 2L, LocalDateTime.now())));
+
+        List<BroadcastResponse> recent = broadcastService.getRecent(1L);
+
+        assertThat(recent).extracting(BroadcastResponse::getStatus).containsExactly("UNREAD", "READ", "READ");
+        assertThat(broadcastService.getUnreadCount(1L)).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("공지 모두 읽음 - 가장 최근 공지까지 읽음 기준을 올린다")
+    void markAllAsRead_success() {
+        when(broadcastRepository.findTopByOrderByIdDesc()).thenReturn(Optional.of(new BroadcastNotification(3L, "공지")));
+
+        broadcastService.markAllAsRead(1L);
+
+        verify(markerRepository).advance(1L, 3L);
+    }
+
+    @Test
+    @DisplayName("공지 모두 읽음 - 공지가 없으면 아무것도 쓰지 않는다")
+    void markAllAsRead_empty() {
+        when(broadcastRepository.findTopByOrderByIdDesc()).thenReturn(Optional.empty());
+
+        broadcastService.markAllAsRead(1L);
+
+        verify(markerRepository, never()).advance(anyLong(), anyLong());
+    }
+}
@@ -4,26 +4,38 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatCode;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import org.fortishop.notificationservice.cache.UnreadCounterStore;
 import org.fortishop.notificationservice.domain.Notification;
 import org.fortishop.notificationservice.domain.NotificationStatus;
 import org.fortishop.notificationservice.domain.NotificationType;
+import org.fortishop.notificationservice.dto.request.NotificationCreateRequest;
+import org.fortishop.notificationservice.dto.response.NotificationFeedResponse;
 import org.fortishop.notificationservice.dto.response.NotificationResponse;
 import org.fortishop.notificationservice.exception.NotificationException;
-import org.fortishop.notificationservice.global.SequenceGenerator;
+import org.fortishop.notificationservice.global.NotificationIdGenerator;
+import org.fortishop.notificationservice.global.config.FeedProperties;
 import org.fortishop.notificationservice.repository.NotificationRepository;
+import org.fortishop.notificationservice.template.NotificationMessageRenderer;
+import org.fortishop.notificationservice.template.TemplateStorageProperties;
+import org.fortishop.notificationservice.utils.FeedCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
 
 class NotificationServiceImplTest {
 
@@ -34,7 +46,19 @@ class NotificationServiceImplTest {
     private NotificationServiceImpl notificationService;
 
     @Mock
-    private SequenceGenerator sequenceGenerator;
+    private NotificationIdGenerator idGenerator;
+
+    @Mock
+    private TemplateStorageProperties storageProperties;
+
+    @Mock
+    private NotificationMessageRenderer messageRenderer;
+
+    @Mock
+    private UnreadCounterStore unreadCounter;
+
+    @Mock
+    private FeedProperties feedProperties;
 
     private Notification notification;
 
@@ -42,18 +66,68 @@ class NotificationServiceImplTest {
     void setUp() {
         MockitoAnnotations.openMocks(this);
         notification = new Notification(1L, 1L, NotificationType.POINT, "포인트가 적립되었습니다.", "123123123");
+        when(feedProperties.getDefaultSize()).thenReturn(20);
+        when(feedProperties.getMaxSize()).thenReturn(100);
+        when(messageRenderer.render(any(Notification.class)))
+                .thenAnswer(invocation -> invocation.<Notification>getArgument(0).getMessage());
     }
 
     @Test
     @DisplayName("알림 생성 - 성공")
     void createNotification_success() {
-        when(sequenceGenerator.generateSequence("notifications_sequence")).thenReturn(1L);
+        when(idGenerator.nextId()).thenReturn(1L);
         when(notificationRepository.save(any(Notification.class))).thenReturn(notification);
 
         assertThatCode(() -> notificationService.createNotification(1L, NotificationType.POINT, "테스트 메시지", "123123123"))
                 .doesNotThrowAnyException();
 
         verify(notificationRepository, times(1)).save(any(Notification.class));
+        verify(unreadCounter).increment(1L, 1);
+    }
+
+    @Test
+    @DisplayName("알림 생성 - render-on-read 면 메시지 대신 템플릿 참조를 저장")
+    void createNotification_renderOnRead() {
+        when(idGenerator.nextId()).thenReturn(1L);
+        when(storageProperties.isRenderOnRead()).thenReturn(true);
+
+        notificationService.createNotification(new NotificationCreateRequest(1L, NotificationType.ORDER,
+                "100번 주문이 결제되었습니다.", 7L, 2, Map.of("orderId", "100"), "trace-1"));
+
+        verify(notificationRepository).save(argThat(saved -> saved.getMessage() == null
+                && saved.getTemplateId() == 7L
+                && saved.getTemplateVersion() == 2
+                && "100".equals(saved.getVariables().get("orderId"))));
+    }
+
+    @Test
+    @DisplayName("알림 일괄 생성 - 실패한 인덱스 반환")
+    void createNotifications_returnsFailedIndexes() {
+        when(idGenerator.nextId()).thenReturn(1L, 2L, 3L);
+        when(notificationRepository.insertUnordered(anyList())).thenReturn(List.of(1));
+
+        List<Integer> failed = notificationService.createNotifications(List.of(
+                new NotificationCreateRequest(1L, NotificationType.ORDER, "메시지1", "trace-1"),
+                new NotificationCreateRequest(2L, NotificationType.ORDER, "메시지2", "trace-2"),
+                new NotificationCreateRequest(3L, NotificationType.POINT, "메시지3", "trace-3")
+        ));
+
+        assertThat(failed).containsExactly(1);
+        verify(notificationRepository, times(1)).insertUnordered(argThat(list -> list.size() == 3));
+        verify(unreadCounter).incrementAll(Map.of(1L, 1L, 3L, 1L));
+    }
+
+    @Test
+    @DisplayName("알림 일괄 생성 - 재처리 요청은 이미 발급된 ID 로 저장")
+    void createNotifications_reusesAssignedId() {
+        NotificationCreateRequest replayed = new NotificationCreateRequest(1L, NotificationType.ORDER, "메시지1", "trace-1");
+        replayed.assignId(42L);
+        when(notificationRepository.insertUnordered(anyList())).thenReturn(List.of());
+
+        notificationService.createNotifications(List.of(replayed));
+
+        verify(idGenerator, times(0)).nextId();
+        verify(notificationRepository).insertUnordered(argThat(list -> list.get(0).getId() == 42L));
     }
 
     @Test
@@ -69,13 +143,96 @@ class NotificationServiceImplTest {
     }
 
     @Test
-    @DisplayName("읽지 않은 알림 개수 조회")
+    @DisplayName("최근 알림 20개 조회 - 시간순 ID 면 _id 역순으로 조회")
+    void getRecent_timeOrderedId() {
+        when(idGenerator.isTimeOrdered()).thenReturn(true);
+        when(notificationRepository.findTop20ByMemberIdOrderByIdDesc(1L))
+                .thenReturn(List.of(notification));
+
+        List<NotificationResponse> result = notificationService.getRecent(1L);
+
+        assertThat(result).hasSize(1);
+        verify(notificationRepository, times(0)).findTop20ByMemberIdOrderByCreatedAtDesc(1L);
+    }
+
+    @Test
+    @DisplayName("알림 피드 - 한 개 더 읽어 다음 페이지가 있으면 마지막 항목으로 커서를 만든다")
+    void getFeed_hasNext() {
+        Notification older = new Notification(2L, 1L, NotificationType.ORDER, "주문 완료", "trace-2");
+        when(notificationRepository.findFeed(1L, null, NotificationStatus.UNREAD, null, null, 2))
+                .thenReturn(List.of(notification, older));
+
+        NotificationFeedResponse feed = notificationService.getFeed(1L, null, 1, null, NotificationStatus.UNREAD);
+
+        assertThat(feed.getItems()).extracting(NotificationResponse::getId).containsExactly(1L);
+        assertThat(feed.isHasNext()).isTrue();
+        FeedCursor next = FeedCursor.decode(feed.getNextCursor());
+        assertThat(next.getId()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("알림 피드 - 커서 위치 다음부터 읽고, 페이지 크기는 최대값으로 자른다")
+    void getFeed_fromCursor() {
+        String cursor = FeedCursor.of(notification).encode();
+        FeedCursor decoded = FeedCursor.decode(cursor);
+        when(notificationRepository.findFeed(1L, NotificationType.POINT, null, decoded.getCreatedAt(), 1L, 101))
+                .thenReturn(List.of());
+
+        NotificationFeedResponse feed = notificationService.getFeed(1L, cursor, 500, NotificationType.POINT, null);
+
+        assertThat(feed.getItems()).isEmpty();
+        assertThat(feed.isHasNext()).isFalse();
+        assertThat(feed.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("알림 피드 - 잘못된 커서")
+    void getFeed_invalidCursor() {
+        assertThatThrownBy(() -> notificationService.getFeed(1L, "not-a-cursor", 10, null, null))
+                .isInstanceOf(NotificationException.class);
+    }
+
+    @Test
+    @DisplayName("마지막 이벤트 이후 알림 조회 - 시간순 ID 면 _id 범위로 조회")
+    void getAfter_timeOrderedId() {
+        when(idGenerator.isTimeOrdered()).thenReturn(true);
+        when(notificationRepository.findByMemberIdAndIdGreaterThanOrderByIdAsc(eq(1L), eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(notification));
+
+        List<NotificationResponse> result = notificationService.getAfter(1L, 0L, 10);
+
+        assertThat(result).extracting(NotificationResponse::getId).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("마지막 이벤트 이후 알림 조회 - 시간순 ID 가 아니면 마지막 알림의 (생성 시각, ID) 뒤를 조회")
+    void getAfter_createdAtWithIdTiebreak() {
+        Notification sameMillis = new Notification(2L, 1L, NotificationType.POINT, "같은 시각 알림", "trace-2");
+        when(notificationRepository.findById(1L)).thenReturn(Optional.of(notification));
+        when(notificationRepository.findAfter(1L, notification.getCreatedAt(), 1L, 10)).thenReturn(List.of(sameMillis));
+
+        List<NotificationResponse> result = notificationService.getAfter(1L, 1L, 10);
+
+        assertThat(result).extracting(NotificationResponse::getId).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("마지막 이벤트 이후 알림 조회 - 다른 회원의 이벤트 ID 면 빈 목록")
+    void getAfter_foreignEventId() {
+        when(notificationRepository.findById(1L)).thenReturn(Optional.of(notification));
+
+        assertThat(notificationService.getAfter(999L, 1L, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("읽지 않은 알림 개수 조회 - 회원별 카운터에서 읽는다")
     void getUnreadCount_success() {
-        when(notificationRepository.countByMemberIdAndStatus(1L, NotificationStatus.UNREAD)).thenReturn(3L);
+        when(unreadCounter.get(1L)).thenReturn(3L);
 
         Long count = notificationService.getUnreadCount(1L);
 
         assertThat(count).isEqualTo(3);
+        verify(notificationRepository, times(0)).countByMemberIdAndStatus(1L, NotificationStatus.UNREAD);
     }
 
     @Test
@@ -104,6 +261,29 @@ class NotificationServiceImplTest {
                 .isInstanceOf(NotificationException.class);
     }
 
+    @Test
+    @DisplayName("알림 읽음 처리 - updateMany 로 바뀐 수만큼 미읽음 카운터를 줄인다")
+    void markAsRead_success() {
+        when(notificationRepository.markAsRead(1L, List.of(1L, 2L, 3L))).thenReturn(2L);
+
+        long modified = notificationService.markAsRead(1L, List.of(1L, 2L, 3L));
+
+        assertThat(modified).isEqualTo(2);
+        verify(unreadCounter).increment(1L, -2);
+    }
+
+    @Test
+    @DisplayName("알림 모두 읽음 처리 - 한 번의 updateMany 로 처리한다")
+    void markAllAsRead_success() {
+        when(notificationRepository.markAllAsRead(1L)).thenReturn(150L);
+
+        long modified = notificationService.markAllAsRead(1L);
+
+        assertThat(modified).isEqualTo(150);
+        verify(notificationRepository, times(1)).markAllAsRead(1L);
+        verify(unreadCounter).increment(1L, -150);
+    }
+
     @Test
     @DisplayName("알림 삭제 - 성공")
     void delete_success() {
@@ -112,6 +292,7 @@ class NotificationServiceImplTest {
         notificationService.delete(1L, 1L);
 
         verify(notificationRepository, times(1)).delete(notification);
+        verify(unreadCounter).increment(1L, -1);
     }
 
     @Test
@@ -2,10 +2,17 @@ package org.fortishop.notificationservice.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.Optional;
+import org.fortishop.notificationservice.cache.NotificationPreferenceStore;
+import org.fortishop.notificationservice.cache.NotificationSettingCache;
+import org.fortishop.notificationservice.cache.SettingCacheProperties;
 import org.fortishop.notificationservice.domain.NotificationSetting;
 import org.fortishop.notificationservice.domain.NotificationType;
 import org.fortishop.notificationservice.dto.request.NotificationSettingRequest;
@@ -17,12 +24,21 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 
 class NotificationSettingServiceImplTest {
 
     @Mock
     private NotificationSettingRepository settingRepository;
 
+    @Mock
+    private NotificationPreferenceStore preferenceStore;
+
+    @Spy
+    private NotificationSettingCache settingCache =
+            new NotificationSettingCache(new SettingCacheProperties(), new SimpleMeterRegistry(), event -> {
+            }, "notification-service");
+
     @InjectMocks
     private NotificationSettingServiceImpl settingService;
 
@@ -102,4 +118,61 @@ class NotificationSettingServiceImplTest {
         boolean result = settingService.isEnabled(1L, NotificationType.SYSTEM);
         assertThat(result).isTrue();
     }
+
+    @Test
+    @DisplayName("알림 수신 여부 확인 - 두 번째 조회부터 캐시 사용")
+    void isEnabled_cached() {
+        when(settingRepository.findById(1L)).thenReturn(Optional.of(defaultSetting));
+
+        settingService.isEnabled(1L, NotificationType.ORDER);
+        settingService.isEnabled(1L, NotificationType.DELIVERY);
+
+        verify(settingRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("알림 수신 여부 확인 - 설정 없음도 캐시")
+    void isEnabled_defaultCached() {
+        when(settingRepository.findById(1L)).thenReturn(Optional.empty());
+
+        settingService.isEnabled(1L, NotificationType.ORDER);
+        boolean result = settingService.isEnabled(1L, NotificationType.POINT);
+
+        assertThat(result).isTrue();
+        verify(settingRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("알림 설정 변경 - 캐시 무효화 후 새 설정 반영")
+    void update_evictsCache() {
+        when(settingRepository.findById(1L)).thenReturn(Optional.of(defaultSetting));
+        assertThat(settingService.isEnabled(1L, NotificationType.ORDER)).isTrue();
+
+        settingService.update(1L, new NotificationSettingRequest(NotificationType.ORDER, false));
+
+        verify(settingCache).evictEverywhere(1L, (byte) 0b1101);
+        assertThat(settingService.isEnabled(1L, NotificationType.ORDER)).isFalse();
+    }
+
+    @Test
+    @DisplayName("알림 수신 여부 확인 - 비트마스크 저장소 적재 후에는 저장소로 응답")
+    void isEnabled_preferenceStore() {
+        when(preferenceStore.isReady()).thenReturn(true);
+        when(preferenceStore.isEnabled(1L, NotificationType.POINT)).thenReturn(false);
+
+        boolean result = settingService.isEnabled(1L, NotificationType.POINT);
+
+        assertThat(result).isFalse();
+        verify(settingRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("알림 설정 변경 - 비트마스크 저장소에 반영")
+    void update_appliesMask() {
+        when(settingRepository.findById(1L)).thenReturn(Optional.empty());
+
+        settingService.update(1L, new NotificationSettingRequest(NotificationType.POINT, false));
+
+        verify(preferenceStore).apply(1L, (byte) 0b0111);
+    }
 }
@@ -3,6 +3,7 @@ package org.fortishop.notificationservice.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -10,11 +11,14 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import org.fortishop.notificationservice.domain.NotificationTemplate;
+import org.fortishop.notificationservice.domain.NotificationTemplateRevision;
 import org.fortishop.notificationservice.domain.NotificationType;
 import org.fortishop.notificationservice.dto.request.NotificationTemplateRequest;
 import org.fortishop.notificationservice.exception.NotificationException;
 import org.fortishop.notificationservice.global.SequenceGenerator;
 import org.fortishop.notificationservice.repository.NotificationTemplateRepository;
+import org.fortishop.notificationservice.repository.NotificationTemplateRevisionRepository;
+import org.fortishop.notificationservice.template.NotificationTemplateEngine;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -33,6 +37,12 @@ class NotificationTemplateServiceImplTest {
     @Mock
     private SequenceGenerator sequenceGenerator;
 
+    @Mock
+    private NotificationTemplateEngine templateEngine;
+
+    @Mock
+    private NotificationTemplateRevisionRepository revisionRepository;
+
     private NotificationTemplate template;
 
     @BeforeEach
@@ -50,6 +60,7 @@ class NotificationTemplateServiceImplTest {
         templateService.create(request);
 
         verify(templateRepository).save(any(NotificationTemplate.class));
+        verify(revisionRepository).save(argThat(revision -> revision.getVersion() == 1));
     }
 
     @Test
@@ -64,6 +75,10 @@ class NotificationTemplateServiceImplTest {
 
         assertThat(template.getTitle()).isEqualTo("수정된 제목");
         assertThat(template.getMessage()).isEqualTo("수정 {orderId}번 주문이 결제되었습니다. 결제 금액: {amount}원입니다.");
+        assertThat(template.getVersion()).isEqualTo(2);
+        verify(revisionRepository).save(argThat(revision ->
+                NotificationTemplateRevision.idOf(1L, 2).equals(revision.getId())));
+        verify(templateEngine).evictEverywhere(NotificationType.ORDER);
     }
 
     @Test
@@ -85,6 +100,7 @@ class NotificationTemplateServiceImplTest {
         templateService.delete(1L);
 
         verify(templateRepository).delete(template);
+        verify(templateEngine).evictEverywhere(NotificationType.ORDER);
     }
 
     @Test
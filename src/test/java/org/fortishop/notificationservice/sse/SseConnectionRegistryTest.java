@@ -0,0 +1,94 @@
+package org.fortishop.notificationservice.sse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+class SseConnectionRegistryTest {
+
+    @Test
+    @DisplayName("한 회원의 여러 연결을 모두 유지한다")
+    void add_multipleConnections() {
+        SseConnectionRegistry registry = new SseConnectionRegistry(8);
+        SseConnection first = connection(1, 1L);
+        SseConnection second = connection(2, 1L);
+
+        registry.add(first);
+        registry.add(second);
+
+        assertThat(registry.get(1L)).containsExactly(first, second);
+        assertThat(registry.size()).isEqualTo(2);
+        assertThat(registry.memberCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("제거는 정확히 그 연결만 지우고, 이미 지운 연결을 다시 지워도 새 연결은 남는다")
+    void remove_identity() {
+        SseConnectionRegistry registry = new SseConnectionRegistry(8);
+        SseConnection old = connection(1, 1L);
+        SseConnection current = connection(2, 1L);
+        registry.add(old);
+        registry.add(current);
+
+        assertThat(registry.remove(old)).isTrue();
+        assertThat(registry.remove(old)).isFalse();
+
+        assertThat(registry.get(1L)).containsExactly(current);
+        assertThat(registry.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("마지막 연결이 제거되면 회원 항목도 지운다")
+    void remove_last() {
+        SseConnectionRegistry registry = new SseConnectionRegistry(8);
+        SseConnection only = connection(1, 1L);
+        registry.add(only);
+
+        registry.remove(only);
+
+        assertThat(registry.get(1L)).isEmpty();
+        assertThat(registry.memberCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("회원당 최대 연결 수를 넘으면 가장 오래된 연결을 밀어낸다")
+    void add_evictsOldest() {
+        SseConnectionRegistry registry = new SseConnectionRegistry(2);
+        SseConnection first = connection(1, 1L);
+        SseConnection second = connection(2, 1L);
+        SseConnection third = connection(3, 1L);
+        registry.add(first);
+        registry.add(second);
+
+        SseConnection evicted = registry.add(third);
+
+        assertThat(evicted).isSameAs(first);
+        assertThat(registry.get(1L)).containsExactly(second, third);
+        assertThat(registry.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("전체 순회는 모든 회원의 모든 연결을 방문한다")
+    void forEach_allConnections() {
+        SseConnectionRegistry registry = new SseConnectionRegistry(8);
+        SseConnection first = connection(1, 1L);
+        SseConnection second = connection(2, 1L);
+        SseConnection other = connection(3, 2L);
+        registry.add(first);
+        registry.add(second);
+        registry.add(other);
+
+        List<SseConnection> visited = new ArrayList<>();
+        registry.forEach(visited::add);
+
+        assertThat(visited).containsExactlyInAnyOrder(first, second, other);
+    }
+
+    private static SseConnection connection(long id, Long memberId) {
+        return new SseConnection(id, memberId, new SseEmitter());
+    }
+}
@@ -0,0 +1,179 @@
+package org.fortishop.notificationservice.sse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+class SseDispatcherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<SseConnection> closed = new ArrayList<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private SseDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        dispatcher.shutdown();
+    }
+
+    @Test
+    @DisplayName("DROP_OLDEST - 대기열이 가득 차면 가장 오래된 프레임을 버린다")
+    void enqueue_dropOldest() throws Exception {
+        SseConnection slow = occupyDispatcher(SlowConsumerPolicy.DROP_OLDEST);
+        SseFrame first = SseFrame.of(SseFrame.NOTIFICATION, "1");
+        SseFrame second = SseFrame.of(SseFrame.NOTIFICATION, "2");
+        SseFrame third = SseFrame.of(SseFrame.NOTIFICATION, "3");
+
+        dispatcher.enqueue(slow, first);
+        dispatcher.enqueue(slow, second);
+        dispatcher.enqueue(slow, third);
+
+        assertThat(slow.queue()).containsExactly(second, third);
+        assertThat(dropped("drop_oldest")).isEqualTo(1);
+        assertThat(meterRegistry.get("sse_outbound_queued").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("COALESCE - 대기열이 가득 차면 대기 프레임을 새로고침 프레임 하나로 합친다")
+    void enqueue_coalesce() throws Exception {
+        SseConnection slow = occupyDispatcher(SlowConsumerPolicy.COALESCE);
+
+        dispatcher.enqueue(slow, SseFrame.of(SseFrame.NOTIFICATION, "1"));
+        dispatcher.enqueue(slow, SseFrame.of(SseFrame.NOTIFICATION, "2"));
+        dispatcher.enqueue(slow, SseFrame.of(SseFrame.NOTIFICATION, "3"));
+
+        assertThat(slow.queue()).hasSize(1);
+        assertThat(dropped("coalesced")).isEqualTo(3);
+        assertThat(meterRegistry.get("sse_outbound_queued").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("DISCONNECT - 대기열이 가득 차면 연결을 닫고 대기열을 비운다")
+    void enqueue_disconnect() throws Exception {
+        SseConnection slow = occupyDispatcher(SlowConsumerPolicy.DISCONNECT);
+
+        dispatcher.enqueue(slow, SseFrame.of(SseFrame.NOTIFICATION, "1"));
+        dispatcher.enqueue(slow, SseFrame.of(SseFrame.NOTIFICATION, "2"));
+        dispatcher.enqueue(slow, SseFrame.of(SseFrame.NOTIFICATION, "3"));
+
+        assertThat(slow.isClosed()).isTrue();
+        assertThat(slow.queue()).isEmpty();
+        assertThat(closed).containsExactly(slow);
+        assertThat(dropped("disconnected")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("DISCONNECT - 쓰기 중인 느린 연결을 끊어도 호출 스레드는 emitter 잠금을 기다리지 않는다")
+    void enqueue_disconnectWhileSending() throws Exception {
+        SseProperties properties = new SseProperties();
+        properties.setQueueCapacity(1);
+        properties.setSlowConsumerPolicy(SlowConsumerPolicy.DISCONNECT);
+        dispatcher = new SseDispatcher(properties, meterRegistry, closed::add);
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch completed = new CountDownLatch(1);
+        SseConnection slow = new SseConnection(1, 1L, new SseEmitter() {
+            @Override
+            public synchronized void send(Set<DataWithMediaType> items) {
+                sending.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public synchronized void complete() {
+                completed.countDown();
+            }
+        });
+        dispatcher.enqueue(slow, SseFrame.of(SseFrame.NOTIFICATION, "1"));
+        assertThat(sending.await(5, TimeUnit.SECONDS)).isTrue();
+
+        dispatcher.enqueue(slow, SseFrame.of(SseFrame.NOTIFICATION, "2"));
+        dispatcher.enqueue(slow, SseFrame.of(SseFrame.NOTIFICATION, "3"));
+
+        assertThat(slow.isClosed()).isTrue();
+        assertThat(dropped("disconnected")).isEqualTo(1);
+        assertThat(completed.getCount()).isEqualTo(1);
+        release.countDown();
+        assertThat(completed.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("연결 종료는 쓰기 중인 emitter 의 잠금을 기다리지 않고, complete 는 쓰기가 끝난 뒤 별도 스레드에서 한다")
+    void disconnect_doesNotWaitForBlockedSend() throws Exception {
+        dispatcher = new SseDispatcher(new SseProperties(), meterRegistry, closed::add);
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch completed = new CountDownLatch(1);
+        SseConnection stuck = new SseConnection(1, 1L, new SseEmitter() {
+            @Override
+            public synchronized void send(Set<DataWithMediaType> items) {
+                sending.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public synchronized void complete() {
+                completed.countDown();
+            }
+        });
+        dispatcher.enqueue(stuck, SseFrame.of(SseFrame.NOTIFICATION, "1"));
+        assertThat(sending.await(5, TimeUnit.SECONDS)).isTrue();
+
+        dispatcher.disconnect(stuck);
+
+        assertThat(stuck.isClosed()).isTrue();
+        assertThat(closed).containsExactly(stuck);
+        assertThat(completed.getCount()).isEqualTo(1);
+        release.countDown();
+        assertThat(completed.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    /**
+     * 전송 스레드 하나를 막아 두고, 아직 비워지지 않는 연결을 반환한다.
+     */
+    private SseConnection occupyDispatcher(SlowConsumerPolicy policy) throws InterruptedException {
+        SseProperties properties = new SseProperties();
+        properties.setDispatcherThreads(1);
+        properties.setQueueCapacity(2);
+        properties.setSlowConsumerPolicy(policy);
+        dispatcher = new SseDispatcher(properties, meterRegistry, closed::add);
+
+        CountDownLatch sending = new CountDownLatch(1);
+        SseConnection blocker = new SseConnection(1, 1L, new SseEmitter() {
+            @Override
+            public synchronized void send(Set<DataWithMediaType> items) throws IOException {
+                sending.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        dispatcher.enqueue(blocker, SseFrame.of(SseFrame.NOTIFICATION, "block"));
+        assertThat(sending.await(5, TimeUnit.SECONDS)).isTrue();
+
+        return new SseConnection(2, 2L, new SseEmitter());
+    }
+
+    private double dropped(String reason) {
+        return meterRegistry.get("sse_frames_dropped").tag("reason", reason).counter().count();
+    }
+}
@@ -0,0 +1,54 @@
+package org.fortishop.notificationservice.sse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+class SseHeartbeatWheelTest {
+
+    @Test
+    @DisplayName("연결은 한 바퀴마다 정확히 한 번 처리되고, tick 은 자기 칸의 연결만 처리한다")
+    void tick_oncePerRotation() {
+        List<Long> visited = new ArrayList<>();
+        SseHeartbeatWheel wheel = new SseHeartbeatWheel(4, connection -> visited.add(connection.getId()));
+        wheel.add(connection(1));
+        wheel.tick();
+        wheel.add(connection(2));
+
+        List<Integer> processed = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            processed.add(wheel.tick());
+        }
+
+        assertThat(visited).containsExactly(1L, 2L, 1L, 2L);
+        assertThat(processed).containsExactly(0, 0, 1, 1, 0, 0, 1, 1);
+    }
+
+    @Test
+    @DisplayName("onDue 가 false 를 반환한 연결은 휠에서 빠진다")
+    void tick_dropsRejected() {
+        Set<Long> closed = Set.of(1L);
+        List<Long> visited = new ArrayList<>();
+        SseHeartbeatWheel wheel = new SseHeartbeatWheel(2, connection -> {
+            visited.add(connection.getId());
+            return !closed.contains(connection.getId());
+        });
+        wheel.add(connection(1));
+        wheel.add(connection(2));
+
+        for (int i = 0; i < 4; i++) {
+            wheel.tick();
+        }
+
+        assertThat(visited).containsExactly(1L, 2L, 2L);
+    }
+
+    private static SseConnection connection(long id) {
+        return new SseConnection(id, id, new SseEmitter());
+    }
+}
@@ -0,0 +1,46 @@
+package org.fortishop.notificationservice.sse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SseReplayBufferTest {
+
+    @Test
+    @DisplayName("마지막 이벤트 이후의 이벤트만 순서대로 돌려준다")
+    void after_returnsMissed() {
+        SseReplayBuffer buffer = buffer(4);
+        SseFrame[] frames = record(buffer, 1L, 10, 11, 12);
+
+        assertThat(buffer.after(1L, 10)).containsExactly(frames[1], frames[2]);
+        assertThat(buffer.after(1L, 12)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("버퍼가 덮어써 마지막 이벤트가 없거나 회원 버퍼가 없으면 null")
+    void after_notCovered() {
+        SseReplayBuffer buffer = buffer(2);
+        SseFrame[] frames = record(buffer, 1L, 10, 11, 12);
+
+        assertThat(buffer.after(1L, 10)).isNull();
+        assertThat(buffer.after(1L, 11)).containsExactly(frames[2]);
+        assertThat(buffer.after(2L, 11)).isNull();
+    }
+
+    private static SseReplayBuffer buffer(int capacity) {
+        SseProperties properties = new SseProperties();
+        properties.setReplayCapacity(capacity);
+        return new SseReplayBuffer(properties, new SimpleMeterRegistry());
+    }
+
+    private static SseFrame[] record(SseReplayBuffer buffer, Long memberId, long... eventIds) {
+        SseFrame[] frames = new SseFrame[eventIds.length];
+        for (int i = 0; i < eventIds.length; i++) {
+            frames[i] = SseFrame.of(SseFrame.NOTIFICATION, eventIds[i], "message-" + eventIds[i]);
+            buffer.record(memberId, eventIds[i], frames[i]);
+        }
+        return frames;
+    }
+}
@@ -0,0 +1,57 @@
+package org.fortishop.notificationservice.sse.reactive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import org.fortishop.notificationservice.service.NotificationService;
+import org.fortishop.notificationservice.sse.SseProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.codec.ServerSentEvent;
+
+class ReactiveSseHubTest {
+
+    private final NotificationService notificationService = mock(NotificationService.class);
+
+    @Test
+    @DisplayName("알림이 없는 연결에도 하트비트 주석 이벤트를 보낸다")
+    void connect_sendsHeartbeat() {
+        SseProperties properties = new SseProperties();
+        properties.setHeartbeatInterval(Duration.ofMillis(20));
+        ReactiveSseHub hub = new ReactiveSseHub(properties, new SimpleMeterRegistry(), notificationService, Optional.empty());
+
+        List<ServerSentEvent<String>> events = hub.connect(1L, null)
+                .take(2)
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertThat(events).hasSize(2).allSatisfy(event -> {
+            assertThat(event.comment()).isEqualTo("hb");
+            assertThat(event.data()).isNull();
+        });
+        assertThat(hub.isConnected(1L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("숫자가 아닌 Last-Event-ID 는 없는 것으로 보고 재전송하지 않는다")
+    void parseEventId_nonNumeric() {
+        assertThat(ReactiveSseServer.parseEventId("abc")).isNull();
+        assertThat(ReactiveSseServer.parseEventId(" ")).isNull();
+        assertThat(ReactiveSseServer.parseEventId(" 42 ")).isEqualTo(42L);
+
+        SseProperties properties = new SseProperties();
+        properties.setHeartbeatInterval(Duration.ofMillis(20));
+        ReactiveSseHub hub = new ReactiveSseHub(properties, new SimpleMeterRegistry(), notificationService, Optional.empty());
+        hub.connect(1L, ReactiveSseServer.parseEventId("abc")).take(1).blockLast(Duration.ofSeconds(5));
+
+        verify(notificationService, never()).getAfter(anyLong(), anyLong(), anyInt());
+    }
+}
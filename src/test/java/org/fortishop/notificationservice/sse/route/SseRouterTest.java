@@ -0,0 +1,174 @@
+package org.fortishop.notificationservice.sse.route;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.fortishop.notificationservice.sse.SseEmitterManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 두 노드를 메모리 presence / 메모리 브로커로 연결해 라우팅을 확인한다.
+ */
+class SseRouterTest {
+
+    private final InMemoryPresence presence = new InMemoryPresence();
+    private final InMemoryBroker broker = new InMemoryBroker();
+
+    private SseEmitterManager managerA;
+    private SseEmitterManager managerB;
+    private SseRouter routerA;
+    private SseRouter routerB;
+    private String nodeB;
+
+    @BeforeEach
+    void setUp() {
+        SseRouteProperties properties = new SseRouteProperties();
+        properties.setBatchWindow(Duration.ofMillis(50));
+
+        managerA = mock(SseEmitterManager.class);
+        managerB = mock(SseEmitterManager.class);
+        SseNodeIdentity identityA = new SseNodeIdentity("a");
+        SseNodeIdentity identityB = new SseNodeIdentity("b");
+        nodeB = identityB.getId();
+
+        routerA = new SseRouter(List.of(managerA), Optional.of(presence.of(identityA.getId())), Optional.of(broker),
+                identityA, properties, new SimpleMeterRegistry());
+        routerB = new SseRouter(List.of(managerB), Optional.of(presence.of(nodeB)), Optional.of(broker),
+                identityB, properties, new SimpleMeterRegistry());
+        broker.nodes.put(identityA.getId(), routerA);
+        broker.nodes.put(nodeB, routerB);
+    }
+
+    @AfterEach
+    void tearDown() {
+        routerA.shutdown();
+        routerB.shutdown();
+    }
+
+    @Test
+    @DisplayName("다른 노드에 연결된 회원의 알림은 그 노드로 전달하고, 같은 노드로 가는 알림은 한 메시지로 묶는다")
+    void send_remoteBatched() {
+        presence.of(nodeB).register(1L);
+
+        routerA.send(1L, 10L, "첫 번째");
+        routerA.send(1L, 11L, "두 번째");
+
+        verify(managerB, timeout(1000)).sendToUser(1L, 10L, "첫 번째");
+        verify(managerB, timeout(1000)).sendToUser(1L, 11L, "두 번째");
+        verify(managerA, never()).sendToUser(1L, 10L, "첫 번째");
+        assertThat(broker.batches).hasSize(1);
+        assertThat(broker.batches.get(0)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("같은 노드에 연결된 회원은 브로커를 거치지 않는다")
+    void send_local() {
+        presence.of(nodeB).register(2L);
+
+        routerB.send(2L, 20L, "로컬");
+
+        verify(managerB, timeout(1000)).sendToUser(2L, 20L, "로컬");
+        assertThat(broker.batches).isEmpty();
+    }
+
+    @Test
+    @DisplayName("presence 는 호출 스레드가 아닌 라우팅 스레드에서 여러 알림을 묶어 한 번에 조회한다")
+    void send_presenceResolvedOffCallerThread() {
+        presence.of(nodeB).register(4L);
+        presence.of(nodeB).register(5L);
+
+        routerA.send(4L, 40L, "첫 번째");
+        routerA.send(5L, 50L, "두 번째");
+
+        verify(managerB, timeout(1000)).sendToUser(4L, 40L, "첫 번째");
+        verify(managerB, timeout(1000)).sendToUser(5L, 50L, "두 번째");
+        assertThat(presence.lookupThreads).doesNotContain(Thread.currentThread().getName());
+        assertThat(presence.lookups.get()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("이 노드에 연결된 회원은 presence 조회를 기다리지 않고 바로 보낸다")
+    void send_localConnectionWithoutWaiting() {
+        when(managerA.isConnected(6L)).thenReturn(true);
+
+        routerA.send(6L, 60L, "바로");
+
+        verify(managerA).sendToUser(6L, 60L, "바로");
+    }
+
+    @Test
+    @DisplayName("라우팅이 꺼져 있으면 이 노드에만 보낸다")
+    void send_routingDisabled() {
+        SseEmitterManager manager = mock(SseEmitterManager.class);
+        SseRouter router = new SseRouter(List.of(manager), Optional.empty(), Optional.empty(), new SseNodeIdentity("c"),
+                new SseRouteProperties(), new SimpleMeterRegistry());
+
+        router.send(3L, 30L, "단일 노드");
+
+        verify(manager).sendToUser(3L, 30L, "단일 노드");
+        router.shutdown();
+    }
+
+    private static class InMemoryPresence {
+        private final Map<Long, Set<String>> members = new ConcurrentHashMap<>();
+        private final Set<String> lookupThreads = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger lookups = new AtomicInteger();
+
+        private SsePresenceRegistry of(String nodeId) {
+            return new SsePresenceRegistry() {
+                @Override
+                public void register(Long memberId) {
+                    members.computeIfAbsent(memberId, id -> ConcurrentHashMap.newKeySet()).add(nodeId);
+                }
+
+                @Override
+                public void unregister(Long memberId) {
+                    members.getOrDefault(memberId, Set.of()).remove(nodeId);
+                }
+
+                @Override
+                public Map<Long, Set<String>> nodesOf(Collection<Long> memberIds) {
+                    lookupThreads.add(Thread.currentThread().getName());
+                    lookups.incrementAndGet();
+                    Map<Long, Set<String>> nodes = new HashMap<>();
+                    for (Long memberId : memberIds) {
+                        Set<String> connected = members.getOrDefault(memberId, Set.of());
+                        if (!connected.isEmpty()) {
+                            nodes.put(memberId, Set.copyOf(connected));
+                        }
+                    }
+                    return nodes;
+                }
+            };
+        }
+    }
+
+    private static class InMemoryBroker implements SseNodeTransport {
+        private final Map<String, SseRouter> nodes = new ConcurrentHashMap<>();
+        private final List<List<SsePush>> batches = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(String nodeId, List<SsePush> pushes) {
+            batches.add(pushes);
+            nodes.get(nodeId).receive(pushes);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package org.fortishop.notificationservice.template;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CompiledTemplateTest {
+
+    @Test
+    @DisplayName("변수 자리에 값을 넣어 렌더링한다")
+    void render_variables() {
+        CompiledTemplate template = CompiledTemplate.compile("{orderId}번 주문이 결제되었습니다. 결제 금액: {amount}원입니다.");
+
+        String message = template.render(TemplateValues.create()
+                .with(TemplateVariable.ORDER_ID, 9001L)
+                .with(TemplateVariable.AMOUNT, 12000L));
+
+        assertThat(message).isEqualTo("9001번 주문이 결제되었습니다. 결제 금액: 12000원입니다.");
+    }
+
+    @Test
+    @DisplayName("같은 변수가 여러 번 나오면 모두 바꾼다")
+    void render_repeatedVariable() {
+        CompiledTemplate template = CompiledTemplate.compile("{orderId} / {orderId}");
+
+        String message = template.render(TemplateValues.create().with(TemplateVariable.ORDER_ID, 7L));
+
+        assertThat(message).isEqualTo("7 / 7");
+    }
+
+    @Test
+    @DisplayName("알 수 없는 변수와 값이 없는 변수는 원문을 남긴다")
+    void render_unknownOrMissing() {
+        CompiledTemplate template = CompiledTemplate.compile("{unknown} {orderId} {trackingNumber} {");
+
+        String message = template.render(TemplateValues.create().with(TemplateVariable.ORDER_ID, 7L));
+
+        assertThat(message).isEqualTo("{unknown} 7 {trackingNumber} {");
+    }
+
+    @Test
+    @DisplayName("변수가 없는 템플릿은 원문을 그대로 반환한다")
+    void render_literalOnly() {
+        CompiledTemplate template = CompiledTemplate.compile("배송이 완료되었습니다.");
+
+        assertThat(template.render(TemplateValues.create())).isEqualTo("배송이 완료되었습니다.");
+    }
+
+    @Test
+    @DisplayName("서식 지시자로 금액에 자릿수 구분을, 시각에 날짜 서식을 적용한다")
+    void render_formatDirectives() {
+        CompiledTemplate template = CompiledTemplate.compile("{amount:number}원 / {amount:currency} / {timestamp:date} {timestamp:datetime}");
+
+        String message = template.render(TemplateValues.create()
+                .with(TemplateVariable.AMOUNT, new BigDecimal("1234567"))
+                .with(TemplateVariable.TIMESTAMP, LocalDateTime.of(2025, 1, 31, 14, 5)));
+
+        assertThat(message).startsWith("1,234,567원 / ");
+        assertThat(message).contains("₩1,234,567");
+        assertThat(message).endsWith("/ 2025.01.31 2025.01.31 14:05");
+    }
+
+    @Test
+    @DisplayName("문자열로 저장된 변수에도 서식을 적용하고, 적용할 수 없으면 원래 값을 쓴다")
+    void render_formatStoredStrings() {
+        CompiledTemplate template = CompiledTemplate.compile("{amount:number} {timestamp:date} {orderId:number}");
+
+        String message = template.render(TemplateValues.from(Map.of(
+                "amount", "12000",
+                "timestamp", "2025-01-31T14:05:00",
+                "orderId", "A-1")));
+
+        assertThat(message).isEqualTo("12,000 2025.01.31 A-1");
+    }
+
+    @Test
+    @DisplayName("알 수 없는 서식 지시자는 원문을 남기고, 검증에서는 지시자가 붙은 변수도 사용한 것으로 본다")
+    void compile_unknownDirective() {
+        CompiledTemplate template = CompiledTemplate.compile("{amount:hex} {orderId:number}");
+
+        assertThat(template.uses(TemplateVariable.AMOUNT)).isFalse();
+        assertThat(template.uses(TemplateVariable.ORDER_ID)).isTrue();
+        assertThat(template.render(TemplateValues.create().with(TemplateVariable.AMOUNT, 1L)))
+                .isEqualTo("{amount:hex} {orderId:number}");
+    }
+}
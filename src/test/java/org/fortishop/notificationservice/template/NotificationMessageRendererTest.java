@@ -0,0 +1,96 @@
+package org.fortishop.notificationservice.template;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import org.fortishop.notificationservice.domain.Notification;
+import org.fortishop.notificationservice.domain.NotificationTemplateRevision;
+import org.fortishop.notificationservice.domain.NotificationType;
+import org.fortishop.notificationservice.repository.NotificationTemplateRepository;
+import org.fortishop.notificationservice.repository.NotificationTemplateRevisionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class NotificationMessageRendererTest {
+
+    private NotificationTemplateRevisionRepository revisionRepository;
+    private NotificationTemplateRepository templateRepository;
+    private TemplateStorageProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        revisionRepository = mock(NotificationTemplateRevisionRepository.class);
+        templateRepository = mock(NotificationTemplateRepository.class);
+        properties = new TemplateStorageProperties();
+        when(templateRepository.findById(any())).thenReturn(Optional.empty());
+    }
+
+    @Test
+    @DisplayName("메시지가 저장된 알림은 저장된 메시지를 그대로 반환한다")
+    void render_legacyMessage() {
+        NotificationMessageRenderer renderer = createRenderer();
+        Notification notification = new Notification(1L, 1L, NotificationType.POINT, "포인트가 적립되었습니다.", "trace-1");
+
+        assertThat(renderer.render(notification)).isEqualTo("포인트가 적립되었습니다.");
+        verify(revisionRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("템플릿 참조 알림은 저장 당시 리비전으로 렌더링하고 결과를 캐시한다")
+    void render_templated() {
+        when(revisionRepository.findById("7:2")).thenReturn(Optional.of(revision(7L, 2, "{orderId}번 주문이 결제되었습니다.")));
+        NotificationMessageRenderer renderer = createRenderer();
+        Notification notification = templated(1L, 7L, 2);
+
+        assertThat(renderer.render(notification)).isEqualTo("100번 주문이 결제되었습니다.");
+        assertThat(renderer.render(notification)).isEqualTo("100번 주문이 결제되었습니다.");
+        verify(revisionRepository, times(1)).findById("7:2");
+    }
+
+    @Test
+    @DisplayName("리비전이 없으면 null 대신 유형별 기본 문구를 반환한다")
+    void render_missingRevisionFallback() {
+        when(revisionRepository.findById("7:2")).thenReturn(Optional.empty());
+        NotificationMessageRenderer renderer = createRenderer();
+
+        assertThat(renderer.render(templated(1L, 7L, 2))).isEqualTo("주문 알림이 도착했습니다. (주문번호 100)");
+    }
+
+    @Test
+    @DisplayName("없던 리비전이 나중에 채워지면 기억 시간이 지난 뒤 렌더링된다")
+    void render_revisionBackfilled() {
+        properties.setMissingRevisionTtl(Duration.ZERO);
+        when(revisionRepository.findById("7:2"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(revision(7L, 2, "{orderId}번 주문이 결제되었습니다.")));
+        NotificationMessageRenderer renderer = createRenderer();
+        Notification notification = templated(1L, 7L, 2);
+
+        assertThat(renderer.render(notification)).isEqualTo("주문 알림이 도착했습니다. (주문번호 100)");
+        assertThat(renderer.render(notification)).isEqualTo("100번 주문이 결제되었습니다.");
+    }
+
+    private NotificationMessageRenderer createRenderer() {
+        return new NotificationMessageRenderer(revisionRepository, templateRepository, properties, new SimpleMeterRegistry());
+    }
+
+    private static Notification templated(Long id, Long templateId, int version) {
+        return new Notification(id, 1L, NotificationType.ORDER, templateId, version, Map.of("orderId", "100"), "trace-1");
+    }
+
+    private static NotificationTemplateRevision revision(Long templateId, int version, String message) {
+        return new NotificationTemplateRevision(NotificationTemplateRevision.idOf(templateId, version),
+                templateId, version, message, LocalDateTime.now());
+    }
+}
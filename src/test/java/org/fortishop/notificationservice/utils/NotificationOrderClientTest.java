@@ -0,0 +1,387 @@
+package org.fortishop.notificationservice.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.transport.SenderContext;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * 로컬 스텁 서버(JDK HttpServer)로 order-payment-service 를 대신한다.
+ * GET /api/orders/{orderId} -> memberId = orderId * 10
+ * POST /api/orders/members {"orderIds":[...]} -> [{orderId, memberId}, ...]
+ */
+class NotificationOrderClientTest {
+
+    private static final Pattern NUMBER = Pattern.compile("\\d+");
+
+    private HttpServer server;
+    private ExecutorService callers;
+    private NotificationOrderClient orderClient;
+
+    private final AtomicInteger singleCalls = new AtomicInteger();
+    private final AtomicInteger bulkCalls = new AtomicInteger();
+    private final AtomicInteger singleInFlight = new AtomicInteger();
+    private final AtomicInteger maxSingleInFlight = new AtomicInteger();
+    private volatile boolean bulkEndpointEnabled = true;
+    private volatile boolean orderServiceDown = false;
+    private volatile boolean slowFirstCall = false;
+    private volatile boolean holdUntilHedged = false;
+    private final CountDownLatch releaseOriginal = new CountDownLatch(1);
+    private volatile long failingOrderId = -1;
+    private volatile long missingOrderId = -1;
+    private volatile long forbiddenOrderId = -1;
+    private volatile String lastTraceParent;
+    private SimpleMeterRegistry meterRegistry;
+    private ObservationRegistry observationRegistry = ObservationRegistry.NOOP;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/orders/members", this::handleBulk);
+        server.createContext("/api/orders/", this::handleSingle);
+        server.setExecutor(Executors.newFixedThreadPool(8));
+        server.start();
+        callers = Executors.newFixedThreadPool(16);
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseOriginal.countDown();
+        orderClient.shutdown();
+        callers.shutdownNow();
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("같은 주문에 대한 동시 조회는 HTTP 호출 하나를 공유한다")
+    void getMemberId_singleFlight() {
+        orderClient = createClient(false);
+
+        List<CompletableFuture<Long>> results = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            results.add(CompletableFuture.supplyAsync(() -> orderClient.getMemberIdByOrderId(7L), callers));
+        }
+
+        results.forEach(result -> assertThat(result.join()).isEqualTo(70L));
+        assertThat(singleCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("배치 창 안에 모인 조회는 bulk 요청 한 번으로 해석된다")
+    void getMemberId_microBatch() {
+        orderClient = createClient(true);
+
+        List<CompletableFuture<Long>> results = new ArrayList<>();
+        for (long orderId = 1; orderId <= 10; orderId++) {
+            long id = orderId;
+            results.add(CompletableFuture.supplyAsync(() -> orderClient.getMemberIdByOrderId(id), callers));
+        }
+
+        for (int i = 0; i < results.size(); i++) {
+            assertThat(results.get(i).join()).isEqualTo((i + 1) * 10L);
+        }
+        assertThat(bulkCalls.get()).isLessThanOrEqualTo(2);
+        assertThat(singleCalls.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("bulk 엔드포인트가 없으면 단건 조회를 병렬로 보낸다")
+    void getMemberId_bulkFallback() {
+        bulkEndpointEnabled = false;
+        orderClient = createClient(true);
+
+        List<CompletableFuture<Long>> results = new ArrayList<>();
+        for (long orderId = 1; orderId <= 5; orderId++) {
+            long id = orderId;
+            results.add(CompletableFuture.supplyAsync(() -> orderClient.getMemberIdByOrderId(id), callers));
+        }
+
+        for (int i = 0; i < results.size(); i++) {
+            assertThat(results.get(i).join()).isEqualTo((i + 1) * 10L);
+        }
+        assertThat(singleCalls.get()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("단건 병렬 조회 중 일부가 실패해도 나머지 조회는 성공한다")
+    void getMemberId_bulkFallbackPartialFailure() {
+        bulkEndpointEnabled = false;
+        failingOrderId = 3L;
+        orderClient = createClient(true);
+
+        List<CompletableFuture<Long>> results = new ArrayList<>();
+        for (long orderId = 1; orderId <= 5; orderId++) {
+            long id = orderId;
+            results.add(CompletableFuture.supplyAsync(() -> orderClient.getMemberIdByOrderId(id), callers));
+        }
+
+        assertThat(results.get(0).join()).isEqualTo(10L);
+        assertThat(results.get(1).join()).isEqualTo(20L);
+        assertThat(results.get(2).join()).isNull();
+        assertThat(results.get(3).join()).isEqualTo(40L);
+        assertThat(results.get(4).join()).isEqualTo(50L);
+    }
+
+    @Test
+    @DisplayName("단건 병렬 조회는 동시 요청 상한을 넘지 않고 나머지는 기다렸다가 보낸다")
+    void getMemberId_fanOutLimited() {
+        bulkEndpointEnabled = false;
+        orderClient = createClient(properties -> {
+            properties.getBatch().setEnabled(true);
+            properties.getBatch().setMaxConcurrentFetches(4);
+            properties.getResilience().setMaxConcurrentCalls(4);
+        });
+
+        List<CompletableFuture<Long>> results = new ArrayList<>();
+        for (long orderId = 1; orderId <= 20; orderId++) {
+            results.add(orderClient.getMemberIdByOrderIdAsync(orderId));
+        }
+
+        for (int i = 0; i < results.size(); i++) {
+            assertThat(results.get(i).join()).isEqualTo((i + 1) * 10L);
+        }
+        assertThat(singleCalls.get()).isEqualTo(20);
+        assertThat(maxSingleInFlight.get()).isLessThanOrEqualTo(4);
+        assertThat(meterRegistry.counter("order_client_rejected", "reason", "bulkhead_full").count()).isZero();
+    }
+
+    @Test
+    @DisplayName("404 만 주문 없음으로 캐시하고, 다른 4xx 는 실패로 넘겨 다음 조회가 다시 호출한다")
+    void getMemberIdAsync_onlyNotFoundIsMissing() {
+        missingOrderId = 4L;
+        forbiddenOrderId = 5L;
+        orderClient = createClient(false);
+
+        assertThat(orderClient.getMemberIdByOrderIdAsync(4L).join()).isNull();
+        assertThat(orderClient.getMemberIdByOrderIdAsync(4L).join()).isNull();
+        assertThat(singleCalls.get()).isEqualTo(1);
+
+        assertThatThrownBy(() -> orderClient.getMemberIdByOrderIdAsync(5L).join())
+                .isInstanceOf(CompletionException.class)
+                .hasMessageContaining("403");
+        assertThatThrownBy(() -> orderClient.getMemberIdByOrderIdAsync(5L).join())
+                .isInstanceOf(CompletionException.class);
+        assertThat(singleCalls.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("요청마다 observation 을 열어 trace 헤더를 주문 서비스에 전달한다")
+    void getMemberId_propagatesTrace() {
+        observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new TraceHeaderHandler("00-trace-span-01"));
+        orderClient = createClient(false);
+
+        assertThat(orderClient.getMemberIdByOrderId(5L)).isEqualTo(50L);
+        assertThat(lastTraceParent).isEqualTo("00-trace-span-01");
+    }
+
+    @Test
+    @DisplayName("주문 서비스 오류가 쌓이면 circuit breaker 가 열려 호출 없이 즉시 실패한다")
+    void getMemberIdAsync_circuitBreakerOpens() {
+        orderServiceDown = true;
+        orderClient = createClient(false);
+
+        for (long orderId = 1; orderId <= 4; orderId++) {
+            assertThat(orderClient.getMemberIdByOrderId(orderId)).isNull();
+        }
+        int callsBeforeOpen = singleCalls.get();
+
+        assertThatThrownBy(() -> orderClient.getMemberIdByOrderIdAsync(100L).join())
+                .isInstanceOf(CompletionException.class);
+        assertThat(callsBeforeOpen).isEqualTo(4);
+        assertThat(singleCalls.get()).isEqualTo(callsBeforeOpen);
+    }
+
+    @Test
+    @DisplayName("장애로 인한 실패는 캐시하지 않는다")
+    void getMemberIdAsync_failureNotCached() {
+        orderServiceDown = true;
+        orderClient = createClient(false);
+        assertThat(orderClient.getMemberIdByOrderId(1L)).isNull();
+
+        orderServiceDown = false;
+        assertThat(orderClient.getMemberIdByOrderId(1L)).isEqualTo(10L);
+    }
+
+    @Test
+    @DisplayName("첫 요청이 지연 기준을 넘기면 헤지 요청의 응답을 쓴다")
+    void getMemberId_hedgedRequestWins() {
+        // 원 요청은 테스트가 끝날 때까지 응답하지 않으므로 결과는 헤지 요청에서만 나올 수 있다
+        holdUntilHedged = true;
+        orderClient = createClient(false, hedging -> {
+            hedging.setEnabled(true);
+            hedging.setMaxDelay(Duration.ofMillis(50));
+            hedging.setBudgetRatio(1.0);
+        });
+
+        assertThat(orderClient.getMemberIdByOrderId(3L)).isEqualTo(30L);
+        assertThat(singleCalls.get()).isEqualTo(2);
+        assertThat(meterRegistry.counter("order_client_hedges", "result", "fired").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("order_client_hedges", "result", "won").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("헤지 예산이 없으면 추가 요청을 보내지 않는다")
+    void getMemberId_hedgeBudgetExhausted() {
+        slowFirstCall = true;
+        orderClient = createClient(false, hedging -> {
+            hedging.setEnabled(true);
+            hedging.setMaxDelay(Duration.ofMillis(50));
+        });
+
+        assertThat(orderClient.getMemberIdByOrderId(3L)).isEqualTo(30L);
+        assertThat(singleCalls.get()).isEqualTo(1);
+        assertThat(meterRegistry.counter("order_client_hedges", "result", "fired").count()).isZero();
+    }
+
+    @Test
+    @DisplayName("첫 요청이 실패로 결과가 정해지면 지연 기준이 지나도 헤지 요청을 보내지 않는다")
+    void getMemberId_noHedgeAfterSettled() {
+        failingOrderId = 3L;
+        orderClient = createClient(false, hedging -> {
+            hedging.setEnabled(true);
+            hedging.setMaxDelay(Duration.ofMillis(50));
+            hedging.setBudgetRatio(1.0);
+        });
+
+        assertThatThrownBy(() -> orderClient.getMemberIdByOrderIdAsync(3L).join())
+                .isInstanceOf(CompletionException.class);
+        sleep(200);
+
+        assertThat(singleCalls.get()).isEqualTo(1);
+        assertThat(meterRegistry.counter("order_client_hedges", "result", "fired").count()).isZero();
+    }
+
+    private NotificationOrderClient createClient(boolean batchEnabled) {
+        return createClient(batchEnabled, hedging -> {
+        });
+    }
+
+    private NotificationOrderClient createClient(boolean batchEnabled, Consumer<OrderClientProperties.Hedging> hedgingCustomizer) {
+        return createClient(properties -> {
+            properties.getBatch().setEnabled(batchEnabled);
+            hedgingCustomizer.accept(properties.getHedging());
+        });
+    }
+
+    private NotificationOrderClient createClient(Consumer<OrderClientProperties> customizer) {
+        OrderClientProperties properties = new OrderClientProperties();
+        properties.setBaseUrl("http://localhost:" + server.getAddress().getPort());
+        properties.getBatch().setWindow(Duration.ofMillis(50));
+        properties.getResilience().setSlidingWindowSize(4);
+        properties.getResilience().setMinimumNumberOfCalls(4);
+        customizer.accept(properties);
+        meterRegistry = new SimpleMeterRegistry();
+        return new NotificationOrderClient(properties, Jackson2ObjectMapperBuilder.json().build(), meterRegistry,
+                observationRegistry);
+    }
+
+    private void handleSingle(HttpExchange exchange) throws IOException {
+        int call = singleCalls.incrementAndGet();
+        lastTraceParent = exchange.getRequestHeaders().getFirst("traceparent");
+        String path = exchange.getRequestURI().getPath();
+        long orderId = Long.parseLong(path.substring(path.lastIndexOf('/') + 1));
+        if (orderServiceDown || orderId == failingOrderId) {
+            respond(exchange, 503, "{}");
+            return;
+        }
+        if (orderId == missingOrderId || orderId == forbiddenOrderId) {
+            respond(exchange, orderId == missingOrderId ? 404 : 403, "{}");
+            return;
+        }
+        if (holdUntilHedged && exchange.getRequestHeaders().getFirst(NotificationOrderClient.HEDGE_HEADER) == null) {
+            await(releaseOriginal);
+        }
+        maxSingleInFlight.accumulateAndGet(singleInFlight.incrementAndGet(), Math::max);
+        sleep(slowFirstCall && call == 1 ? 1_000 : 100);
+        singleInFlight.decrementAndGet();
+        respond(exchange, 200, "{\"orderId\":" + orderId + ",\"memberId\":" + orderId * 10 + "}");
+    }
+
+    private void handleBulk(HttpExchange exchange) throws IOException {
+        if (!bulkEndpointEnabled) {
+            respond(exchange, 404, "{}");
+            return;
+        }
+        bulkCalls.incrementAndGet();
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        List<Long> orderIds = new ArrayList<>();
+        Matcher matcher = NUMBER.matcher(body);
+        while (matcher.find()) {
+            orderIds.add(Long.parseLong(matcher.group()));
+        }
+        String json = orderIds.stream()
+                .map(orderId -> "{\"orderId\":" + orderId + ",\"memberId\":" + orderId * 10 + "}")
+                .collect(Collectors.joining(",", "[", "]"));
+        respond(exchange, 200, json);
+    }
+
+    /**
+     * tracing 브리지 대신 고정 trace 헤더를 넣는 핸들러
+     */
+    private record TraceHeaderHandler(String traceParent) implements ObservationHandler<SenderContext<Object>> {
+        @Override
+        public void onStart(SenderContext<Object> context) {
+            context.getSetter().set(context.getCarrier(), "traceparent", traceParent);
+        }
+
+        @Override
+        public boolean supportsContext(Observation.Context context) {
+            return context instanceof SenderContext;
+        }
+    }
+
+    private void respond(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package org.fortishop.notificationservice.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class OrderFetchLimiterTest {
+
+    private final Counter rejected = new SimpleMeterRegistry().counter("rejected");
+
+    @Test
+    @DisplayName("대기 중인 호출이 모두 즉시 실패해도 스택이 깊어지지 않는다")
+    void submit_failingCallsDrainIteratively() {
+        OrderFetchLimiter limiter = new OrderFetchLimiter(1, 100_000, rejected);
+        CompletableFuture<Long> first = new CompletableFuture<>();
+        limiter.submit(() -> first);
+
+        List<CompletableFuture<Long>> queued = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            queued.add(limiter.submit(() -> CompletableFuture.failedFuture(new IllegalStateException("circuit open"))));
+        }
+        assertThat(limiter.queued()).isEqualTo(50_000);
+
+        first.complete(1L);
+
+        assertThat(queued).allMatch(CompletableFuture::isCompletedExceptionally);
+        assertThat(limiter.queued()).isZero();
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차면 기다리지 않고 실패한다")
+    void submit_queueFull() {
+        OrderFetchLimiter limiter = new OrderFetchLimiter(1, 2, rejected);
+        CompletableFuture<Long> first = new CompletableFuture<>();
+        limiter.submit(() -> first);
+        CompletableFuture<Long> second = limiter.submit(() -> CompletableFuture.completedFuture(2L));
+        CompletableFuture<Long> third = limiter.submit(() -> CompletableFuture.completedFuture(3L));
+
+        CompletableFuture<Long> overflow = limiter.submit(() -> CompletableFuture.completedFuture(4L));
+
+        assertThat(overflow).failsWithin(Duration.ZERO)
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(rejected.count()).isEqualTo(1);
+
+        first.complete(1L);
+        assertThat(second.join()).isEqualTo(2L);
+        assertThat(third.join()).isEqualTo(3L);
+    }
+}